@@ -0,0 +1,148 @@
+package apigateway;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * The UTF-8 bytes of a response body, written into the body string of a proxy response. The
+ * bytes are held back until they grow beyond the threshold, from which point they are compressed
+ * and base64 encoded as they are written. A body that never does is written as escaped text once
+ * closed.
+ */
+final class CompressingBody extends OutputStream {
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final byte[] GZIP_HEADER = {
+            (byte) GZIP_MAGIC, (byte) (GZIP_MAGIC >> 8), Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff
+    };
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Writer out;
+    private final ContentEncoding encoding;
+    private final int thresholdBytes;
+    private final DeflaterPool pool;
+    private final CRC32 crc = new CRC32();
+
+    private ByteArrayOutputStream pending;
+    private Deflater deflater;
+    private OutputStream encoded;
+    private DeflaterOutputStream compressed;
+    private long size;
+    private boolean closed;
+
+    CompressingBody(Writer out, ContentEncoding encoding, int thresholdBytes, DeflaterPool pool) {
+        this.out = out;
+        this.encoding = encoding;
+        this.thresholdBytes = thresholdBytes;
+        this.pool = pool;
+        this.pending = new ByteArrayOutputStream(Math.min(thresholdBytes, BUFFER_SIZE));
+    }
+
+    /**
+     * Returns whether the body has been compressed, which is only known for sure once it is closed.
+     *
+     * @return true if the body is compressed
+     */
+    boolean isCompressed() {
+        return compressed != null;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (compressed == null) {
+            if (pending.size() + len <= thresholdBytes) {
+                pending.write(b, off, len);
+                return;
+            }
+            startCompression();
+        }
+        compress(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (compressed == null) {
+            new JsonStringWriter(out).write(new String(pending.toByteArray(), StandardCharsets.UTF_8));
+            return;
+        }
+        try {
+            compressed.finish();
+            if (encoding == ContentEncoding.GZIP) {
+                writeIntLE(encoded, (int) crc.getValue());
+                writeIntLE(encoded, (int) size);
+            }
+            encoded.close();
+        }
+        finally {
+            pool.release(deflater);
+        }
+    }
+
+    private void startCompression() throws IOException {
+        /* Base64 output needs no escaping within a JSON string */
+        encoded = Base64.getEncoder().wrap(new AsciiOutputStream(out));
+        if (encoding == ContentEncoding.GZIP) {
+            encoded.write(GZIP_HEADER);
+        }
+        deflater = pool.borrow();
+        compressed = new DeflaterOutputStream(encoded, deflater, BUFFER_SIZE);
+        final byte[] bytes = pending.toByteArray();
+        pending = null;
+        compress(bytes, 0, bytes.length);
+    }
+
+    private void compress(byte[] b, int off, int len) throws IOException {
+        if (encoding == ContentEncoding.GZIP) {
+            crc.update(b, off, len);
+        }
+        size += len;
+        compressed.write(b, off, len);
+    }
+
+    private static void writeIntLE(OutputStream stream, int value) throws IOException {
+        stream.write(value & 0xff);
+        stream.write((value >> 8) & 0xff);
+        stream.write((value >> 16) & 0xff);
+        stream.write((value >> 24) & 0xff);
+    }
+
+    /* Writes the bytes of base64 output as the characters they encode, without closing the writer */
+    private static final class AsciiOutputStream extends OutputStream {
+
+        private final Writer out;
+
+        private AsciiOutputStream(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            final char[] chars = new char[len];
+            for (int i = 0; i < len; i++) {
+                chars[i] = (char) b[off + i];
+            }
+            out.write(chars);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package apigateway;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The compressed content encodings a response body may be written in.
+ */
+public enum ContentEncoding {
+
+    /* Listed in order of preference, when a client accepts several equally */
+    GZIP("gzip", true),
+    DEFLATE("deflate", false);
+
+    static final String ACCEPT_ENCODING = "Accept-Encoding";
+
+    private final String token;
+    private final boolean nowrap;
+
+    ContentEncoding(String token, boolean nowrap) {
+        this.token = token;
+        this.nowrap = nowrap;
+    }
+
+    /**
+     * Returns the name of the encoding, as in the {@code Content-Encoding} header.
+     *
+     * @return the name of the encoding
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /* Whether the deflate stream is written raw, gzip adding a header and trailer of its own */
+    boolean isNowrap() {
+        return nowrap;
+    }
+
+    /**
+     * Chooses the encoding to compress a response in, from the {@code Accept-Encoding} header of
+     * the request. The encoding with the highest quality value wins, gzip on a tie. Encodings with
+     * a quality value of 0 are never chosen.
+     *
+     * @param headers the headers of the request, which may be null
+     * @return an Optional of the chosen encoding, empty if the client accepts neither
+     */
+    public static Optional<ContentEncoding> negotiate(Map<String, String> headers) {
+        if (headers == null) {
+            return Optional.empty();
+        }
+        final Optional<String> acceptEncoding = headers.entrySet().stream()
+                .filter(header -> ACCEPT_ENCODING.equalsIgnoreCase(header.getKey()))
+                .map(Map.Entry::getValue)
+                .filter(value -> value != null)
+                .findFirst();
+        if (!acceptEncoding.isPresent()) {
+            return Optional.empty();
+        }
+
+        final Map<String, Double> qualities = qualities(acceptEncoding.get());
+        ContentEncoding best = null;
+        double bestQuality = 0;
+        for (ContentEncoding encoding : values()) {
+            final double quality = qualities.getOrDefault(encoding.token, qualities.getOrDefault("*", 0.0));
+            if (quality > bestQuality) {
+                best = encoding;
+                bestQuality = quality;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    /* Parses e.g. "gzip;q=1.0, deflate;q=0.5, *;q=0" into the quality value of each coding */
+    private static Map<String, Double> qualities(String acceptEncoding) {
+        final Map<String, Double> qualities = new HashMap<>();
+        for (String element : acceptEncoding.split(",")) {
+            final String[] parts = element.split(";");
+            final String coding = parts[0].trim().toLowerCase();
+            if (coding.isEmpty()) {
+                continue;
+            }
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                final String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    }
+                    catch (NumberFormatException e) {
+                        quality = 0.0;
+                    }
+                }
+            }
+            qualities.put(coding, quality);
+        }
+        return qualities;
+    }
+}
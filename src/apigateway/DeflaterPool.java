@@ -0,0 +1,49 @@
+package apigateway;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * A pool of deflaters of the same level and format. A deflater holds native memory, which is
+ * only freed once it is ended or finalized, so deflaters are reset and reused across requests
+ * rather than created for each one. Deflaters beyond the pool's capacity are ended when returned.
+ */
+final class DeflaterPool {
+
+    private final int level;
+    private final boolean nowrap;
+    private final BlockingQueue<Deflater> idle;
+
+    DeflaterPool(int level, boolean nowrap, int capacity) {
+        this.level = level;
+        this.nowrap = nowrap;
+        this.idle = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Takes an idle deflater from the pool, or creates one if there is none.
+     *
+     * @return a deflater ready for use
+     */
+    Deflater borrow() {
+        final Deflater deflater = idle.poll();
+        return deflater == null ? new Deflater(level, nowrap) : deflater;
+    }
+
+    /**
+     * Resets a deflater and returns it to the pool, or ends it if the pool is full.
+     *
+     * @param deflater the deflater, which must not be used by the caller anymore
+     */
+    void release(Deflater deflater) {
+        deflater.reset();
+        if (!idle.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    int idleCount() {
+        return idle.size();
+    }
+}
@@ -0,0 +1,65 @@
+package apigateway;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A writer that escapes whatever is written to it as the contents of a JSON string, so that a
+ * JSON document can be streamed into a string value of another one. Closing it only flushes the
+ * underlying writer, which remains open for the rest of the enclosing document.
+ */
+class JsonStringWriter extends Writer {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer out;
+
+    JsonStringWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+        final int end = offset + length;
+        int unescaped = offset;
+        for (int i = offset; i < end; i++) {
+            final char c = chars[i];
+            if (c >= ' ' && c != '"' && c != '\\') {
+                continue;
+            }
+            out.write(chars, unescaped, i - unescaped);
+            unescaped = i + 1;
+            switch (c) {
+                case '"':
+                case '\\':
+                    out.write('\\');
+                    out.write(c);
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                default:
+                    out.write("\\u00");
+                    out.write(HEX[c >> 4]);
+                    out.write(HEX[c & 0xF]);
+            }
+        }
+        out.write(chars, unescaped, end - unescaped);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.flush();
+    }
+}
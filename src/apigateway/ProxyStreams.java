@@ -0,0 +1,159 @@
+package apigateway;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.io.ByteStreams;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads API Gateway proxy requests from, and writes proxy responses to, the streams of a
+ * {@code RequestStreamHandler}. A response body is serialized once, straight into the response,
+ * rather than into a String which the Lambda runtime would then serialize once more. Large bodies
+ * may be compressed, in an encoding negotiated from the request's headers.
+ */
+public final class ProxyStreams {
+
+    private static final TypeReference<Map<String, String>> STRING_MAP = new TypeReference<Map<String, String>>() { };
+
+    private ProxyStreams() {}
+
+    /**
+     * Reads the parts of a proxy request event the handlers use: the path and query string
+     * parameters, the headers and the body.
+     *
+     * @param input  the stream of the event
+     * @param mapper the mapper to read the event with
+     * @return the request
+     * @throws IOException if the event could not be read
+     */
+    public static APIGatewayProxyRequestEvent readRequest(InputStream input, ObjectMapper mapper) throws IOException {
+        final JsonNode event = mapper.readTree(input);
+        final APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent();
+        request.setPathParameters(stringMap(event.get("pathParameters"), mapper));
+        request.setQueryStringParameters(stringMap(event.get("queryStringParameters"), mapper));
+        request.setHeaders(stringMap(event.get("headers"), mapper));
+        request.setBody(event.hasNonNull("body") ? event.get("body").asText() : null);
+        return request;
+    }
+
+    /**
+     * Writes a proxy response whose body is the given text, e.g. an error message.
+     *
+     * @param output     the stream to write the response to
+     * @param statusCode the HTTP status code
+     * @param body       the body
+     * @throws IOException if the response could not be written
+     */
+    public static void writeResponse(OutputStream output, int statusCode, String body) throws IOException {
+        final Writer out = startResponse(output, statusCode);
+        new JsonStringWriter(out).write(body);
+        endResponse(out);
+    }
+
+    /**
+     * Writes a proxy response whose body is the given value as JSON, serialized as it is written.
+     * The value is first serialized into a sink which discards it, so a value which fails to
+     * serialize does so before anything is written, leaving the caller free to write an error
+     * response instead. This costs a second serialization, but never holds the body in memory.
+     *
+     * @param output     the stream to write the response to
+     * @param statusCode the HTTP status code
+     * @param writer     the writer of the value's type
+     * @param value      the value
+     * @throws IOException if the value could not be serialized, or the response written
+     */
+    public static void writeResponse(OutputStream output, int statusCode, ObjectWriter writer, Object value)
+            throws IOException {
+        writer.writeValue(ByteStreams.nullOutputStream(), value);
+
+        final Writer out = startResponse(output, statusCode);
+        try (JsonGenerator generator = writer.getFactory().createGenerator(new JsonStringWriter(out))) {
+            writer.writeValue(generator, value);
+        }
+        endResponse(out);
+    }
+
+    /**
+     * Writes a proxy response whose body is the given value as JSON, compressed in the encoding the
+     * client accepts if it grows beyond the compression threshold. A compressed body is base64
+     * encoded, and the response says so and names its {@code Content-Encoding}. As with
+     * {@link #writeResponse(OutputStream, int, ObjectWriter, Object)}, a value which fails to
+     * serialize does so before anything is written.
+     *
+     * @param output         the stream to write the response to
+     * @param statusCode     the HTTP status code
+     * @param writer         the writer of the value's type
+     * @param value          the value
+     * @param compression    the compression settings
+     * @param requestHeaders the headers of the request, which may be null
+     * @throws IOException if the value could not be serialized, or the response written
+     */
+    public static void writeResponse(OutputStream output, int statusCode, ObjectWriter writer, Object value,
+                                     ResponseCompression compression, Map<String, String> requestHeaders)
+            throws IOException {
+        writer.writeValue(ByteStreams.nullOutputStream(), value);
+
+        final Optional<ContentEncoding> encoding = compression.negotiate(requestHeaders);
+        final Writer out = startResponse(output, statusCode);
+        if (!encoding.isPresent()) {
+            try (JsonGenerator generator = writer.getFactory().createGenerator(new JsonStringWriter(out))) {
+                writer.writeValue(generator, value);
+            }
+            endResponse(out, null);
+            return;
+        }
+
+        /* Closing the generator closes the body, which writes out whatever it held back */
+        final CompressingBody body = compression.startBody(out, encoding.get());
+        try (JsonGenerator generator = writer.getFactory().createGenerator(body, JsonEncoding.UTF8)) {
+            writer.writeValue(generator, value);
+        }
+        endResponse(out, body.isCompressed() ? encoding.get() : null);
+    }
+
+    private static Writer startResponse(OutputStream output, int statusCode) throws IOException {
+        final Writer out = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        out.write("{\"statusCode\":");
+        out.write(Integer.toString(statusCode));
+        out.write(",\"body\":\"");
+        return out;
+    }
+
+    private static void endResponse(Writer out) throws IOException {
+        out.write("\"}");
+        out.flush();
+    }
+
+    /* Responses which may be compressed vary by Accept and Accept-Encoding, whether or not this one is */
+    private static void endResponse(Writer out, ContentEncoding contentEncoding) throws IOException {
+        out.write('"');
+        if (contentEncoding != null) {
+            out.write(",\"isBase64Encoded\":true");
+        }
+        out.write(",\"headers\":{");
+        if (contentEncoding != null) {
+            out.write("\"Content-Encoding\":\"");
+            out.write(contentEncoding.getToken());
+            out.write("\",");
+        }
+        out.write("\"Vary\":\"Accept, Accept-Encoding\"}}");
+        out.flush();
+    }
+
+    private static Map<String, String> stringMap(JsonNode node, ObjectMapper mapper) {
+        return node == null || node.isNull() ? null : mapper.convertValue(node, STRING_MAP);
+    }
+}
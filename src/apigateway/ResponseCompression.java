@@ -0,0 +1,98 @@
+package apigateway;
+
+import java.io.Writer;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.Deflater;
+
+/**
+ * Settings for compressing response bodies, and the deflaters they are compressed with. Bodies
+ * are only compressed once they grow beyond a threshold, as compressing a small body saves few
+ * bytes and costs the client a base64 and inflate pass all the same.
+ *
+ * <p>A compressed body is base64 encoded, and API Gateway only decodes it for a client whose
+ * first {@code Accept} type is one of the API's binary media types. Clients therefore opt in by
+ * accepting the compressible media type first, which must be listed as a binary media type. It
+ * is a type of its own rather than {@code application/json}, since API Gateway would otherwise
+ * base64 encode the JSON bodies of requests too.
+ */
+public class ResponseCompression {
+
+    public static final String DEFAULT_MEDIA_TYPE = "application/vnd.reviews+json";
+    public static final int DEFAULT_THRESHOLD_BYTES = 1024;
+    public static final int DEFAULT_LEVEL = Deflater.DEFAULT_COMPRESSION;
+    /* A container handles one request at a time, so few deflaters are ever in use at once */
+    public static final int DEFAULT_MAX_IDLE_DEFLATERS = 2;
+
+    static final String ACCEPT = "Accept";
+
+    private final String mediaType;
+    private final int thresholdBytes;
+    private final Map<ContentEncoding, DeflaterPool> pools = new EnumMap<>(ContentEncoding.class);
+
+    /**
+     * Constructs a ResponseCompression.
+     *
+     * @param mediaType        the binary media type a client accepts to have responses compressed
+     * @param thresholdBytes   bodies of up to this many bytes of JSON are not compressed
+     * @param level            the deflate compression level, 0 to 9 or -1 for the default
+     * @param maxIdleDeflaters the deflaters kept for reuse, per encoding
+     */
+    public ResponseCompression(String mediaType, int thresholdBytes, int level, int maxIdleDeflaters) {
+        if (thresholdBytes < 0) {
+            throw new IllegalArgumentException("The compression threshold must not be negative.");
+        }
+        this.mediaType = Objects.requireNonNull(mediaType, "mediaType cannot be null.");
+        this.thresholdBytes = thresholdBytes;
+        for (ContentEncoding encoding : ContentEncoding.values()) {
+            pools.put(encoding, new DeflaterPool(level, encoding.isNowrap(), maxIdleDeflaters));
+        }
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public int getThresholdBytes() {
+        return thresholdBytes;
+    }
+
+    /**
+     * Chooses the encoding to compress a response in. A response is only compressed for a client
+     * whose first {@code Accept} type is the compressible media type, since API Gateway would pass
+     * the base64 encoded body on to any other client as it is. See
+     * {@link ContentEncoding#negotiate(Map)}.
+     *
+     * @param headers the headers of the request, which may be null
+     * @return an Optional of the chosen encoding, empty if the response should not be compressed
+     */
+    public Optional<ContentEncoding> negotiate(Map<String, String> headers) {
+        return firstAcceptedType(headers).filter(mediaType::equalsIgnoreCase).isPresent()
+               ? ContentEncoding.negotiate(headers)
+               : Optional.empty();
+    }
+
+    /* API Gateway matches only the first type of e.g. "application/vnd.reviews+json, application/json;q=0.9" */
+    private static Optional<String> firstAcceptedType(Map<String, String> headers) {
+        if (headers == null) {
+            return Optional.empty();
+        }
+        return headers.entrySet().stream()
+                .filter(header -> ACCEPT.equalsIgnoreCase(header.getKey()))
+                .map(Map.Entry::getValue)
+                .filter(value -> value != null)
+                .findFirst()
+                .map(value -> value.split(",")[0].split(";")[0].trim());
+    }
+
+    /* Starts a body in the given encoding, written into the body string of a proxy response */
+    CompressingBody startBody(Writer out, ContentEncoding encoding) {
+        return new CompressingBody(out, encoding, thresholdBytes, pools.get(encoding));
+    }
+
+    DeflaterPool pool(ContentEncoding encoding) {
+        return pools.get(encoding);
+    }
+}
@@ -0,0 +1,229 @@
+package cache;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.apache.log4j.Logger;
+
+/**
+ * A bounded, thread-safe cache in front of a lookup that may find nothing. Missing values are
+ * cached too, so repeated lookups of something that does not exist do not reach the database.
+ * Entries expire a fixed time after being loaded, missing values optionally sooner, and the
+ * least recently used entries are evicted once the cache is full. Meant to live as long as the
+ * Lambda container does. Its hit, miss and eviction counts are logged at most once a minute, as
+ * it is read, since a frozen container runs no timers.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ */
+public class ReadThroughCache<K, V> {
+
+    /* The minimum time between logging the statistics of the cache */
+    static final long STATS_LOG_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Logger log = Logger.getLogger(ReadThroughCache.class);
+    private final String description;
+    private final LoadingCache<K, Entry<V>> cache;
+    private final Ticker ticker;
+    private final long negativeTtlNanos;
+    private final AtomicLong nextStatsLogNanos;
+
+    /**
+     * Constructs a ReadThroughCache.
+     *
+     * @param description what is cached, for logging
+     * @param loader      looks up the value of a key, returning an empty Optional if there is none
+     * @param maximumSize the maximum number of entries, found or not, to hold
+     * @param ttlSeconds  the number of seconds after which an entry expires
+     */
+    public ReadThroughCache(String description, Function<K, Optional<V>> loader, long maximumSize, long ttlSeconds) {
+        this(description, loader, maximumSize, ttlSeconds, ttlSeconds);
+    }
+
+    /**
+     * Constructs a ReadThroughCache which keeps missing values for less time than found ones.
+     *
+     * @param description        what is cached, for logging
+     * @param loader             looks up the value of a key, returning an empty Optional if there is none
+     * @param maximumSize        the maximum number of entries, found or not, to hold
+     * @param ttlSeconds         the number of seconds after which an entry expires
+     * @param negativeTtlSeconds the number of seconds after which an entry for a missing value expires,
+     *                           no more than ttlSeconds
+     */
+    public ReadThroughCache(String description,
+                            Function<K, Optional<V>> loader,
+                            long maximumSize,
+                            long ttlSeconds,
+                            long negativeTtlSeconds) {
+        this(description, loader, maximumSize, ttlSeconds, negativeTtlSeconds, Ticker.systemTicker());
+    }
+
+    ReadThroughCache(String description,
+                     Function<K, Optional<V>> loader,
+                     long maximumSize,
+                     long ttlSeconds,
+                     long negativeTtlSeconds,
+                     Ticker ticker) {
+        Objects.requireNonNull(loader, "loader cannot be null.");
+        if (negativeTtlSeconds > ttlSeconds) {
+            throw new IllegalArgumentException("negativeTtlSeconds cannot be greater than ttlSeconds.");
+        }
+        this.description = description;
+        this.ticker = ticker;
+        this.negativeTtlNanos = TimeUnit.SECONDS.toNanos(negativeTtlSeconds);
+        this.nextStatsLogNanos = new AtomicLong(ticker.read() + STATS_LOG_INTERVAL_NANOS);
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .ticker(ticker)
+                .recordStats()
+                .build(CacheLoader.from(key -> new Entry<>(loader.apply(key), ticker.read())));
+    }
+
+    /**
+     * Returns the value of a key, looking it up if it is not cached.
+     *
+     * @param key the key
+     * @return an Optional of the value, empty if there is none
+     */
+    public Optional<V> get(K key) {
+        logStatsPeriodically();
+        try {
+            final Entry<V> entry = cache.getUnchecked(key);
+            if (isExpired(entry)) {
+                cache.asMap().remove(key, entry);
+                return cache.getUnchecked(key).value;
+            }
+            return entry.value;
+        }
+        catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the value of a key, looking it up asynchronously if it is not cached.
+     *
+     * @param key         the key
+     * @param asyncLoader looks up the value of the key when it is not cached
+     * @return a future of an Optional of the value, empty if there is none
+     */
+    public CompletableFuture<Optional<V>> getAsync(K key, Function<K, CompletableFuture<Optional<V>>> asyncLoader) {
+        logStatsPeriodically();
+        final Entry<V> cached = cache.getIfPresent(key);
+        if (cached != null && !isExpired(cached)) {
+            return CompletableFuture.completedFuture(cached.value);
+        }
+        return asyncLoader.apply(key).thenApply(value -> {
+            cache.put(key, new Entry<>(value, ticker.read()));
+            return value;
+        });
+    }
+
+    /**
+     * Returns the values of the given keys, looking up those not cached with a single call.
+     * Keys the lookup finds no value for are cached as missing.
+     *
+     * @param keys       the keys
+     * @param bulkLoader looks up the values of the keys not cached, leaving out those with none
+     * @return the values of the keys which have one
+     */
+    public Map<K, V> getAll(Collection<K> keys, Function<Collection<K>, Map<K, V>> bulkLoader) {
+        logStatsPeriodically();
+        final Map<K, V> values = new HashMap<>();
+        final Set<K> missing = new LinkedHashSet<>();
+        for (K key : keys) {
+            final Entry<V> cached = cache.getIfPresent(key);
+            if (cached == null || isExpired(cached)) {
+                missing.add(key);
+            }
+            else {
+                cached.value.ifPresent(value -> values.put(key, value));
+            }
+        }
+        if (missing.isEmpty()) {
+            return values;
+        }
+
+        final Map<K, V> loaded = bulkLoader.apply(missing);
+        final long now = ticker.read();
+        for (K key : missing) {
+            final Optional<V> value = Optional.ofNullable(loaded.get(key));
+            cache.put(key, new Entry<>(value, now));
+            value.ifPresent(found -> values.put(key, found));
+        }
+        return values;
+    }
+
+    /**
+     * Discards the cached value of a key, if any.
+     *
+     * @param key the key
+     */
+    public void invalidate(K key) {
+        cache.invalidate(key);
+    }
+
+    /**
+     * Returns the hit, miss, and eviction counts of this cache since it was created. Finding an
+     * expired entry for a missing value counts as both a hit and a miss.
+     *
+     * @return the cache statistics
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * Returns the number of entries currently cached.
+     *
+     * @return the number of entries
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /* Logs the statistics if a minute has passed since they were last logged, from one caller only */
+    private void logStatsPeriodically() {
+        final long now = ticker.read();
+        final long next = nextStatsLogNanos.get();
+        if (now - next >= 0 && nextStatsLogNanos.compareAndSet(next, now + STATS_LOG_INTERVAL_NANOS)) {
+            final CacheStats stats = cache.stats();
+            log.info(String.format("The %s cache holds %d entries, after %d hits, %d misses and %d evictions.",
+                    description, cache.size(), stats.hitCount(), stats.missCount(), stats.evictionCount()));
+        }
+    }
+
+    /* Guava expires every entry after the same time, so missing values are expired by hand */
+    private boolean isExpired(Entry<V> entry) {
+        return !entry.value.isPresent() && ticker.read() - entry.loadedNanos >= negativeTtlNanos;
+    }
+
+    private static final class Entry<V> {
+
+        private final Optional<V> value;
+        private final long loadedNanos;
+
+        private Entry(Optional<V> value, long loadedNanos) {
+            this.value = Objects.requireNonNull(value, "value cannot be null.");
+            this.loadedNanos = loadedNanos;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package cache;
+
+import com.google.common.base.Ticker;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.apache.log4j.Logger;
+
+/**
+ * Holds a value for as long as the container lives, loading it in the background the first time
+ * it is asked for, and reloading it in the background once it is older than the refresh period.
+ * Readers are never blocked: they get the current value, if any, which is swapped for the new one
+ * atomically once it has loaded. Lambda containers are frozen between invocations, so reloads are
+ * started by readers rather than by a timer. Each load may be kept for a random extra time on top of
+ * the refresh period, so that containers started together do not all reload at once.
+ *
+ * @param <V> the type of the value
+ */
+public class RefreshingValue<V> {
+
+    /* The minimum time between attempts to load the value, so that failures are not retried on every call */
+    private static final long MIN_RETRY_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final Logger log = Logger.getLogger(RefreshingValue.class);
+    private final String description;
+    private final Supplier<V> loader;
+    private final Executor executor;
+    private final long refreshNanos;
+    private final long refreshJitterNanos;
+    private final Ticker ticker;
+    private final AtomicReference<Loaded<V>> loaded = new AtomicReference<>();
+    private final AtomicBoolean loading = new AtomicBoolean();
+    private volatile long nextAttemptNanos;
+
+    /**
+     * Constructs a RefreshingValue.
+     *
+     * @param description    what the value is, for logging
+     * @param loader         loads the value
+     * @param executor       runs the loader
+     * @param refreshSeconds the number of seconds after which the value is reloaded
+     */
+    public RefreshingValue(String description, Supplier<V> loader, Executor executor, long refreshSeconds) {
+        this(description, loader, executor, refreshSeconds, Ticker.systemTicker());
+    }
+
+    /**
+     * Constructs a RefreshingValue, with a ticker to read the time from.
+     */
+    public RefreshingValue(String description,
+                           Supplier<V> loader,
+                           Executor executor,
+                           long refreshSeconds,
+                           Ticker ticker) {
+        this(description, loader, executor, refreshSeconds, 0, ticker);
+    }
+
+    /**
+     * Constructs a RefreshingValue whose loads are each kept for up to the given jitter longer
+     * than the refresh period, chosen at random, with a ticker to read the time from.
+     *
+     * @param description          what the value is, for logging
+     * @param loader               loads the value
+     * @param executor             runs the loader
+     * @param refreshSeconds       the number of seconds after which the value is reloaded
+     * @param refreshJitterSeconds the most seconds by which a reload may be put off, at random
+     * @param ticker               reads the time
+     */
+    public RefreshingValue(String description,
+                           Supplier<V> loader,
+                           Executor executor,
+                           long refreshSeconds,
+                           long refreshJitterSeconds,
+                           Ticker ticker) {
+        if (refreshJitterSeconds < 0) {
+            throw new IllegalArgumentException("refreshJitterSeconds cannot be negative.");
+        }
+        this.description = description;
+        this.loader = loader;
+        this.executor = executor;
+        this.refreshNanos = TimeUnit.SECONDS.toNanos(refreshSeconds);
+        this.refreshJitterNanos = TimeUnit.SECONDS.toNanos(refreshJitterSeconds);
+        this.ticker = ticker;
+        this.nextAttemptNanos = ticker.read();
+    }
+
+    /**
+     * Returns the current value, starting to load a new one in the background if it is
+     * missing or out of date.
+     *
+     * @return an Optional of the value, empty until the first one has been loaded
+     */
+    public Optional<V> get() {
+        final Loaded<V> current = loaded.get();
+        final long now = ticker.read();
+        if ((current == null || now - current.refreshNanos >= 0) && now - nextAttemptNanos >= 0) {
+            load(now);
+        }
+        return Optional.ofNullable(current).map(value -> value.value);
+    }
+
+    private void load(long now) {
+        if (!loading.compareAndSet(false, true)) {
+            return;
+        }
+        nextAttemptNanos = now + MIN_RETRY_NANOS;
+        CompletableFuture.runAsync(() -> {
+            try {
+                final V value = loader.get();
+                final long jitterNanos = refreshJitterNanos == 0
+                                         ? 0
+                                         : ThreadLocalRandom.current().nextLong(refreshJitterNanos + 1);
+                loaded.set(new Loaded<>(value, ticker.read() + refreshNanos + jitterNanos));
+            }
+            catch (RuntimeException e) {
+                log.warn(String.format("Failed to load the %s.", description), e);
+            }
+            finally {
+                loading.set(false);
+            }
+        }, executor);
+    }
+
+    private static final class Loaded<V> {
+
+        private final V value;
+        /* When the value is to be reloaded */
+        private final long refreshNanos;
+
+        private Loaded(V value, long refreshNanos) {
+            this.value = value;
+            this.refreshNanos = refreshNanos;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package concurrent;
+
+import java.util.concurrent.Executor;
+import org.apache.log4j.MDC;
+
+/**
+ * An executor that runs each task with the Lambda request id of the thread that submitted it,
+ * so that log lines written by worker threads can still be traced back to their request.
+ */
+public class RequestIdPropagatingExecutor implements Executor {
+
+    /* The MDC key the Lambda runtime stores the request id under, see log4j.properties */
+    public static final String REQUEST_ID = "AWSRequestId";
+
+    private final Executor delegate;
+
+    public RequestIdPropagatingExecutor(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Executes the given task on the delegate executor, with the request id of the calling thread.
+     * Worker threads are cleared of the request id once the task completes. Tasks the delegate
+     * runs on the calling thread itself, e.g. when its queue is full, are run as is.
+     *
+     * @param task the task to execute
+     */
+    @Override
+    public void execute(Runnable task) {
+        final Thread caller = Thread.currentThread();
+        final Object requestId = MDC.get(REQUEST_ID);
+        delegate.execute(() -> {
+            if (Thread.currentThread() == caller) {
+                task.run();
+                return;
+            }
+            if (requestId != null) {
+                MDC.put(REQUEST_ID, requestId);
+            }
+            try {
+                task.run();
+            }
+            finally {
+                MDC.remove(REQUEST_ID);
+            }
+        });
+    }
+}
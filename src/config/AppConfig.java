@@ -1,63 +1,365 @@
 package config;
 
+import apigateway.ResponseCompression;
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.retry.PredefinedBackoffStrategies;
+import com.amazonaws.retry.PredefinedRetryPolicies;
+import com.amazonaws.retry.RetryPolicy;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import concurrent.RequestIdPropagatingExecutor;
 import dynamodb.DynamoDBMapperWrapper;
+import dynamodb.OperationTimeouts;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import movie.MovieCatalogService;
 import movie.MovieDAO;
 import movie.MovieService;
 import movie.TopMovieDAO;
 import movie.TopMovieService;
+import org.apache.log4j.Logger;
+import recommendation.MovieScorer;
 import recommendation.RecommendationService;
+import recommendation.SimilarMoviesDAO;
+import recommendation.SimilarMoviesService;
+import recommendation.UserRecommendationsDAO;
+import recommendation.UserRecommendationsService;
 import review.DeletedReviewDAO;
 import review.DeletedReviewService;
+import review.LatestFavoriteDAO;
+import review.LatestFavoriteService;
+import review.ListReviewsResponse;
+import review.Review;
 import review.ReviewDAO;
 import review.ReviewService;
+import review.SeenMoviesDAO;
+import review.SeenMoviesService;
 import user.UserDAO;
 import user.UserService;
 
 /**
- * Wiring up and managing all dependencies.
+ * Wiring up and managing all dependencies. Each component is created lazily, so that a handler's
+ * cold start only pays for the components that handler actually uses.
  */
 public class AppConfig {
 
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-    private static final AmazonDynamoDB DYNAMO_CLIENT = AmazonDynamoDBClientBuilder.standard().build();
-    private static final DynamoDBMapper DYNAMO_DB_MAPPER = new DynamoDBMapper(DYNAMO_CLIENT);
-    private static final DynamoDBMapperWrapper DYNAMO_DB_MAPPER_WRAPPER = new DynamoDBMapperWrapper(DYNAMO_DB_MAPPER);
-
-    private final UserDAO userDAO = new UserDAO(DYNAMO_DB_MAPPER_WRAPPER);
-    private final MovieDAO movieDAO = new MovieDAO(DYNAMO_DB_MAPPER_WRAPPER);
-    private final ReviewDAO reviewDAO = new ReviewDAO(DYNAMO_DB_MAPPER_WRAPPER);
-    private final DeletedReviewDAO deletedReviewDAO = new DeletedReviewDAO(DYNAMO_DB_MAPPER_WRAPPER);
-    private final TopMovieDAO topMovieDAO = new TopMovieDAO(DYNAMO_DB_MAPPER_WRAPPER);
-
-    private final UserService userService = new UserService(userDAO);
-    private final MovieService movieService = new MovieService(movieDAO);
-    private final ReviewService reviewService = new ReviewService(userService, movieService, reviewDAO);
-    private final DeletedReviewService deletedReviewService = new DeletedReviewService(deletedReviewDAO);
-    private final TopMovieService topMovieService = new TopMovieService(movieService, topMovieDAO);
-    private final RecommendationService recommendationService =
-            new RecommendationService(movieService, reviewService, topMovieService);
+    /* Threads available to run DynamoDB calls concurrently, per container */
+    private static final int EXECUTOR_THREADS = intFromEnvironment("EXECUTOR_THREADS", 8);
+    /* Tasks waiting for a thread beyond this are run by the submitting thread instead */
+    private static final int EXECUTOR_QUEUE_CAPACITY = intFromEnvironment("EXECUTOR_QUEUE_CAPACITY", 256);
+
+    /* Genres queried at the same time when fetching the top rated movie of several genres */
+    private static final int MOVIE_GENRE_QUERIES_IN_FLIGHT =
+            intFromEnvironment("MOVIE_GENRE_QUERIES_IN_FLIGHT", MovieDAO.DEFAULT_MAX_GENRE_QUERIES_IN_FLIGHT);
+
+    /* Movies, found or not, cached per container */
+    private static final int MOVIE_CACHE_MAXIMUM_SIZE =
+            intFromEnvironment("MOVIE_CACHE_MAXIMUM_SIZE", MovieService.DEFAULT_CACHE_MAXIMUM_SIZE);
+    private static final int MOVIE_CACHE_TTL_SECONDS =
+            intFromEnvironment("MOVIE_CACHE_TTL_SECONDS", MovieService.DEFAULT_CACHE_TTL_SECONDS);
+    private static final int MOVIE_CACHE_NEGATIVE_TTL_SECONDS =
+            intFromEnvironment("MOVIE_CACHE_NEGATIVE_TTL_SECONDS", MovieService.DEFAULT_CACHE_NEGATIVE_TTL_SECONDS);
+
+    /* How old the in-memory movie catalog gets before it is reloaded in the background */
+    private static final int MOVIE_CATALOG_REFRESH_SECONDS =
+            intFromEnvironment("MOVIE_CATALOG_REFRESH_SECONDS", MovieCatalogService.DEFAULT_REFRESH_SECONDS);
+    /* Movies held by the in-memory movie catalog at most, bounding its memory */
+    private static final int MOVIE_CATALOG_MAX_SIZE =
+            intFromEnvironment("MOVIE_CATALOG_MAX_SIZE", MovieCatalogService.DEFAULT_MAX_SIZE);
+    /* Items evaluated by each request scanning the movie table for the catalog, bounding the read capacity it uses */
+    private static final int MOVIE_CATALOG_SCAN_PAGE_SIZE =
+            intFromEnvironment("MOVIE_CATALOG_SCAN_PAGE_SIZE", MovieCatalogService.DEFAULT_SCAN_PAGE_SIZE);
+
+    /* How old stored recommendations get before they are recomputed, even if the user's reviews are unchanged */
+    private static final int USER_RECOMMENDATIONS_MAX_AGE_SECONDS = intFromEnvironment(
+            "USER_RECOMMENDATIONS_MAX_AGE_SECONDS", UserRecommendationsService.DEFAULT_MAX_AGE_SECONDS);
+
+    /* The name of the scorer ranking candidate movies, e.g. "recency" or "rating", see MovieScorer.of */
+    private static final String RECOMMENDATION_SCORER =
+            stringFromEnvironment("RECOMMENDATION_SCORER", RecommendationService.DEFAULT_SCORER);
+
+    /* How old the top movies kept per container get before they are reloaded in the background */
+    private static final int TOP_MOVIES_REFRESH_SECONDS =
+            intFromEnvironment("TOP_MOVIES_REFRESH_SECONDS", TopMovieService.DEFAULT_REFRESH_SECONDS);
+
+    /* Users, found or not, cached per container */
+    private static final int USER_CACHE_MAXIMUM_SIZE =
+            intFromEnvironment("USER_CACHE_MAXIMUM_SIZE", UserService.DEFAULT_CACHE_MAXIMUM_SIZE);
+    private static final int USER_CACHE_TTL_SECONDS =
+            intFromEnvironment("USER_CACHE_TTL_SECONDS", UserService.DEFAULT_CACHE_TTL_SECONDS);
+    private static final int USER_CACHE_NEGATIVE_TTL_SECONDS =
+            intFromEnvironment("USER_CACHE_NEGATIVE_TTL_SECONDS", UserService.DEFAULT_CACHE_NEGATIVE_TTL_SECONDS);
+
+    /* Connections to DynamoDB per container, enough for every worker thread and the callers running tasks too */
+    private static final int DYNAMO_MAX_CONNECTIONS =
+            intFromEnvironment("DYNAMO_MAX_CONNECTIONS", 2 * EXECUTOR_THREADS);
+    private static final int DYNAMO_CONNECTION_TIMEOUT_MILLIS =
+            intFromEnvironment("DYNAMO_CONNECTION_TIMEOUT_MILLIS", 1000);
+    private static final int DYNAMO_SOCKET_TIMEOUT_MILLIS = intFromEnvironment("DYNAMO_SOCKET_TIMEOUT_MILLIS", 5000);
+    /* Timeouts of each attempt at a single item request, and at a query, scan or batch request */
+    private static final int DYNAMO_ITEM_REQUEST_TIMEOUT_MILLIS =
+            intFromEnvironment("DYNAMO_ITEM_REQUEST_TIMEOUT_MILLIS", 1000);
+    private static final int DYNAMO_BULK_REQUEST_TIMEOUT_MILLIS =
+            intFromEnvironment("DYNAMO_BULK_REQUEST_TIMEOUT_MILLIS", 5000);
+    /* Idle connections are closed after this, and any connection once this old, so DNS changes are picked up */
+    private static final int DYNAMO_CONNECTION_MAX_IDLE_MILLIS =
+            intFromEnvironment("DYNAMO_CONNECTION_MAX_IDLE_MILLIS", 60000);
+    private static final int DYNAMO_CONNECTION_TTL_MILLIS = intFromEnvironment("DYNAMO_CONNECTION_TTL_MILLIS", 300000);
+    /* Retries of a failed request. Throttled requests back off from a longer base delay than other failures */
+    private static final int DYNAMO_MAX_ERROR_RETRIES = intFromEnvironment("DYNAMO_MAX_ERROR_RETRIES", 3);
+    private static final int DYNAMO_RETRY_BASE_DELAY_MILLIS = intFromEnvironment("DYNAMO_RETRY_BASE_DELAY_MILLIS", 25);
+    private static final int DYNAMO_THROTTLED_RETRY_BASE_DELAY_MILLIS =
+            intFromEnvironment("DYNAMO_THROTTLED_RETRY_BASE_DELAY_MILLIS", 100);
+    private static final int DYNAMO_MAX_RETRY_DELAY_MILLIS = intFromEnvironment("DYNAMO_MAX_RETRY_DELAY_MILLIS", 1000);
+
+    /* Response bodies beyond this many bytes of JSON are compressed, for clients first accepting the media type */
+    private static final String RESPONSE_COMPRESSION_MEDIA_TYPE =
+            stringFromEnvironment("RESPONSE_COMPRESSION_MEDIA_TYPE", ResponseCompression.DEFAULT_MEDIA_TYPE);
+    private static final int RESPONSE_COMPRESSION_THRESHOLD_BYTES =
+            intFromEnvironment("RESPONSE_COMPRESSION_THRESHOLD_BYTES", ResponseCompression.DEFAULT_THRESHOLD_BYTES);
+    private static final int RESPONSE_COMPRESSION_LEVEL =
+            intFromEnvironment("RESPONSE_COMPRESSION_LEVEL", ResponseCompression.DEFAULT_LEVEL);
+
+    /* Whether handlers read from DynamoDB during init to open a connection, at the cost of a read per cold start */
+    private static final boolean PRIME_DYNAMO_CONNECTION = booleanFromEnvironment("PRIME_DYNAMO_CONNECTION", true);
+
+    private static final Logger LOG = Logger.getLogger(AppConfig.class);
+
+    private static final Lazy<Executor> EXECUTOR = Lazy.of("executor", () -> new RequestIdPropagatingExecutor(
+            new ThreadPoolExecutor(EXECUTOR_THREADS, EXECUTOR_THREADS, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(EXECUTOR_QUEUE_CAPACITY),
+                    new ThreadFactoryBuilder().setNameFormat("app-worker-%d").setDaemon(true).build(),
+                    new ThreadPoolExecutor.CallerRunsPolicy())));
+    /* The movie catalog scans the whole movie table, so it is loaded apart from the request fan-out */
+    private static final Lazy<Executor> CATALOG_EXECUTOR = Lazy.of("catalog executor",
+            () -> Executors.newSingleThreadExecutor(
+                    new ThreadFactoryBuilder().setNameFormat("movie-catalog-loader-%d").setDaemon(true).build()));
+    private static final Lazy<ObjectMapper> OBJECT_MAPPER = Lazy.of("object mapper", ObjectMapper::new);
+    /* Readers and writers are immutable, and build the (de)serializer of their type as they are created */
+    private static final Lazy<ObjectReader> REVIEW_READER =
+            Lazy.of("review reader", () -> OBJECT_MAPPER.get().readerFor(Review.class));
+    private static final Lazy<ObjectWriter> REVIEW_WRITER =
+            Lazy.of("review writer", () -> OBJECT_MAPPER.get().writerFor(Review.class));
+    /* Responses listing reviews have no getters, so are written from their fields, by a mapper of their own */
+    private static final Lazy<ObjectWriter> LIST_REVIEWS_RESPONSE_WRITER = Lazy.of("list reviews response writer",
+            () -> OBJECT_MAPPER.get().copy()
+                    .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+                    .writerFor(ListReviewsResponse.class));
+    /* Recommendations are a list of movies, top movies or stored recommended movies */
+    private static final Lazy<ObjectWriter> RECOMMENDATIONS_WRITER = Lazy.of("recommendations writer",
+            () -> OBJECT_MAPPER.get().writerFor(new TypeReference<List<?>>() { }));
+    private static final Lazy<ResponseCompression> RESPONSE_COMPRESSION = Lazy.of("response compression",
+            () -> new ResponseCompression(RESPONSE_COMPRESSION_MEDIA_TYPE, RESPONSE_COMPRESSION_THRESHOLD_BYTES,
+                    RESPONSE_COMPRESSION_LEVEL, ResponseCompression.DEFAULT_MAX_IDLE_DEFLATERS));
+    private static final Lazy<AmazonDynamoDB> DYNAMO_CLIENT =
+            Lazy.of("DynamoDB client", () -> AmazonDynamoDBClientBuilder.standard()
+                    .withClientConfiguration(dynamoClientConfiguration())
+                    .withRequestHandlers(new OperationTimeouts(
+                            DYNAMO_ITEM_REQUEST_TIMEOUT_MILLIS, DYNAMO_BULK_REQUEST_TIMEOUT_MILLIS))
+                    .build());
+    private static final Lazy<DynamoDBMapper> DYNAMO_DB_MAPPER =
+            Lazy.of("DynamoDB mapper", () -> new DynamoDBMapper(DYNAMO_CLIENT.get()));
+    private static final Lazy<DynamoDBMapperWrapper> DYNAMO_DB_MAPPER_WRAPPER = Lazy.of("DynamoDB mapper wrapper",
+            () -> new DynamoDBMapperWrapper(DYNAMO_DB_MAPPER.get(), DYNAMO_CLIENT.get(), EXECUTOR.get()));
+
+    /* Components are only created once a handler asks for them, or for a component depending on them */
+    private final Lazy<UserDAO> userDAO = Lazy.of("user DAO", () -> new UserDAO(DYNAMO_DB_MAPPER_WRAPPER.get()));
+    private final Lazy<MovieDAO> movieDAO = Lazy.of("movie DAO",
+            () -> new MovieDAO(DYNAMO_DB_MAPPER_WRAPPER.get(), MOVIE_GENRE_QUERIES_IN_FLIGHT));
+    private final Lazy<ReviewDAO> reviewDAO =
+            Lazy.of("review DAO", () -> new ReviewDAO(DYNAMO_DB_MAPPER_WRAPPER.get()));
+    private final Lazy<DeletedReviewDAO> deletedReviewDAO =
+            Lazy.of("deleted review DAO", () -> new DeletedReviewDAO(DYNAMO_DB_MAPPER_WRAPPER.get()));
+    private final Lazy<TopMovieDAO> topMovieDAO =
+            Lazy.of("top movie DAO", () -> new TopMovieDAO(DYNAMO_DB_MAPPER_WRAPPER.get()));
+    private final Lazy<LatestFavoriteDAO> latestFavoriteDAO =
+            Lazy.of("latest favorite DAO", () -> new LatestFavoriteDAO(DYNAMO_DB_MAPPER_WRAPPER.get()));
+    private final Lazy<SeenMoviesDAO> seenMoviesDAO =
+            Lazy.of("seen movies DAO", () -> new SeenMoviesDAO(DYNAMO_DB_MAPPER_WRAPPER.get()));
+    private final Lazy<SimilarMoviesDAO> similarMoviesDAO =
+            Lazy.of("similar movies DAO", () -> new SimilarMoviesDAO(DYNAMO_DB_MAPPER_WRAPPER.get()));
+    private final Lazy<UserRecommendationsDAO> userRecommendationsDAO =
+            Lazy.of("user recommendations DAO", () -> new UserRecommendationsDAO(DYNAMO_DB_MAPPER_WRAPPER.get()));
+
+    private final Lazy<UserService> userService = Lazy.of("user service", () -> new UserService(userDAO.get(),
+            USER_CACHE_MAXIMUM_SIZE, USER_CACHE_TTL_SECONDS, USER_CACHE_NEGATIVE_TTL_SECONDS));
+    private final Lazy<MovieService> movieService = Lazy.of("movie service",
+            () -> new MovieService(movieDAO.get(), MOVIE_CACHE_MAXIMUM_SIZE, MOVIE_CACHE_TTL_SECONDS,
+                    MOVIE_CACHE_NEGATIVE_TTL_SECONDS));
+    private final Lazy<MovieCatalogService> movieCatalogService = Lazy.of("movie catalog service",
+            () -> new MovieCatalogService(movieDAO.get(), CATALOG_EXECUTOR.get(), MOVIE_CATALOG_REFRESH_SECONDS,
+                    MOVIE_CATALOG_MAX_SIZE, MOVIE_CATALOG_SCAN_PAGE_SIZE));
+    private final Lazy<LatestFavoriteService> latestFavoriteService = Lazy.of("latest favorite service",
+            () -> new LatestFavoriteService(latestFavoriteDAO.get(), reviewDAO.get()));
+    private final Lazy<SeenMoviesService> seenMoviesService = Lazy.of("seen movies service",
+            () -> new SeenMoviesService(seenMoviesDAO.get(), reviewDAO.get()));
+    private final Lazy<ReviewService> reviewService = Lazy.of("review service", () -> new ReviewService(
+            userService.get(), movieService.get(), reviewDAO.get(), latestFavoriteService.get(),
+            seenMoviesService.get(), EXECUTOR.get()));
+    private final Lazy<DeletedReviewService> deletedReviewService =
+            Lazy.of("deleted review service", () -> new DeletedReviewService(deletedReviewDAO.get()));
+    private final Lazy<TopMovieService> topMovieService = Lazy.of("top movie service", () -> new TopMovieService(
+            movieService.get(), topMovieDAO.get(), EXECUTOR.get(), TOP_MOVIES_REFRESH_SECONDS));
+    private final Lazy<SimilarMoviesService> similarMoviesService = Lazy.of("similar movies service",
+            () -> new SimilarMoviesService(reviewDAO.get(), similarMoviesDAO.get()));
+    private final Lazy<RecommendationService> recommendationService = Lazy.of("recommendation service",
+            () -> new RecommendationService(movieService.get(), reviewService.get(), topMovieService.get(),
+                    movieCatalogService.get(), similarMoviesService.get(), MovieScorer.of(RECOMMENDATION_SCORER)));
+    private final Lazy<UserRecommendationsService> userRecommendationsService = Lazy.of(
+            "user recommendations service", () -> new UserRecommendationsService(
+                    recommendationService.get(), userRecommendationsDAO.get(), USER_RECOMMENDATIONS_MAX_AGE_SECONDS));
 
     public static ObjectMapper getObjectMapper() {
-        return OBJECT_MAPPER;
+        return OBJECT_MAPPER.get();
+    }
+
+    public static ObjectReader getReviewReader() {
+        return REVIEW_READER.get();
+    }
+
+    public static ObjectWriter getReviewWriter() {
+        return REVIEW_WRITER.get();
+    }
+
+    public static ObjectWriter getListReviewsResponseWriter() {
+        return LIST_REVIEWS_RESPONSE_WRITER.get();
+    }
+
+    public static ObjectWriter getRecommendationsWriter() {
+        return RECOMMENDATIONS_WRITER.get();
+    }
+
+    public static ResponseCompression getResponseCompression() {
+        return RESPONSE_COMPRESSION.get();
     }
 
     public ReviewService getReviewService() {
-        return reviewService;
+        return reviewService.get();
     }
 
     public DeletedReviewService getDeletedReviewService() {
-        return deletedReviewService;
+        return deletedReviewService.get();
+    }
+
+    public LatestFavoriteService getLatestFavoriteService() {
+        return latestFavoriteService.get();
+    }
+
+    public SeenMoviesService getSeenMoviesService() {
+        return seenMoviesService.get();
     }
 
     public RecommendationService getRecommendationService() {
-        return recommendationService;
+        return recommendationService.get();
+    }
+
+    public UserRecommendationsService getUserRecommendationsService() {
+        return userRecommendationsService.get();
+    }
+
+    public SimilarMoviesService getSimilarMoviesService() {
+        return similarMoviesService.get();
     }
 
     public TopMovieService getTopMovieService() {
-        return topMovieService;
+        return topMovieService.get();
+    }
+
+    /**
+     * Primes what a handler needs for its first request ahead of it: the mapper's model of each of
+     * the given table classes, which is built by reflection, and a connection to DynamoDB. Meant to be
+     * called while the handler is constructed, i.e. during the function's init phase, after which any
+     * snapshot of the function is taken. Nothing primed depends on the time or on randomness, so it is
+     * still valid once restored. Failures are logged rather than thrown, since priming is optional.
+     *
+     * @param tables the classes corresponding to the DynamoDB tables the handler uses, the first of
+     *               which is read from to open the connection
+     */
+    public void primeTables(Class<?>... tables) {
+        prime("DynamoDB table models", () -> {
+            for (Class<?> table : tables) {
+                DYNAMO_DB_MAPPER_WRAPPER.get().getTableModel(table);
+            }
+            if (PRIME_DYNAMO_CONNECTION && tables.length > 0) {
+                DYNAMO_DB_MAPPER_WRAPPER.get().primeConnection(tables[0]);
+            }
+        });
+    }
+
+    /**
+     * Primes the serializers of each of the given types, which Jackson otherwise builds by reflection
+     * when first writing them. Readers and writers already build the (de)serializer of their own type,
+     * so this is only needed for the elements of the lists they write. See {@link #primeTables(Class[])}.
+     *
+     * @param types the types written as elements of lists
+     */
+    public static void primeJson(Class<?>... types) {
+        prime("JSON types", () -> {
+            for (Class<?> type : types) {
+                OBJECT_MAPPER.get().canSerialize(type);
+            }
+        });
+    }
+
+    /*
+     * Retries use the SDK's default backoff, with full jitter for most failures and equal jitter from a
+     * longer base delay when throttled. Throttled retries also draw on the client's retry quota, so that
+     * retries stop piling up while DynamoDB keeps failing.
+     */
+    private static ClientConfiguration dynamoClientConfiguration() {
+        return new ClientConfiguration()
+                .withMaxConnections(DYNAMO_MAX_CONNECTIONS)
+                .withConnectionTimeout(DYNAMO_CONNECTION_TIMEOUT_MILLIS)
+                .withSocketTimeout(DYNAMO_SOCKET_TIMEOUT_MILLIS)
+                .withTcpKeepAlive(true)
+                .withReaper(true)
+                .withConnectionMaxIdleMillis(DYNAMO_CONNECTION_MAX_IDLE_MILLIS)
+                .withConnectionTTL(DYNAMO_CONNECTION_TTL_MILLIS)
+                .withThrottledRetries(true)
+                .withRetryPolicy(new RetryPolicy(
+                        PredefinedRetryPolicies.DEFAULT_RETRY_CONDITION,
+                        new PredefinedBackoffStrategies.SDKDefaultBackoffStrategy(DYNAMO_RETRY_BASE_DELAY_MILLIS,
+                                DYNAMO_THROTTLED_RETRY_BASE_DELAY_MILLIS, DYNAMO_MAX_RETRY_DELAY_MILLIS),
+                        DYNAMO_MAX_ERROR_RETRIES,
+                        false));
+    }
+
+    private static void prime(String description, Runnable priming) {
+        final long start = System.nanoTime();
+        try {
+            priming.run();
+            LOG.info(String.format("Primed the %s in %d ms.",
+                    description, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        }
+        catch (RuntimeException e) {
+            LOG.warn(String.format("Failed to prime the %s.", description), e);
+        }
+    }
+
+    private static int intFromEnvironment(String name, int defaultValue) {
+        final String value = System.getenv(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    private static String stringFromEnvironment(String name, String defaultValue) {
+        final String value = System.getenv(name);
+        return value == null ? defaultValue : value;
+    }
+
+    private static boolean booleanFromEnvironment(String name, boolean defaultValue) {
+        final String value = System.getenv(name);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
     }
 }
@@ -0,0 +1,80 @@
+package config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.log4j.Logger;
+
+/**
+ * A component that is created the first time it is asked for, and then kept for as long as the
+ * container lives. The time each component takes to create is logged, both in all and on its own,
+ * i.e. less the time spent creating the components it depends on, which are created along with it.
+ *
+ * @param <T> the type of the component
+ */
+final class Lazy<T> implements Supplier<T> {
+
+    /* The time spent creating dependencies of the component being created on this thread */
+    private static final ThreadLocal<long[]> DEPENDENCY_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private static final Logger LOG = Logger.getLogger(Lazy.class);
+
+    private final String name;
+    private final Supplier<T> factory;
+    private volatile T component;
+
+    private Lazy(String name, Supplier<T> factory) {
+        this.name = name;
+        this.factory = factory;
+    }
+
+    /**
+     * Returns a Lazy that creates its component with the given factory.
+     *
+     * @param name    what the component is, for logging
+     * @param factory creates the component
+     * @param <T>     the type of the component
+     * @return a Lazy
+     */
+    static <T> Lazy<T> of(String name, Supplier<T> factory) {
+        return new Lazy<>(name, factory);
+    }
+
+    /**
+     * Returns the component, creating it, and the components it depends on, if not done yet.
+     * A component whose factory fails is not kept, and is created again when next asked for.
+     *
+     * @return the component
+     */
+    @Override
+    public T get() {
+        T result = component;
+        if (result == null) {
+            synchronized (this) {
+                result = component;
+                if (result == null) {
+                    result = create();
+                    component = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private T create() {
+        final long[] dependencyNanos = DEPENDENCY_NANOS.get();
+        final long outerDependencyNanos = dependencyNanos[0];
+        dependencyNanos[0] = 0;
+        final long start = System.nanoTime();
+        try {
+            final T created = factory.get();
+            final long totalNanos = System.nanoTime() - start;
+            LOG.info(String.format("Created the %s in %d ms, %d ms of which on its own.",
+                    name, TimeUnit.NANOSECONDS.toMillis(totalNanos),
+                    TimeUnit.NANOSECONDS.toMillis(totalNanos - dependencyNanos[0])));
+            return created;
+        }
+        finally {
+            dependencyNanos[0] = outerDependencyNanos + System.nanoTime() - start;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package dynamodb;
+
+import com.amazonaws.SdkClientException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with full jitter, used when retrying the unprocessed part of a batch operation.
+ * The delay before retry n is a random value between 0 and min(maxDelayMillis, baseDelayMillis * 2^n).
+ *
+ * @see <a href="https://aws.amazon.com/blogs/architecture/exponential-backoff-and-jitter/">Exponential
+ *     Backoff And Jitter</a>
+ */
+public class Backoff {
+
+    public static final Backoff DEFAULT = new Backoff(25, 2000, 8);
+
+    /* Beyond this shift the exponential delay exceeds any sensible maximum delay */
+    private static final int MAX_SHIFT = 30;
+
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final int maxRetries;
+
+    /**
+     * Exponential backoff with full jitter.
+     *
+     * @param baseDelayMillis the upper bound of the delay before the first retry
+     * @param maxDelayMillis  the upper bound of the delay before any retry
+     * @param maxRetries      the number of retries after which to give up
+     */
+    public Backoff(long baseDelayMillis, long maxDelayMillis, int maxRetries) {
+        if (baseDelayMillis < 0 || maxDelayMillis < baseDelayMillis || maxRetries < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid backoff. {baseDelayMillis: %d, maxDelayMillis: %d, maxRetries: %d}",
+                    baseDelayMillis, maxDelayMillis, maxRetries));
+        }
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.maxRetries = maxRetries;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Returns a random delay before the given retry.
+     *
+     * @param retry the retry about to be made, starting at 0
+     * @return the delay in milliseconds
+     */
+    public long delayMillis(int retry) {
+        final long ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(retry, MAX_SHIFT));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Sleeps for a random delay before the given retry.
+     *
+     * @param retry the retry about to be made, starting at 0
+     * @throws SdkClientException if the thread was interrupted while sleeping
+     */
+    public void pause(int retry) {
+        try {
+            Thread.sleep(delayMillis(retry));
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SdkClientException("Interrupted while backing off before retry " + retry + ".", e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package dynamodb;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Represents the items found by a batch load across one or more tables.
+ * Items are grouped by their class, and keyed by the ItemKey they were requested with.
+ */
+public class BatchLoadResult {
+
+    private final Map<Class<?>, Map<ItemKey, Object>> items;
+
+    BatchLoadResult(Map<Class<?>, Map<ItemKey, Object>> items) {
+        this.items = items;
+    }
+
+    /**
+     * Returns the items of the given class that were found. Keys that did not match an item are absent.
+     *
+     * @param pojo the class of the items, corresponding to a DynamoDB table
+     * @param <T>  the type of the items
+     * @return an unmodifiable map of the requested keys to the items found
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Map<ItemKey, T> get(Class<T> pojo) {
+        final Map<ItemKey, ?> found = items.getOrDefault(pojo, Collections.emptyMap());
+        return Collections.unmodifiableMap((Map<ItemKey, T>) found);
+    }
+}
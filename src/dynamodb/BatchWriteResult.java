@@ -0,0 +1,67 @@
+package dynamodb;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the outcome of a bulk write. Lists the objects that could still not be
+ * saved or deleted after every retry, along with the exceptions encountered, if any.
+ */
+public class BatchWriteResult {
+
+    private final List<Object> failedWrites;
+    private final List<Object> failedDeletes;
+    private final List<Exception> exceptions;
+
+    BatchWriteResult(List<Object> failedWrites, List<Object> failedDeletes, List<Exception> exceptions) {
+        this.failedWrites = Collections.unmodifiableList(failedWrites);
+        this.failedDeletes = Collections.unmodifiableList(failedDeletes);
+        this.exceptions = Collections.unmodifiableList(exceptions);
+    }
+
+    /**
+     * Returns a BatchWriteResult combining the failures of all the given results.
+     *
+     * @param results the results to combine
+     * @return a BatchWriteResult
+     */
+    static BatchWriteResult combine(Iterable<BatchWriteResult> results) {
+        final List<Object> failedWrites = new ArrayList<>();
+        final List<Object> failedDeletes = new ArrayList<>();
+        final List<Exception> exceptions = new ArrayList<>();
+        for (BatchWriteResult result : results) {
+            failedWrites.addAll(result.failedWrites);
+            failedDeletes.addAll(result.failedDeletes);
+            exceptions.addAll(result.exceptions);
+        }
+        return new BatchWriteResult(failedWrites, failedDeletes, exceptions);
+    }
+
+    /**
+     * Returns true if every object was saved or deleted.
+     *
+     * @return true if nothing failed
+     */
+    public boolean isSuccessful() {
+        return failedWrites.isEmpty() && failedDeletes.isEmpty();
+    }
+
+    public List<Object> getFailedWrites() {
+        return failedWrites;
+    }
+
+    public List<Object> getFailedDeletes() {
+        return failedDeletes;
+    }
+
+    public List<Exception> getExceptions() {
+        return exceptions;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("{failedWrites: %d, failedDeletes: %d, exceptions: %s}",
+                failedWrites.size(), failedDeletes.size(), exceptions);
+    }
+}
@@ -1,9 +1,14 @@
 package dynamodb;
 
+import com.amazonaws.SdkBaseException;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.retry.RetryUtils;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBDeleteExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperFieldModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBSaveExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
@@ -12,27 +17,94 @@ import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedQueryList;
 import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedScanList;
 import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
 import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
 import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
 import com.amazonaws.services.dynamodbv2.model.DeleteItemRequest;
 import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
 import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
 import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.services.dynamodbv2.model.ReturnValue;
 import com.amazonaws.services.dynamodbv2.model.ScanRequest;
 import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Lists;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.apache.commons.lang3.tuple.Pair;
 
 /**
- * A simple wrapper around DynamoDBMapper.
+ * A simple wrapper around DynamoDBMapper. Most operations also have an asynchronous
+ * variant, which runs the blocking call on the executor given at construction.
  *
  * @see <a href="https://github.com/IvanMwiruki/dynamodbmapper-wrapper">dynamodbmapper-wrapper</a>
  */
 public class DynamoDBMapperWrapper {
 
+    /* The maximum number of keys a single BatchGetItem request may contain */
+    public static final int MAX_ITEMS_PER_BATCH_GET = 100;
+    /* The maximum number of requests a single BatchWriteItem request may contain */
+    public static final int MAX_ITEMS_PER_BATCH_WRITE = 25;
+    public static final int DEFAULT_MAX_BATCH_GETS_IN_FLIGHT = 4;
+    public static final int DEFAULT_MAX_BATCH_WRITES_IN_FLIGHT = 4;
+
+    /* The key read to open a connection, which no item is expected to have */
+    private static final String PRIMING_KEY = "__prime__";
+
     private final DynamoDBMapper mapper;
+    private final AmazonDynamoDB client;
+    private final Executor executor;
+    private final Backoff backoff;
+
+    /**
+     * A simple wrapper around DynamoDBMapper.
+     *
+     * @param mapper   the mapper being delegated to
+     * @param client   the client used for operations the mapper does not support
+     * @param executor runs the asynchronous operations
+     */
+    public DynamoDBMapperWrapper(DynamoDBMapper mapper, AmazonDynamoDB client, Executor executor) {
+        this(mapper, client, executor, Backoff.DEFAULT);
+    }
 
-    public DynamoDBMapperWrapper(DynamoDBMapper mapper) {
+    /**
+     * A simple wrapper around DynamoDBMapper.
+     *
+     * @param mapper   the mapper being delegated to
+     * @param client   the client used for operations the mapper does not support
+     * @param executor runs the asynchronous operations
+     * @param backoff  paces the retries of unprocessed items in batch operations
+     */
+    public DynamoDBMapperWrapper(DynamoDBMapper mapper, AmazonDynamoDB client, Executor executor, Backoff backoff) {
         this.mapper = mapper;
+        this.client = client;
+        this.executor = executor;
+        this.backoff = backoff;
     }
 
     /**
@@ -103,6 +175,34 @@ public class DynamoDBMapperWrapper {
         return pojo;
     }
 
+    /**
+     * Creates or updates an item in DynamoDB with a single call to
+     * {@link AmazonDynamoDB#updateItem(UpdateItemRequest)}, and returns the item as it
+     * appears after the update. The table name is resolved from the given class,
+     * unless the request already specifies one. Requests with {@link ReturnValue#NONE}
+     * return nothing, which saves reading back large items.
+     *
+     * @param pojo              the class to update, corresponding to a DynamoDB table
+     * @param updateItemRequest the key, update expression, and optional condition expression
+     * @param <T>               the type of the object being returned
+     * @return the item with all of its attributes, as they are after the update, or null if
+     *     the request returns no values
+     * @throws ConditionalCheckFailedException if the condition expression of the request was not met
+     * @see AmazonDynamoDB#updateItem(UpdateItemRequest)
+     */
+    public <T> T update(Class<T> pojo, UpdateItemRequest updateItemRequest) {
+        if (updateItemRequest.getTableName() == null) {
+            updateItemRequest.setTableName(tableName(pojo));
+        }
+        if (ReturnValue.NONE.toString().equals(updateItemRequest.getReturnValues())) {
+            client.updateItem(updateItemRequest);
+            return null;
+        }
+        updateItemRequest.setReturnValues(ReturnValue.ALL_NEW);
+
+        return getTableModel(pojo).unconvert(client.updateItem(updateItemRequest).getAttributes());
+    }
+
     /**
      * Returns an Optional of an item from DynamoDB, or an empty Optional if a matching item wasn't found.
      * Under the hood, the DynamoDBMapper being delegated to uses {@link AmazonDynamoDB#getItem(GetItemRequest)}.
@@ -257,6 +357,137 @@ public class DynamoDBMapperWrapper {
         return mapper.queryPage(pojo, queryExpression, config);
     }
 
+    /**
+     * Queries a DynamoDB table and returns a single page of matching results, like
+     * {@link #queryPage(Class, DynamoDBQueryExpression)}, but holds the page as DynamoDB returned it,
+     * converting each item to an object only as it is read from the results, without keeping it.
+     * Only key condition and filter expressions are supported, not the legacy hash key values and
+     * conditions.
+     *
+     * @param pojo            the class to query, corresponding to a DynamoDB table
+     * @param queryExpression details on how to run the query and filter results
+     * @param <T>             the type of the objects being returned
+     * @return a page of results, converted as they are read
+     * @see AmazonDynamoDB#query(QueryRequest)
+     */
+    public <T> QueryResultPage<T> queryPageLazily(Class<T> pojo, DynamoDBQueryExpression<T> queryExpression) {
+        if (queryExpression.getKeyConditionExpression() == null) {
+            throw new IllegalArgumentException("queryExpression must have a key condition expression.");
+        }
+        final DynamoDBMapperTableModel<T> model = getTableModel(pojo);
+        final QueryResult result = client.query(queryRequest(pojo, queryExpression)
+                .withExpressionAttributeNames(queryExpression.getExpressionAttributeNames()));
+
+        final QueryResultPage<T> page = new QueryResultPage<>();
+        page.setResults(result.getItems() == null
+                        ? Collections.emptyList()
+                        : Lists.transform(result.getItems(), model::unconvert));
+        page.setLastEvaluatedKey(result.getLastEvaluatedKey());
+        page.setCount(result.getCount());
+        page.setScannedCount(result.getScannedCount());
+        page.setConsumedCapacity(result.getConsumedCapacity());
+        return page;
+    }
+
+    /**
+     * Queries a DynamoDB table, reading only the given attributes of each matching item. Pages are
+     * only queried as the stream is consumed, and no objects are created for the items. Only key
+     * condition and filter expressions are supported, not the legacy hash key values and conditions.
+     *
+     * @param pojo            the class to query, corresponding to a DynamoDB table
+     * @param queryExpression details on how to run the query and filter results
+     * @param attributeNames  the names of the attributes to read
+     * @param <T>             the type of the class
+     * @return a lazily loaded stream of the requested attributes of each item
+     * @see AmazonDynamoDB#query(QueryRequest)
+     */
+    public <T> Stream<Map<String, AttributeValue>> queryAttributes(Class<T> pojo,
+                                                                   DynamoDBQueryExpression<T> queryExpression,
+                                                                   String... attributeNames) {
+        if (queryExpression.getKeyConditionExpression() == null) {
+            throw new IllegalArgumentException("queryExpression must have a key condition expression.");
+        }
+        if (attributeNames.length == 0) {
+            throw new IllegalArgumentException("attributeNames cannot be empty.");
+        }
+
+        // Placeholders keep attribute names that are reserved words, like "name", usable
+        final Map<String, String> expressionAttributeNames = new HashMap<>();
+        if (queryExpression.getExpressionAttributeNames() != null) {
+            expressionAttributeNames.putAll(queryExpression.getExpressionAttributeNames());
+        }
+        final List<String> projection = new ArrayList<>(attributeNames.length);
+        for (int i = 0; i < attributeNames.length; i++) {
+            expressionAttributeNames.put("#projected" + i, attributeNames[i]);
+            projection.add("#projected" + i);
+        }
+
+        final QueryRequest queryRequest = queryRequest(pojo, queryExpression)
+                .withExpressionAttributeNames(expressionAttributeNames)
+                .withProjectionExpression(String.join(", ", projection));
+
+        final Iterator<Map<String, AttributeValue>> items = new AbstractIterator<Map<String, AttributeValue>>() {
+            private Iterator<Map<String, AttributeValue>> page = Collections.emptyIterator();
+            private boolean lastPage = false;
+
+            @Override
+            protected Map<String, AttributeValue> computeNext() {
+                while (!page.hasNext() && !lastPage) {
+                    final QueryResult result = client.query(queryRequest);
+                    page = result.getItems() == null ? Collections.emptyIterator() : result.getItems().iterator();
+                    queryRequest.setExclusiveStartKey(result.getLastEvaluatedKey());
+                    lastPage = result.getLastEvaluatedKey() == null;
+                }
+                return page.hasNext() ? page.next() : endOfData();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(items, Spliterator.ORDERED), false);
+    }
+
+    /* The request of a query expression, without its attribute names or projection */
+    private <T> QueryRequest queryRequest(Class<T> pojo, DynamoDBQueryExpression<T> queryExpression) {
+        return new QueryRequest()
+                .withTableName(tableName(pojo))
+                .withIndexName(queryExpression.getIndexName())
+                .withKeyConditionExpression(queryExpression.getKeyConditionExpression())
+                .withFilterExpression(queryExpression.getFilterExpression())
+                .withExpressionAttributeValues(queryExpression.getExpressionAttributeValues())
+                .withConsistentRead(queryExpression.isConsistentRead())
+                .withScanIndexForward(queryExpression.isScanIndexForward())
+                .withLimit(queryExpression.getLimit())
+                .withExclusiveStartKey(queryExpression.getExclusiveStartKey());
+    }
+
+    /**
+     * Queries a DynamoDB table, reading only the key of each matching item.
+     * See {@link #queryAttributes(Class, DynamoDBQueryExpression, String...)}.
+     *
+     * @param pojo            the class to query, corresponding to a DynamoDB table
+     * @param queryExpression details on how to run the query and filter results
+     * @param <T>             the type of the class
+     * @return a lazily loaded stream of the key of each item
+     */
+    public <T> Stream<ItemKey> queryKeys(Class<T> pojo, DynamoDBQueryExpression<T> queryExpression) {
+        final DynamoDBMapperTableModel<T> model = getTableModel(pojo);
+        final DynamoDBMapperFieldModel<T, Object> hashKey = model.hashKey();
+        final DynamoDBMapperFieldModel<T, Object> rangeKey = model.rangeKeyIfExists();
+        final String[] keyNames = rangeKey == null
+                                  ? new String[] {hashKey.name()}
+                                  : new String[] {hashKey.name(), rangeKey.name()};
+
+        return queryAttributes(pojo, queryExpression, keyNames).map(item -> itemKeyOf(model, item));
+    }
+
+    /* Unconverts the key attributes of an item, so numbers DynamoDB has normalized still compare equal */
+    private static <T> ItemKey itemKeyOf(DynamoDBMapperTableModel<T> model, Map<String, AttributeValue> item) {
+        final DynamoDBMapperFieldModel<T, Object> hashKey = model.hashKey();
+        final DynamoDBMapperFieldModel<T, Object> rangeKey = model.rangeKeyIfExists();
+        return rangeKey == null
+               ? ItemKey.of(hashKey.unconvert(item.get(hashKey.name())))
+               : ItemKey.of(hashKey.unconvert(item.get(hashKey.name())),
+                            rangeKey.unconvert(item.get(rangeKey.name())));
+    }
+
     /**
      * Scans a DynamoDB table and returns the matching results in an unmodifiable list.
      * Under the hood, the DynamoDBMapper being delegated to uses
@@ -393,6 +624,177 @@ public class DynamoDBMapperWrapper {
         return pojo;
     }
 
+    /**
+     * Loads the items with the given keys from a single table. See {@link #batchLoad(Map)}.
+     *
+     * @param pojo the class to load, corresponding to a DynamoDB table
+     * @param keys the keys of the items to load, any number of them
+     * @param <T>  the type of the objects being returned
+     * @return an unmodifiable map of the requested keys to the items found
+     * @see AmazonDynamoDB#batchGetItem(BatchGetItemRequest)
+     */
+    public <T> Map<ItemKey, T> batchLoad(Class<T> pojo, Iterable<ItemKey> keys) {
+        return batchLoad(Collections.singletonMap(pojo, keys)).get(pojo);
+    }
+
+    /**
+     * Loads the items with the given keys from one or more tables. See {@link #batchLoad(Map, int)}.
+     * Up to {@value #DEFAULT_MAX_BATCH_GETS_IN_FLIGHT} batches are loaded at a time.
+     *
+     * @param keys the keys of the items to load, grouped by the class of the items
+     * @return the items found
+     * @throws SdkClientException if some keys were still unprocessed after the last retry
+     */
+    public BatchLoadResult batchLoad(Map<Class<?>, ? extends Iterable<ItemKey>> keys) {
+        return batchLoad(keys, DEFAULT_MAX_BATCH_GETS_IN_FLIGHT);
+    }
+
+    /**
+     * Loads the items with the given keys from one or more tables. The keys are split into
+     * {@link AmazonDynamoDB#batchGetItem(BatchGetItemRequest)} requests of at most 100 keys,
+     * which are run concurrently, with no more than the given number of batches in flight.
+     * The calling thread runs batches too. Keys DynamoDB leaves unprocessed are retried with
+     * jittered exponential backoff. Keys that do not match an item are absent from the result.
+     *
+     * @param keys               the keys of the items to load, grouped by the class of the items
+     * @param maxBatchesInFlight the maximum number of batches to load at the same time
+     * @return the items found
+     * @throws SdkClientException if some keys were still unprocessed after the last retry
+     * @see AmazonDynamoDB#batchGetItem(BatchGetItemRequest)
+     */
+    public BatchLoadResult batchLoad(Map<Class<?>, ? extends Iterable<ItemKey>> keys, int maxBatchesInFlight) {
+        if (maxBatchesInFlight < 1) {
+            throw new IllegalArgumentException("maxBatchesInFlight cannot be less than 1.");
+        }
+        final Map<String, Class<?>> classes = new HashMap<>();
+        // The requested keys, by the keys DynamoDB returns them as
+        final Map<String, Map<ItemKey, ItemKey>> requestedKeys = new HashMap<>();
+        final List<Map<String, KeysAndAttributes>> batches = new ArrayList<>();
+        Map<String, KeysAndAttributes> batch = new HashMap<>();
+        int batchSize = 0;
+
+        for (Map.Entry<Class<?>, ? extends Iterable<ItemKey>> entry : keys.entrySet()) {
+            final String tableName = tableName(entry.getKey());
+            final DynamoDBMapperTableModel<?> model = getTableModel(entry.getKey());
+            final Map<ItemKey, ItemKey> tableKeys = new HashMap<>();
+            classes.put(tableName, entry.getKey());
+            requestedKeys.put(tableName, tableKeys);
+
+            for (ItemKey itemKey : entry.getValue()) {
+                final Map<String, AttributeValue> key = model.convertKey(itemKey.getHashKey(), itemKey.getRangeKey());
+                // DynamoDB rejects a batch that requests the same key twice
+                if (tableKeys.putIfAbsent(itemKeyOf(model, key), itemKey) == null) {
+                    batch.computeIfAbsent(tableName, name -> new KeysAndAttributes().withKeys(new ArrayList<>()))
+                            .getKeys().add(key);
+                    if (++batchSize == MAX_ITEMS_PER_BATCH_GET) {
+                        batches.add(batch);
+                        batch = new HashMap<>();
+                        batchSize = 0;
+                    }
+                }
+            }
+        }
+        if (batchSize > 0) {
+            batches.add(batch);
+        }
+
+        final List<Map<String, List<Map<String, AttributeValue>>>> responses =
+                runConcurrently(batches, maxBatchesInFlight, this::batchGet);
+
+        final Map<Class<?>, Map<ItemKey, Object>> items = new HashMap<>();
+        keys.keySet().forEach(pojo -> items.put(pojo, new HashMap<>()));
+        for (Map<String, List<Map<String, AttributeValue>>> response : responses) {
+            response.forEach((tableName, attributes) -> {
+                final DynamoDBMapperTableModel<?> model = getTableModel(classes.get(tableName));
+                final Map<ItemKey, Object> tableItems = items.get(classes.get(tableName));
+                attributes.forEach(item -> tableItems.put(
+                        requestedKeys.get(tableName).get(itemKeyOf(model, item)), model.unconvert(item)));
+            });
+        }
+        return new BatchLoadResult(items);
+    }
+
+    /* Runs a single batch get, retrying any unprocessed keys until there are none left. */
+    private Map<String, List<Map<String, AttributeValue>>> batchGet(Map<String, KeysAndAttributes> requestItems) {
+        final Map<String, List<Map<String, AttributeValue>>> responses = new HashMap<>();
+        Map<String, KeysAndAttributes> unprocessed = requestItems;
+
+        for (int retry = 0; !unprocessed.isEmpty(); retry++) {
+            if (retry > backoff.getMaxRetries()) {
+                throw new SdkClientException(String.format("Unable to load %d keys after %d retries.",
+                        unprocessed.values().stream().mapToInt(keys -> keys.getKeys().size()).sum(), retry - 1));
+            }
+            if (retry > 0) {
+                backoff.pause(retry - 1);
+            }
+
+            final BatchGetItemResult result = client.batchGetItem(
+                    new BatchGetItemRequest().withRequestItems(unprocessed));
+            if (result.getResponses() != null) {
+                result.getResponses().forEach((tableName, items) ->
+                        responses.computeIfAbsent(tableName, name -> new ArrayList<>()).addAll(items));
+            }
+            unprocessed = result.getUnprocessedKeys() == null
+                          ? Collections.emptyMap()
+                          : result.getUnprocessedKeys();
+        }
+        return responses;
+    }
+
+    private static Map<String, AttributeValue> keyOf(DynamoDBMapperTableModel<?> model,
+                                                     Map<String, AttributeValue> item) {
+        final Map<String, AttributeValue> key = new LinkedHashMap<>();
+        model.keys().forEach(field -> key.put(field.name(), item.get(field.name())));
+        return key;
+    }
+
+    /*
+     * Applies the task to each input, on up to maxInFlight threads at a time, and returns the outputs in
+     * order. The calling thread works through the inputs too, and only ever waits for inputs another thread
+     * has already started on. A caller running on the executor's own threads therefore never blocks on a
+     * task stuck in the executor's queue behind it. The first exception thrown by the task is rethrown.
+     */
+    private <I, O> List<O> runConcurrently(List<I> inputs, int maxInFlight, Function<I, O> task) {
+        final Object[] outputs = new Object[inputs.size()];
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        final CountDownLatch done = new CountDownLatch(inputs.size());
+        final Runnable worker = () -> {
+            for (int i = next.getAndIncrement(); i < inputs.size(); i = next.getAndIncrement()) {
+                try {
+                    if (failure.get() == null) {
+                        outputs[i] = task.apply(inputs.get(i));
+                    }
+                }
+                catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+                finally {
+                    done.countDown();
+                }
+            }
+        };
+
+        for (int helper = 1; helper < Math.min(maxInFlight, inputs.size()); helper++) {
+            executor.execute(worker);
+        }
+        worker.run();
+        try {
+            done.await();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SdkClientException("Interrupted while waiting for concurrent batches to complete.", e);
+        }
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        @SuppressWarnings("unchecked")
+        final List<O> results = (List<O>) Arrays.asList(outputs);
+        return results;
+    }
+
     /**
      * Saves and deletes the objects given using one or more calls to the
      * {@link AmazonDynamoDB#batchWriteItem(BatchWriteItemRequest)} API.
@@ -408,4 +810,324 @@ public class DynamoDBMapperWrapper {
                                                        Iterable<?> objectsToDelete) {
         return mapper.batchWrite(objectsToWrite, objectsToDelete);
     }
+
+    /**
+     * Asynchronously saves an item in DynamoDB.
+     *
+     * @param pojo the item to save
+     * @return a future of the item that was saved
+     * @see #save(Object)
+     */
+    public <T> CompletableFuture<T> saveAsync(T pojo) {
+        return CompletableFuture.supplyAsync(() -> save(pojo), executor);
+    }
+
+    /**
+     * Asynchronously saves an item in DynamoDB.
+     *
+     * @param pojo           the item to save
+     * @param saveExpression provides a conditional save
+     * @return a future of the item that was saved
+     * @see #save(Object, DynamoDBSaveExpression)
+     */
+    public <T> CompletableFuture<T> saveAsync(T pojo, DynamoDBSaveExpression saveExpression) {
+        return CompletableFuture.supplyAsync(() -> save(pojo, saveExpression), executor);
+    }
+
+    /**
+     * Asynchronously creates or updates an item in DynamoDB.
+     *
+     * @param pojo              the class to update, corresponding to a DynamoDB table
+     * @param updateItemRequest the key, update expression, and optional condition expression
+     * @param <T>               the type of the object being returned
+     * @return a future of the item, as it is after the update
+     * @see #update(Class, UpdateItemRequest)
+     */
+    public <T> CompletableFuture<T> updateAsync(Class<T> pojo, UpdateItemRequest updateItemRequest) {
+        return CompletableFuture.supplyAsync(() -> update(pojo, updateItemRequest), executor);
+    }
+
+    /**
+     * Asynchronously loads an item from DynamoDB.
+     *
+     * @param keyObject an object of the class to load with the key values to match
+     * @return a future of an Optional of the item
+     * @see #load(Object)
+     */
+    public <T> CompletableFuture<Optional<T>> loadAsync(T keyObject) {
+        return CompletableFuture.supplyAsync(() -> load(keyObject), executor);
+    }
+
+    /**
+     * Asynchronously loads an item from DynamoDB.
+     *
+     * @param pojo    the class to load, corresponding to a DynamoDB table
+     * @param hashKey the key of the item
+     * @return a future of an Optional of the item
+     * @see #load(Class, Object)
+     */
+    public <T> CompletableFuture<Optional<T>> loadAsync(Class<T> pojo, Object hashKey) {
+        return CompletableFuture.supplyAsync(() -> load(pojo, hashKey), executor);
+    }
+
+    /**
+     * Asynchronously loads an item from DynamoDB.
+     *
+     * @param pojo     the class to load, corresponding to a DynamoDB table
+     * @param hashKey  the key of the item
+     * @param rangeKey the range key of the item
+     * @return a future of an Optional of the item
+     * @see #load(Class, Object, Object)
+     */
+    public <T> CompletableFuture<Optional<T>> loadAsync(Class<T> pojo, Object hashKey, Object rangeKey) {
+        return CompletableFuture.supplyAsync(() -> load(pojo, hashKey, rangeKey), executor);
+    }
+
+    /**
+     * Asynchronously queries a DynamoDB table for a single page of matching results.
+     *
+     * @param pojo            the class to query, corresponding to a DynamoDB table
+     * @param queryExpression details on how to run the query and filter results
+     * @param <T>             the type of the objects being returned
+     * @return a future of a page of results
+     * @see #queryPage(Class, DynamoDBQueryExpression)
+     */
+    public <T> CompletableFuture<QueryResultPage<T>> queryPageAsync(Class<T> pojo,
+                                                                    DynamoDBQueryExpression<T> queryExpression) {
+        return CompletableFuture.supplyAsync(() -> queryPage(pojo, queryExpression), executor);
+    }
+
+    /**
+     * Asynchronously scans a DynamoDB table for a single page of results.
+     *
+     * @param pojo           the class to scan, corresponding to a DynamoDB table
+     * @param scanExpression details on how to run the scan and filter results
+     * @param <T>            the type of the objects being returned
+     * @return a future of a page of results
+     * @see #scanPage(Class, DynamoDBScanExpression)
+     */
+    public <T> CompletableFuture<ScanResultPage<T>> scanPageAsync(Class<T> pojo,
+                                                                  DynamoDBScanExpression scanExpression) {
+        return CompletableFuture.supplyAsync(() -> scanPage(pojo, scanExpression), executor);
+    }
+
+    /**
+     * Asynchronously deletes a given item from DynamoDB.
+     *
+     * @param pojo an object of a class corresponding to a DynamoDB table. To be deleted.
+     * @param <T>  the type of the objects being returned
+     * @return a future of the item that was deleted
+     * @see #delete(Object)
+     */
+    public <T> CompletableFuture<T> deleteAsync(T pojo) {
+        return CompletableFuture.supplyAsync(() -> delete(pojo), executor);
+    }
+
+    /**
+     * Asynchronously saves and deletes the objects given.
+     *
+     * @param objectsToWrite  a list of objects to save to DynamoDB.
+     * @param objectsToDelete a list of objects to delete from DynamoDB.
+     * @return a future of a list of failed batches
+     * @see #batchWrite(Iterable, Iterable)
+     */
+    public CompletableFuture<List<DynamoDBMapper.FailedBatch>> batchWriteAsync(Iterable<?> objectsToWrite,
+                                                                            Iterable<?> objectsToDelete) {
+        return CompletableFuture.supplyAsync(() -> batchWrite(objectsToWrite, objectsToDelete), executor);
+    }
+
+    /**
+     * Saves and deletes any number of objects. See {@link #bulkWrite(Iterable, Iterable, int)}.
+     * Up to {@value #DEFAULT_MAX_BATCH_WRITES_IN_FLIGHT} batches are written at a time.
+     *
+     * @param objectsToWrite  objects to save to DynamoDB
+     * @param objectsToDelete objects to delete from DynamoDB
+     * @return the objects that could not be saved or deleted
+     */
+    public BatchWriteResult bulkWrite(Iterable<?> objectsToWrite, Iterable<?> objectsToDelete) {
+        return bulkWrite(objectsToWrite, objectsToDelete, DEFAULT_MAX_BATCH_WRITES_IN_FLIGHT);
+    }
+
+    /**
+     * Saves and deletes any number of objects. The objects are split into batches of 25,
+     * which are written concurrently, with no more than the given number of batches in flight.
+     * The calling thread writes batches too, so this may be called from the executor's own threads.
+     * Items DynamoDB leaves unprocessed, or fails to write due to throttling, are retried
+     * with jittered exponential backoff. The same object should not be both saved and deleted,
+     * since batches are written in no particular order.
+     *
+     * @param objectsToWrite     objects to save to DynamoDB
+     * @param objectsToDelete    objects to delete from DynamoDB
+     * @param maxBatchesInFlight the maximum number of batches to write at the same time
+     * @return the objects that could not be saved or deleted
+     * @see AmazonDynamoDB#batchWriteItem(BatchWriteItemRequest)
+     */
+    public BatchWriteResult bulkWrite(Iterable<?> objectsToWrite, Iterable<?> objectsToDelete, int maxBatchesInFlight) {
+        if (maxBatchesInFlight < 1) {
+            throw new IllegalArgumentException("maxBatchesInFlight cannot be less than 1.");
+        }
+
+        final List<Pair<List<Object>, List<Object>>> batches = new ArrayList<>();
+        Pair<List<Object>, List<Object>> batch = Pair.of(new ArrayList<>(), new ArrayList<>());
+        for (Object object : objectsToWrite) {
+            batch = addToBatch(batches, batch, batch.getLeft(), object);
+        }
+        for (Object object : objectsToDelete) {
+            batch = addToBatch(batches, batch, batch.getRight(), object);
+        }
+        if (!batch.getLeft().isEmpty() || !batch.getRight().isEmpty()) {
+            batches.add(batch);
+        }
+
+        return BatchWriteResult.combine(runConcurrently(batches, maxBatchesInFlight,
+                objects -> writeBatch(objects.getLeft(), objects.getRight())));
+    }
+
+    /* Adds an object to one side of the batch, starting a new batch once the current one is full. */
+    private static Pair<List<Object>, List<Object>> addToBatch(List<Pair<List<Object>, List<Object>>> batches,
+                                                               Pair<List<Object>, List<Object>> batch,
+                                                               List<Object> side,
+                                                               Object object) {
+        side.add(object);
+        if (batch.getLeft().size() + batch.getRight().size() < MAX_ITEMS_PER_BATCH_WRITE) {
+            return batch;
+        }
+        batches.add(batch);
+        return Pair.of(new ArrayList<>(), new ArrayList<>());
+    }
+
+    /* Writes a single batch of at most 25 objects, retrying whatever is left unprocessed. */
+    private BatchWriteResult writeBatch(List<Object> toWrite, List<Object> toDelete) {
+        final List<DynamoDBMapper.FailedBatch> failedBatches = mapper.batchWrite(toWrite, toDelete);
+        if (failedBatches.isEmpty()) {
+            return new BatchWriteResult(Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+        }
+
+        final List<Exception> exceptions = new ArrayList<>();
+        final Map<String, List<WriteRequest>> failed = new HashMap<>();
+        final Map<String, List<WriteRequest>> retryable = new HashMap<>();
+        for (DynamoDBMapper.FailedBatch failedBatch : failedBatches) {
+            if (isRetryable(failedBatch.getException())) {
+                addAll(retryable, failedBatch.getUnprocessedItems());
+            }
+            else {
+                exceptions.add(failedBatch.getException());
+                addAll(failed, failedBatch.getUnprocessedItems());
+            }
+        }
+
+        Map<String, List<WriteRequest>> unprocessed = retryable;
+
+        for (int retry = 0; !unprocessed.isEmpty() && retry < backoff.getMaxRetries(); retry++) {
+            backoff.pause(retry);
+            try {
+                final BatchWriteItemResult result = client.batchWriteItem(
+                        new BatchWriteItemRequest().withRequestItems(unprocessed));
+                unprocessed = result.getUnprocessedItems() == null
+                              ? Collections.emptyMap()
+                              : result.getUnprocessedItems();
+            }
+            catch (SdkClientException e) {
+                // Client side failures, e.g. timeouts, are not retried, but fail this batch's objects only
+                if (!isRetryable(e)) {
+                    exceptions.add(e);
+                    break;
+                }
+            }
+        }
+        addAll(failed, unprocessed);
+
+        return failedObjects(failed, toWrite, toDelete, exceptions);
+    }
+
+    /* Maps the write requests that failed back to the objects they were created from. */
+    private BatchWriteResult failedObjects(Map<String, List<WriteRequest>> failed,
+                                           List<Object> toWrite,
+                                           List<Object> toDelete,
+                                           List<Exception> exceptions) {
+        final Map<String, Class<?>> classes = new HashMap<>();
+        final Map<Pair<String, Map<String, AttributeValue>>, Object> writes = new HashMap<>();
+        final Map<Pair<String, Map<String, AttributeValue>>, Object> deletes = new HashMap<>();
+        toWrite.forEach(object -> writes.put(keyOf(object, classes), object));
+        toDelete.forEach(object -> deletes.put(keyOf(object, classes), object));
+
+        final List<Object> failedWrites = new ArrayList<>();
+        final List<Object> failedDeletes = new ArrayList<>();
+        failed.forEach((tableName, requests) -> requests.forEach(request -> {
+            if (request.getPutRequest() != null) {
+                final DynamoDBMapperTableModel<?> model = getTableModel(classes.get(tableName));
+                failedWrites.add(writes.get(Pair.of(tableName, keyOf(model, request.getPutRequest().getItem()))));
+            }
+            else {
+                failedDeletes.add(deletes.get(Pair.of(tableName, request.getDeleteRequest().getKey())));
+            }
+        }));
+        return new BatchWriteResult(failedWrites, failedDeletes, exceptions);
+    }
+
+    private static void addAll(Map<String, List<WriteRequest>> to, Map<String, List<WriteRequest>> from) {
+        from.forEach((tableName, requests) ->
+                to.computeIfAbsent(tableName, name -> new ArrayList<>()).addAll(requests));
+    }
+
+    private static boolean isRetryable(Exception exception) {
+        return exception == null
+                || exception instanceof SdkBaseException
+                && (RetryUtils.isThrottlingException((SdkBaseException) exception)
+                || RetryUtils.isRetryableServiceException((SdkBaseException) exception));
+    }
+
+    /* Returns the table name and key of an object, remembering which class the table belongs to. */
+    @SuppressWarnings("unchecked")
+    private Pair<String, Map<String, AttributeValue>> keyOf(Object pojo, Map<String, Class<?>> classes) {
+        final String tableName = tableName(pojo.getClass());
+        classes.put(tableName, pojo.getClass());
+        return Pair.of(tableName, ((DynamoDBMapperTableModel<Object>) getTableModel(pojo.getClass())).convertKey(pojo));
+    }
+
+    /**
+     * Returns the table model the DynamoDBMapper uses for the given class. The model can convert
+     * keys and attributes to and from {@link AttributeValue}s exactly as the mapper would.
+     *
+     * @param pojo the class corresponding to a DynamoDB table
+     * @param <T>  the type of the class
+     * @return the table model of the class
+     * @see IDynamoDBMapper#getTableModel(Class)
+     */
+    public <T> DynamoDBMapperTableModel<T> getTableModel(Class<T> pojo) {
+        return mapper.getTableModel(pojo);
+    }
+
+    /**
+     * Opens a connection to DynamoDB ahead of the first real request, by reading an item of the
+     * given class that is not expected to exist. This pays for the TLS handshake, request signing
+     * and the loading of the client's classes up front. A connection left idle, or captured in a
+     * snapshot of the process, is validated and replaced by the client before it is used again.
+     *
+     * @param pojo the class corresponding to a DynamoDB table that may be read
+     * @param <T>  the type of the class
+     * @see AmazonDynamoDB#getItem(GetItemRequest)
+     */
+    public <T> void primeConnection(Class<T> pojo) {
+        final Map<String, AttributeValue> key = new HashMap<>();
+        for (DynamoDBMapperFieldModel<T, Object> field : getTableModel(pojo).keys()) {
+            key.put(field.name(), primingValue(field.attributeType()));
+        }
+        client.getItem(new GetItemRequest(tableName(pojo), key));
+    }
+
+    private static AttributeValue primingValue(DynamoDBMapperFieldModel.DynamoDBAttributeType type) {
+        switch (type) {
+            case N:
+                return new AttributeValue().withN("0");
+            case B:
+                return new AttributeValue().withB(ByteBuffer.wrap(PRIMING_KEY.getBytes(StandardCharsets.UTF_8)));
+            default:
+                return new AttributeValue(PRIMING_KEY);
+        }
+    }
+
+    private static String tableName(Class<?> pojo) {
+        return DynamoDBMapperConfig.DefaultTableNameResolver.INSTANCE.getTableName(pojo, DynamoDBMapperConfig.DEFAULT);
+    }
 }
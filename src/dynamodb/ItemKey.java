@@ -0,0 +1,63 @@
+package dynamodb;
+
+import java.util.Objects;
+
+/**
+ * The primary key of a DynamoDB item, namely its hash key and, if the table has one, its range key.
+ */
+public class ItemKey {
+
+    private final Object hashKey;
+    private final Object rangeKey;
+
+    private ItemKey(Object hashKey, Object rangeKey) {
+        this.hashKey = Objects.requireNonNull(hashKey, "hashKey cannot be null.");
+        this.rangeKey = rangeKey;
+    }
+
+    /**
+     * Returns the key of an item in a table without a range key.
+     *
+     * @param hashKey the hash key of the item
+     * @return an ItemKey
+     */
+    public static ItemKey of(Object hashKey) {
+        return new ItemKey(hashKey, null);
+    }
+
+    /**
+     * Returns the key of an item in a table with a range key.
+     *
+     * @param hashKey  the hash key of the item
+     * @param rangeKey the range key of the item
+     * @return an ItemKey
+     */
+    public static ItemKey of(Object hashKey, Object rangeKey) {
+        return new ItemKey(hashKey, Objects.requireNonNull(rangeKey, "rangeKey cannot be null."));
+    }
+
+    public Object getHashKey() {
+        return hashKey;
+    }
+
+    public Object getRangeKey() {
+        return rangeKey;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ItemKey
+                && Objects.equals(hashKey, ((ItemKey) other).hashKey)
+                && Objects.equals(rangeKey, ((ItemKey) other).rangeKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(hashKey, rangeKey);
+    }
+
+    @Override
+    public String toString() {
+        return rangeKey == null ? "{" + hashKey + "}" : "{" + hashKey + ", " + rangeKey + "}";
+    }
+}
@@ -0,0 +1,53 @@
+package dynamodb;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.handlers.RequestHandler2;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+
+/**
+ * Sets the timeout of each attempt at a DynamoDB request by the kind of operation, unless the
+ * request sets its own. Single item operations normally take a few milliseconds, so a slow attempt
+ * is better abandoned and retried early, while queries, scans and batches may read or write up to a
+ * megabyte per request and are given longer.
+ *
+ * @see AmazonWebServiceRequest#setSdkRequestTimeout(int)
+ */
+public class OperationTimeouts extends RequestHandler2 {
+
+    private final int itemTimeoutMillis;
+    private final int bulkTimeoutMillis;
+
+    /**
+     * Constructs OperationTimeouts.
+     *
+     * @param itemTimeoutMillis the timeout of requests reading or writing a single item
+     * @param bulkTimeoutMillis the timeout of queries, scans and batch requests
+     */
+    public OperationTimeouts(int itemTimeoutMillis, int bulkTimeoutMillis) {
+        if (itemTimeoutMillis < 1 || bulkTimeoutMillis < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid timeouts. {itemTimeoutMillis: %d, bulkTimeoutMillis: %d}",
+                    itemTimeoutMillis, bulkTimeoutMillis));
+        }
+        this.itemTimeoutMillis = itemTimeoutMillis;
+        this.bulkTimeoutMillis = bulkTimeoutMillis;
+    }
+
+    @Override
+    public AmazonWebServiceRequest beforeExecution(AmazonWebServiceRequest request) {
+        if (request.getSdkRequestTimeout() == null) {
+            request.setSdkRequestTimeout(isBulk(request) ? bulkTimeoutMillis : itemTimeoutMillis);
+        }
+        return request;
+    }
+
+    private static boolean isBulk(AmazonWebServiceRequest request) {
+        return request instanceof QueryRequest
+                || request instanceof ScanRequest
+                || request instanceof BatchGetItemRequest
+                || request instanceof BatchWriteItemRequest;
+    }
+}
@@ -0,0 +1,110 @@
+package movie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * An immutable, in-memory catalog of the movies that are not adult movies, grouped by
+ * mostFrequentGenre and, within each genre, by mostFrequentKeyword, with each group sorted by
+ * rating descending. Keywords are matched by substring, so looking one up scans the genre's
+ * distinct keywords; there is no index of the terms within titles or keywords.
+ */
+public class MovieCatalog {
+
+    public static final Comparator<Movie> RATING_DESCENDING = Comparator.comparing(Movie::getImdbRating,
+            Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private static final Movie[] NO_MOVIES = new Movie[0];
+
+    /* Each genre's movies, by rating descending */
+    private final Map<String, Movie[]> moviesByGenre;
+    /* Each genre's movies by mostFrequentKeyword, by rating descending */
+    private final Map<String, Map<String, Movie[]>> moviesByGenreAndKeyword;
+    private final int size;
+
+    private MovieCatalog(Map<String, Movie[]> moviesByGenre,
+                         Map<String, Map<String, Movie[]>> moviesByGenreAndKeyword) {
+        this.moviesByGenre = moviesByGenre;
+        this.moviesByGenreAndKeyword = moviesByGenreAndKeyword;
+        this.size = moviesByGenre.values().stream().mapToInt(movies -> movies.length).sum();
+    }
+
+    /**
+     * Builds a MovieCatalog of the given movies, leaving out adult movies and movies without a genre.
+     *
+     * @param movies the movies to catalog
+     * @return a MovieCatalog
+     */
+    public static MovieCatalog of(Iterable<Movie> movies) {
+        final Map<String, List<Movie>> byGenre = new HashMap<>();
+        for (Movie movie : movies) {
+            if (!Boolean.TRUE.equals(movie.getIsAdult()) && movie.getMostFrequentGenre() != null) {
+                byGenre.computeIfAbsent(movie.getMostFrequentGenre(), genre -> new ArrayList<>()).add(movie);
+            }
+        }
+
+        final Map<String, Movie[]> moviesByGenre = new HashMap<>();
+        final Map<String, Map<String, Movie[]>> moviesByGenreAndKeyword = new HashMap<>();
+        byGenre.forEach((genre, genreMovies) -> {
+            genreMovies.sort(RATING_DESCENDING);
+            moviesByGenre.put(genre, genreMovies.toArray(NO_MOVIES));
+            // Grouping keeps each keyword's movies in rating order
+            moviesByGenreAndKeyword.put(genre, genreMovies.stream()
+                    .filter(movie -> movie.getMostFrequentKeyword() != null)
+                    .collect(Collectors.groupingBy(Movie::getMostFrequentKeyword,
+                            Collectors.collectingAndThen(Collectors.toList(), list -> list.toArray(NO_MOVIES)))));
+        });
+        return new MovieCatalog(moviesByGenre, moviesByGenreAndKeyword);
+    }
+
+    /**
+     * Lists the movies with the given mostFrequentGenre, sorted by rating descending.
+     *
+     * @param mostFrequentGenre the most frequent genre
+     * @return an unmodifiable list of movies
+     */
+    public List<Movie> listMovies(String mostFrequentGenre) {
+        return Collections.unmodifiableList(Arrays.asList(moviesByGenre.getOrDefault(mostFrequentGenre, NO_MOVIES)));
+    }
+
+    /**
+     * Lists the movies with the given mostFrequentGenre whose mostFrequentKeyword contains the
+     * given keyword, sorted by rating descending. Each of the genre's distinct keywords is scanned,
+     * rather than each of its movies.
+     *
+     * @param mostFrequentGenre the most frequent genre
+     * @param keyword           the keyword to look for within each mostFrequentKeyword
+     * @return an unmodifiable list of movies
+     */
+    public List<Movie> listMovies(String mostFrequentGenre, String keyword) {
+        final List<Movie[]> matches = new ArrayList<>();
+        moviesByGenreAndKeyword.getOrDefault(mostFrequentGenre, Collections.emptyMap()).forEach((key, movies) -> {
+            if (key.contains(keyword)) {
+                matches.add(movies);
+            }
+        });
+
+        if (matches.size() == 1) {
+            return Collections.unmodifiableList(Arrays.asList(matches.get(0)));
+        }
+        final List<Movie> merged = new ArrayList<>();
+        matches.forEach(movies -> merged.addAll(Arrays.asList(movies)));
+        merged.sort(RATING_DESCENDING);
+        return Collections.unmodifiableList(merged);
+    }
+
+    /**
+     * Returns the number of movies in the catalog.
+     *
+     * @return the number of movies
+     */
+    public int size() {
+        return size;
+    }
+}
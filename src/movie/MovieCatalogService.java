@@ -0,0 +1,92 @@
+package movie;
+
+import cache.RefreshingValue;
+import com.google.common.base.Ticker;
+import com.google.common.collect.Iterators;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import org.apache.log4j.Logger;
+
+/**
+ * Keeps a MovieCatalog of the whole movie table in memory, for as long as the container lives.
+ * The catalog is loaded in the background the first time it is asked for, and reloaded in the
+ * background once it is older than the refresh period plus a random jitter of up to a fifth of it,
+ * so that containers started together do not scan the table at the same time. Readers are never
+ * blocked: they get the current catalog, if any, which is swapped for the new one atomically once
+ * it is fully built. The catalog holds at most a maximum number of movies, leaving out the rest of
+ * the table.
+ *
+ * <p>Loading scans the whole movie table, a bounded page at a time, so it should be given an
+ * executor of its own rather than the one fanning out requests. The container is frozen between
+ * invocations, so a load in progress pauses with it and carries on at the next one.
+ */
+public class MovieCatalogService {
+
+    public static final int DEFAULT_REFRESH_SECONDS = 900;
+    public static final int DEFAULT_MAX_SIZE = 50000;
+    public static final int DEFAULT_SCAN_PAGE_SIZE = 1000;
+
+    private final Logger log = Logger.getLogger(MovieCatalogService.class);
+    private final MovieDAO movieDAO;
+    private final int maxSize;
+    private final int scanPageSize;
+    private final RefreshingValue<MovieCatalog> catalog;
+
+    /**
+     * Constructs a MovieCatalogService.
+     *
+     * @param movieDAO       the movie DAO
+     * @param executor       runs the loading of the catalog
+     * @param refreshSeconds the number of seconds after which the catalog is reloaded
+     * @param maxSize        the maximum number of movies the catalog holds
+     * @param scanPageSize   the maximum number of items evaluated by each request scanning the movie table
+     */
+    public MovieCatalogService(MovieDAO movieDAO,
+                               Executor executor,
+                               long refreshSeconds,
+                               int maxSize,
+                               int scanPageSize) {
+        this(movieDAO, executor, refreshSeconds, maxSize, scanPageSize, Ticker.systemTicker());
+    }
+
+    MovieCatalogService(MovieDAO movieDAO,
+                        Executor executor,
+                        long refreshSeconds,
+                        int maxSize,
+                        int scanPageSize,
+                        Ticker ticker) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize cannot be less than 1.");
+        }
+        if (scanPageSize < 1) {
+            throw new IllegalArgumentException("scanPageSize cannot be less than 1.");
+        }
+        this.movieDAO = movieDAO;
+        this.maxSize = maxSize;
+        this.scanPageSize = scanPageSize;
+        this.catalog = new RefreshingValue<>("movie catalog", this::load, executor, refreshSeconds,
+                refreshSeconds / 5, ticker);
+    }
+
+    /**
+     * Returns the current catalog, starting to load a new one in the background if it is
+     * missing or out of date.
+     *
+     * @return an Optional of the MovieCatalog, empty until the first one has been loaded
+     */
+    public Optional<MovieCatalog> current() {
+        return catalog.get();
+    }
+
+    private MovieCatalog load() {
+        final Iterator<Movie> movies = movieDAO.listAllMovies(scanPageSize).iterator();
+        final MovieCatalog loaded = MovieCatalog.of(() -> Iterators.limit(movies, maxSize));
+        if (movies.hasNext()) {
+            log.warn(String.format("The movie catalog is capped at %d movies, the rest of the movie table is left out.",
+                    maxSize));
+        }
+        log.info(String.format("Loaded a movie catalog of %d movies.", loaded.size()));
+        return loaded;
+    }
+}
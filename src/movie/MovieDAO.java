@@ -1,27 +1,54 @@
 package movie;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.google.common.collect.ImmutableMap;
 import dynamodb.DynamoDBMapperWrapper;
+import dynamodb.ItemKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
+import org.apache.log4j.Logger;
 
 /**
  * Retrieves movies from DynamoDB.
  */
 public class MovieDAO {
 
+    public static final int DEFAULT_MAX_GENRE_QUERIES_IN_FLIGHT = 4;
+
     private static final int MAX_MOVIES_RETRIEVED = 500;
 
+    private final Logger log = Logger.getLogger(MovieDAO.class);
     private final DynamoDBMapperWrapper mapper;
+    private final int maxGenreQueriesInFlight;
 
     public MovieDAO(DynamoDBMapperWrapper mapper) {
+        this(mapper, DEFAULT_MAX_GENRE_QUERIES_IN_FLIGHT);
+    }
+
+    /**
+     * Constructs a MovieDAO.
+     *
+     * @param mapper                  the DynamoDB mapper
+     * @param maxGenreQueriesInFlight the maximum number of genres to query at the same time,
+     *                                when fetching the top rated movie of several genres
+     */
+    public MovieDAO(DynamoDBMapperWrapper mapper, int maxGenreQueriesInFlight) {
+        if (maxGenreQueriesInFlight < 1) {
+            throw new IllegalArgumentException("maxGenreQueriesInFlight cannot be less than 1.");
+        }
         this.mapper = mapper;
+        this.maxGenreQueriesInFlight = maxGenreQueriesInFlight;
     }
 
     /**
@@ -34,6 +61,31 @@ public class MovieDAO {
         return mapper.load(Movie.class, imdbId);
     }
 
+    /**
+     * Asynchronously fetch a movie by its imdbId.
+     *
+     * @param imdbId the imdbId of the movie to retrieve
+     * @return a future of an Optional of the Movie with the specified imdbId
+     */
+    public CompletableFuture<Optional<Movie>> fetchAsync(String imdbId) {
+        return mapper.loadAsync(Movie.class, imdbId);
+    }
+
+    /**
+     * Fetch the movies with the given imdbIds, with as few batch reads as possible.
+     *
+     * @param imdbIds the imdbIds of the movies to retrieve
+     * @return the movies found, by imdbId
+     */
+    public Map<String, Movie> fetchAll(Collection<String> imdbIds) {
+        final List<ItemKey> keys = imdbIds.stream()
+                .map(ItemKey::of)
+                .collect(Collectors.toList());
+
+        return mapper.batchLoad(Movie.class, keys).values().stream()
+                .collect(Collectors.toMap(Movie::getImdbId, movie -> movie));
+    }
+
     /**
      * List movies with the given mostFrequentGenre. Movies are sorted by rating descending.
      * Up to 500 results are retrieved.
@@ -60,11 +112,30 @@ public class MovieDAO {
     }
 
     /**
-     * Fetch the top rated movies, all with random genres.
+     * List every movie that is not an adult movie. The table is scanned a page at a time, as the
+     * returned list is iterated, each page evaluating at most the given number of items so that a
+     * single request does not use up the table's read capacity.
+     *
+     * @param pageSize the maximum number of items evaluated by each scan request
+     * @return a lazily loaded list of movies
+     */
+    public List<Movie> listAllMovies(int pageSize) {
+        final DynamoDBScanExpression scanExpression = new DynamoDBScanExpression()
+                .withLimit(pageSize)
+                .withFilterExpression("isAdult = :false")
+                .withExpressionAttributeValues(ImmutableMap.of(":false", new AttributeValue().withBOOL(false)));
+
+        return mapper.scan(Movie.class, scanExpression);
+    }
+
+    /**
+     * Fetch the top rated movies, all with random genres. Each genre is queried separately,
+     * with a bounded number of queries in flight at a time. Genres whose query fails are left out.
      *
      * @param max the maximum number to fetch, result may contain less
      *     than this amount
      * @return a list of movies
+     * @throws RuntimeException the first of the failures, if every genre's query failed
      */
     public List<Movie> fetchTopRatedMoviesRandomGenres(int max) {
         final List<String> genres = Genre.listGenres().stream()
@@ -72,25 +143,58 @@ public class MovieDAO {
                 .collect(Collectors.toList());
         Collections.shuffle(genres);
 
-        final List<Movie> fetched = new LinkedList<>();
-
-        // For demonstration only. This is very expensive.
-        for (int i = 0; i < max; i++) {
-            final Map<String, AttributeValue> expressionAttributeValues = ImmutableMap.of(
-                    ":mostFrequentGenre", new AttributeValue(genres.get(i))
-            );
+        final int count = Math.min(max, genres.size());
+        final Movie[] fetched = new Movie[count];
+        final Throwable[] failures = new Throwable[count];
 
-            final DynamoDBQueryExpression<Movie> queryExpression = new DynamoDBQueryExpression<Movie>()
-                    .withIndexName(Movie.MOST_FREQUENT_GENRE_TO_IMDB_RATING_INDEX)
-                    .withKeyConditionExpression("mostFrequentGenre = :mostFrequentGenre")
-                    .withExpressionAttributeValues(expressionAttributeValues)
-                    .withLimit(1)
-                    .withConsistentRead(false)
-                    .withScanIndexForward(false);
+        // Each lane queries its share of the genres one after the other
+        final int lanes = Math.min(maxGenreQueriesInFlight, count);
+        final List<CompletableFuture<Void>> results = new ArrayList<>(lanes);
+        for (int lane = 0; lane < lanes; lane++) {
+            CompletableFuture<Void> result = CompletableFuture.completedFuture(null);
+            for (int i = lane; i < count; i += lanes) {
+                final int index = i;
+                result = result
+                        .thenCompose(ignored -> mapper.queryPageAsync(Movie.class, topRatedQuery(genres.get(index))))
+                        .handle((page, e) -> {
+                            if (e != null) {
+                                failures[index] = e instanceof CompletionException && e.getCause() != null
+                                        ? e.getCause()
+                                        : e;
+                                log.warn(String.format("Failed to fetch the top rated %s movie.",
+                                        genres.get(index)), failures[index]);
+                            }
+                            else if (!page.getResults().isEmpty()) {
+                                fetched[index] = page.getResults().get(0);
+                            }
+                            return null;
+                        });
+            }
+            results.add(result);
+        }
+        results.forEach(CompletableFuture::join);
 
-            fetched.addAll(mapper.queryPage(Movie.class, queryExpression)
-                    .getResults());
+        if (count > 0 && Arrays.stream(failures).allMatch(Objects::nonNull)) {
+            throw failures[0] instanceof RuntimeException
+                    ? (RuntimeException) failures[0]
+                    : new CompletionException(failures[0]);
         }
-        return fetched;
+        return Arrays.stream(fetched)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private static DynamoDBQueryExpression<Movie> topRatedQuery(String mostFrequentGenre) {
+        final Map<String, AttributeValue> expressionAttributeValues = ImmutableMap.of(
+                ":mostFrequentGenre", new AttributeValue(mostFrequentGenre)
+        );
+
+        return new DynamoDBQueryExpression<Movie>()
+                .withIndexName(Movie.MOST_FREQUENT_GENRE_TO_IMDB_RATING_INDEX)
+                .withKeyConditionExpression("mostFrequentGenre = :mostFrequentGenre")
+                .withExpressionAttributeValues(expressionAttributeValues)
+                .withLimit(1)
+                .withConsistentRead(false)
+                .withScanIndexForward(false);
     }
 }
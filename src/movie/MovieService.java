@@ -1,19 +1,43 @@
 package movie;
 
+import cache.ReadThroughCache;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.apache.commons.lang3.StringUtils;
 
 /**
- * Manages movies for Amazon Videos.
+ * Manages movies for Amazon Videos. Movies fetched by imdbId are cached, since the catalog
+ * rarely changes.
  */
 public class MovieService {
 
+    public static final int DEFAULT_CACHE_MAXIMUM_SIZE = 10_000;
+    public static final int DEFAULT_CACHE_TTL_SECONDS = 300;
+    public static final int DEFAULT_CACHE_NEGATIVE_TTL_SECONDS = 30;
+
     private final MovieDAO movieDAO;
+    private final ReadThroughCache<String, Movie> movieCache;
 
     public MovieService(MovieDAO movieDAO) {
+        this(movieDAO, DEFAULT_CACHE_MAXIMUM_SIZE, DEFAULT_CACHE_TTL_SECONDS, DEFAULT_CACHE_NEGATIVE_TTL_SECONDS);
+    }
+
+    /**
+     * Constructs a MovieService.
+     *
+     * @param movieDAO                the movie DAO
+     * @param cacheMaximumSize        the maximum number of imdbIds, found or not, to cache
+     * @param cacheTtlSeconds         the number of seconds after which a cached movie is fetched again
+     * @param cacheNegativeTtlSeconds the number of seconds after which an unknown imdbId is looked up again
+     */
+    public MovieService(MovieDAO movieDAO, long cacheMaximumSize, long cacheTtlSeconds, long cacheNegativeTtlSeconds) {
         this.movieDAO = movieDAO;
+        this.movieCache = new ReadThroughCache<>("movies", movieDAO::fetch, cacheMaximumSize, cacheTtlSeconds,
+                cacheNegativeTtlSeconds);
     }
 
     /**
@@ -23,11 +47,36 @@ public class MovieService {
      * @return an Optional of the Movie with the specified imdbId
      */
     public Optional<Movie> fetch(String imdbId) {
+        return movieCache.get(validImdbId(imdbId));
+    }
+
+    /**
+     * Asynchronously fetch a movie by its imdbId.
+     *
+     * @param imdbId the imdbId of the movie to retrieve
+     * @return a future of an Optional of the Movie with the specified imdbId
+     */
+    public CompletableFuture<Optional<Movie>> fetchAsync(String imdbId) {
+        return movieCache.getAsync(validImdbId(imdbId), movieDAO::fetchAsync);
+    }
+
+    /**
+     * Fetch the movies with the given imdbIds, reading those not cached with one batch read.
+     *
+     * @param imdbIds the imdbIds of the movies to retrieve
+     * @return the movies found, by imdbId
+     */
+    public Map<String, Movie> fetchAll(Collection<String> imdbIds) {
+        imdbIds.forEach(this::validImdbId);
+        return movieCache.getAll(imdbIds, movieDAO::fetchAll);
+    }
+
+    private String validImdbId(String imdbId) {
         if (StringUtils.isBlank(imdbId)) {
             final String message = String.format("Cannot look up movie by invalid imdbId. {imdbId: %s}", imdbId);
             throw new IllegalArgumentException(message);
         }
-        return movieDAO.fetch(imdbId);
+        return imdbId;
     }
 
     /**
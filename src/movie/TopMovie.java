@@ -1,22 +1,18 @@
 package movie;
 
-import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
-import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBRangeKey;
-import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBDocument;
 import java.util.Objects;
 
 /**
- * A top movie within Amazon Videos.
+ * A top movie within Amazon Videos, stored within a {@link TopMovieSnapshot}.
  */
-@DynamoDBTable(tableName = "...")
+@DynamoDBDocument
 public class TopMovie {
 
-    @DynamoDBHashKey
     private String imdbId;
 
     private String title;
 
-    @DynamoDBRangeKey
     private Double imdbRating;
 
     private String mostFrequentGenre;
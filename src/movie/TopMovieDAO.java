@@ -1,17 +1,19 @@
 package movie;
 
-import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
 import dynamodb.DynamoDBMapperWrapper;
 import java.util.List;
-
-import org.apache.commons.lang3.tuple.Pair;
+import java.util.Optional;
 
 /**
- * Stores, retrieves, and deletes top movies from DynamoDB.
+ * Publishes and retrieves the top movies from DynamoDB, as a single snapshot item.
  */
 public class TopMovieDAO {
 
-    private static final int MAX_MOVIES_RETRIEVED = 10;
+    private static final DynamoDBMapperConfig CONSISTENT_READ = DynamoDBMapperConfig.builder()
+            .withConsistentReads(DynamoDBMapperConfig.ConsistentReads.CONSISTENT)
+            .build();
 
     private final DynamoDBMapperWrapper mapper;
 
@@ -20,32 +22,27 @@ public class TopMovieDAO {
     }
 
     /**
-     * Deletes a list of old top movies and saves a list of new top movies.
+     * Fetch the current snapshot of the top movies, with a consistent read.
      *
-     * @param oldTopMovies a list of old top movies
-     * @param newTopMovies a list of new top movies
-     * @return a Pair, containing the oldTopMovies passed in as the `left`,
-     *     and the newTopMovies passed in as the `right`
+     * @return an Optional of the current TopMovieSnapshot, empty if none has been published
      */
-    public Pair<List<TopMovie>, List<TopMovie>> deleteOldAndSaveNew(
-            List<TopMovie> oldTopMovies, List<TopMovie> newTopMovies) {
-        mapper.batchWrite(newTopMovies, oldTopMovies);
-        return Pair.of(oldTopMovies, newTopMovies);
+    public Optional<TopMovieSnapshot> fetchSnapshot() {
+        return mapper.load(TopMovieSnapshot.class, TopMovieSnapshot.CURRENT, CONSISTENT_READ);
     }
 
     /**
-     * Lists the top movies.
+     * Publishes new top movies, replacing those of the given snapshot in a single write.
      *
-     * @param max the maximum number to list, up to 10.
-     * @return a list of top movies
+     * @param current      the snapshot the new top movies replace, empty if none has been published
+     * @param newTopMovies the new top movies
+     * @return the published snapshot
+     * @throws ConditionalCheckFailedException if another snapshot was published since the current one
      */
-    public List<TopMovie> listTopMovies(int max) {
-        if (max > MAX_MOVIES_RETRIEVED) {
-            throw new IllegalArgumentException("Max cannot be greater than 10.");
-        }
-        final DynamoDBScanExpression scanExpression = new DynamoDBScanExpression()
-                .withLimit(max);
-
-        return mapper.scanPage(TopMovie.class, scanExpression).getResults();
+    public TopMovieSnapshot publish(Optional<TopMovieSnapshot> current, List<TopMovie> newTopMovies)
+            throws ConditionalCheckFailedException {
+        final TopMovieSnapshot snapshot = new TopMovieSnapshot(
+                TopMovieSnapshot.CURRENT, newTopMovies, current.map(TopMovieSnapshot::getVersion).orElse(null));
+
+        return mapper.save(snapshot);
     }
 }
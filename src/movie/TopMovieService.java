@@ -1,8 +1,15 @@
 package movie;
 
+import cache.RefreshingValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.google.common.base.Ticker;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.log4j.Logger;
 
 /**
  * Manages a table of the top Amazon Videos movies.
@@ -10,39 +17,86 @@ import org.apache.commons.lang3.tuple.Pair;
 public class TopMovieService {
 
     public static final int MAX_MOVIES_TO_UPDATE = 10;
+    public static final int DEFAULT_REFRESH_SECONDS = 60;
 
+    private final Logger log = Logger.getLogger(TopMovieService.class);
     private final MovieService movieService;
     private final TopMovieDAO topMovieDAO;
+    private final RefreshingValue<List<TopMovie>> topMovies;
 
-    public TopMovieService(MovieService movieService, TopMovieDAO topMovieDAO) {
+    /**
+     * Constructs a TopMovieService.
+     *
+     * @param movieService   the movie service
+     * @param topMovieDAO    the top movie DAO
+     * @param executor       runs the reloading of the top movies kept in memory
+     * @param refreshSeconds the number of seconds after which the top movies kept in memory are reloaded
+     */
+    public TopMovieService(MovieService movieService, TopMovieDAO topMovieDAO, Executor executor, long refreshSeconds) {
+        this(movieService, topMovieDAO, executor, refreshSeconds, Ticker.systemTicker());
+    }
+
+    TopMovieService(MovieService movieService,
+                    TopMovieDAO topMovieDAO,
+                    Executor executor,
+                    long refreshSeconds,
+                    Ticker ticker) {
         this.movieService = movieService;
         this.topMovieDAO = topMovieDAO;
+        this.topMovies = new RefreshingValue<>("top movies",
+                this::loadTopMovies, executor, refreshSeconds, ticker);
     }
 
     /**
-     * Fetches the current top movies and saves those to the Top Movie table,
-     * while also deleting the now stale top movies from the Top Movie table.
+     * Fetches the current top movies and publishes those as a new snapshot, replacing the
+     * now stale top movies at once.
      *
      * @param max the maximum number to update
      * @return a Pair, containing the old Top Movies as the`left`,
      *     and the new Top Movies as the `right`
+     * @throws ConditionalCheckFailedException if other top movies were published concurrently
      */
-    public Pair<List<TopMovie>, List<TopMovie>> updateTopMovies(int max) {
+    public Pair<List<TopMovie>, List<TopMovie>> updateTopMovies(int max) throws ConditionalCheckFailedException {
         if (max < 0) {
             throw new IllegalArgumentException("Max cannot be less than 0.");
         }
 
-        final List<TopMovie> oldTopMovies = topMovieDAO.listTopMovies(max);
-        final List<TopMovie> newTopMovies = movieService.fetchTopRatedMoviesRandomGenres(max)
+        final Optional<TopMovieSnapshot> current = topMovieDAO.fetchSnapshot();
+        final List<TopMovie> newTopMovies = fetchTopMovies(max);
+
+        topMovieDAO.publish(current, newTopMovies);
+        return Pair.of(current.map(TopMovieSnapshot::getMovies).orElse(Collections.emptyList()), newTopMovies);
+    }
+
+    private List<TopMovie> fetchTopMovies(int max) {
+        return movieService.fetchTopRatedMoviesRandomGenres(max)
                 .stream()
                 .map(TopMovieService::valueOf)
                 .collect(Collectors.toList());
+    }
 
-        return topMovieDAO.deleteOldAndSaveNew(oldTopMovies, newTopMovies);
+    /*
+     * Loads the published top movies. Until the scheduled update first publishes a snapshot, the top movies
+     * are fetched from the movie table instead, and published so later loads find them.
+     */
+    private List<TopMovie> loadTopMovies() {
+        final Optional<TopMovieSnapshot> current = topMovieDAO.fetchSnapshot();
+        if (current.isPresent()) {
+            return current.get().getMovies();
+        }
+        final List<TopMovie> newTopMovies = fetchTopMovies(MAX_MOVIES_TO_UPDATE);
+        try {
+            topMovieDAO.publish(current, newTopMovies);
+        } catch (ConditionalCheckFailedException e) {
+            log.debug("Other top movies were published first.");
+        }
+        return newTopMovies;
     }
 
     /**
-     * Lists the top movies.
+     * Lists the top movies, as kept in memory. They are read from the table only until they
+     * have first been loaded, and are then reloaded in the background as they age. If no top
+     * movies have been published yet, they are fetched from the movie table and published.
      *
      * @param max the maximum number to list. The naturally returned size is ~10.
      * @return a list of top movies
@@ -51,7 +105,11 @@ public class TopMovieService {
         if (max < 0) {
             throw new IllegalArgumentException("Max cannot be less than 0.");
         }
-        return topMovieDAO.listTopMovies(max);
+        return topMovies.get()
+                .orElseGet(this::loadTopMovies)
+                .stream()
+                .limit(max)
+                .collect(Collectors.toList());
     }
 
     /**
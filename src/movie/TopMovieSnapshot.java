@@ -0,0 +1,88 @@
+package movie;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBAutoGenerateStrategy;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBAutoGeneratedTimestamp;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBVersionAttribute;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The published list of top movies within Amazon Videos. The whole list is a single item, so
+ * it is replaced at once and read with one GetItem. Its version is checked and incremented on
+ * each save, so of two concurrent updates only the first is published.
+ */
+@DynamoDBTable(tableName = "...")
+public class TopMovieSnapshot {
+
+    public static final String CURRENT = "current";
+
+    @DynamoDBHashKey
+    private String id;
+
+    private List<TopMovie> movies;
+
+    @DynamoDBVersionAttribute
+    private Long version;
+
+    @DynamoDBAutoGeneratedTimestamp(strategy = DynamoDBAutoGenerateStrategy.ALWAYS)
+    private Calendar publishedAt;
+
+    public TopMovieSnapshot() {}
+
+    /**
+     * Constructs a TopMovieSnapshot.
+     */
+    public TopMovieSnapshot(String id, List<TopMovie> movies, Long version) {
+        this.id = id;
+        this.movies = movies;
+        this.version = version;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public List<TopMovie> getMovies() {
+        return movies;
+    }
+
+    public void setMovies(List<TopMovie> movies) {
+        this.movies = movies;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Calendar getPublishedAt() {
+        return publishedAt;
+    }
+
+    public void setPublishedAt(Calendar publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof TopMovieSnapshot
+                && Objects.equals(id, ((TopMovieSnapshot) other).id)
+                && Objects.equals(movies, ((TopMovieSnapshot) other).movies)
+                && Objects.equals(version, ((TopMovieSnapshot) other).version);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, movies, version);
+    }
+}
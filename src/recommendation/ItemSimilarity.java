@@ -0,0 +1,149 @@
+package recommendation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Computes the similarity of each pair of movies liked by the same users, keeping the most
+ * similar movies to each movie. Each movie is given a dense int index as it is first seen, and
+ * every like is stored as an int in a flat array grouped by user, so memory grows by about 8
+ * bytes per like. Co-occurrences are counted one movie at a time into a reused int array, so
+ * the pairs are never materialized.
+ */
+public final class ItemSimilarity {
+
+    /**
+     * Measures how similar two movies are from the number of users liking each and both.
+     */
+    public enum Metric {
+        /* Cosine similarity of the movies' binary vectors of users */
+        COSINE {
+            @Override
+            double similarity(int both, int first, int second) {
+                return both / Math.sqrt((double) first * second);
+            }
+        },
+        /* The users liking both, over the users liking either */
+        JACCARD {
+            @Override
+            double similarity(int both, int first, int second) {
+                return (double) both / (first + second - both);
+            }
+        };
+
+        abstract double similarity(int both, int first, int second);
+    }
+
+    private final Map<String, Integer> movieIndexes = new HashMap<>();
+    private final List<String> imdbIds = new ArrayList<>();
+    /* The movie indexes each user likes, the user's first at userOffsets[user] */
+    private int[] likes = new int[1024];
+    private int likeCount;
+    private int[] userOffsets = new int[256];
+    private int userCount;
+
+    /**
+     * Adds a user, given the movies the user likes.
+     *
+     * @param likedImdbIds the imdbIds of the movies the user likes, without duplicates
+     */
+    public void addUser(Collection<String> likedImdbIds) {
+        if (likeCount + likedImdbIds.size() > likes.length) {
+            likes = Arrays.copyOf(likes, Math.max(likes.length * 2, likeCount + likedImdbIds.size()));
+        }
+        if (userCount + 1 == userOffsets.length) {
+            userOffsets = Arrays.copyOf(userOffsets, userOffsets.length * 2);
+        }
+        for (String imdbId : likedImdbIds) {
+            likes[likeCount++] = movieIndexes.computeIfAbsent(imdbId, id -> {
+                imdbIds.add(id);
+                return imdbIds.size() - 1;
+            });
+        }
+        userOffsets[++userCount] = likeCount;
+    }
+
+    /**
+     * Computes the most similar movies to each movie liked by a user along with another, and
+     * passes them to the consumer one movie at a time.
+     *
+     * @param maxSimilar the maximum number of similar movies to keep for each movie
+     * @param metric     the measure of similarity
+     * @param consumer   the consumer of each movie's similar movies
+     */
+    public void computeSimilarMovies(int maxSimilar, Metric metric, Consumer<SimilarMovies> consumer) {
+        final int movieCount = imdbIds.size();
+
+        // Invert the likes into the users of each movie, with a counting sort
+        final int[] likers = new int[movieCount];
+        for (int i = 0; i < likeCount; i++) {
+            likers[likes[i]]++;
+        }
+        final int[] movieOffsets = new int[movieCount + 1];
+        for (int movie = 0; movie < movieCount; movie++) {
+            movieOffsets[movie + 1] = movieOffsets[movie] + likers[movie];
+        }
+        final int[] movieUsers = new int[likeCount];
+        final int[] next = Arrays.copyOf(movieOffsets, movieCount);
+        for (int user = 0; user < userCount; user++) {
+            for (int i = userOffsets[user]; i < userOffsets[user + 1]; i++) {
+                movieUsers[next[likes[i]]++] = user;
+            }
+        }
+
+        final int[] both = new int[movieCount];
+        final int[] touched = new int[movieCount];
+        for (int movie = 0; movie < movieCount; movie++) {
+            int touchedCount = 0;
+            for (int i = movieOffsets[movie]; i < movieOffsets[movie + 1]; i++) {
+                final int user = movieUsers[i];
+                for (int j = userOffsets[user]; j < userOffsets[user + 1]; j++) {
+                    final int other = likes[j];
+                    if (other != movie && both[other]++ == 0) {
+                        touched[touchedCount++] = other;
+                    }
+                }
+            }
+            if (touchedCount == 0) {
+                continue;
+            }
+
+            final TopK<String> similar = new TopK<>(maxSimilar);
+            for (int i = 0; i < touchedCount; i++) {
+                final int other = touched[i];
+                similar.offer(imdbIds.get(other), metric.similarity(both[other], likers[movie], likers[other]));
+                both[other] = 0;
+            }
+            final List<String> similarImdbIds = new ArrayList<>(similar.size());
+            final List<Double> similarities = new ArrayList<>(similar.size());
+            similar.forEach((imdbId, similarity) -> {
+                similarImdbIds.add(imdbId);
+                similarities.add(similarity);
+            });
+            consumer.accept(new SimilarMovies(imdbIds.get(movie), similarImdbIds, similarities));
+        }
+    }
+
+    /**
+     * Returns the number of users added.
+     *
+     * @return the number of users
+     */
+    public int getUserCount() {
+        return userCount;
+    }
+
+    /**
+     * Returns the number of distinct movies liked by the users added.
+     *
+     * @return the number of movies
+     */
+    public int getMovieCount() {
+        return imdbIds.size();
+    }
+}
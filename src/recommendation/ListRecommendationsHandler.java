@@ -4,13 +4,18 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.google.common.annotations.VisibleForTesting;
 import config.AppConfig;
 import exceptions.UserNotFoundException;
 import java.util.List;
+import movie.Movie;
+import movie.TopMovie;
+import movie.TopMovieSnapshot;
 import org.apache.http.HttpStatus;
 import org.apache.log4j.Logger;
+import review.Review;
+import user.User;
 
 /**
  * Handles listing movie recommendations for an Amazon Videos user.
@@ -22,8 +27,17 @@ public class ListRecommendationsHandler
 
     private final Logger log = Logger.getLogger(ListRecommendationsHandler.class);
     private final AppConfig appConfig = new AppConfig();
-    private final ObjectMapper mapper = appConfig.getObjectMapper();
-    private final RecommendationService service = appConfig.getRecommendationService();
+    private final ObjectWriter writer = AppConfig.getRecommendationsWriter();
+    private final UserRecommendationsService service = appConfig.getUserRecommendationsService();
+
+    /**
+     * Constructs a ListRecommendationsHandler, priming what it needs ahead of its first request.
+     */
+    public ListRecommendationsHandler() {
+        appConfig.primeTables(UserRecommendations.class, User.class, Review.class, Movie.class,
+                TopMovieSnapshot.class, SimilarMovies.class);
+        AppConfig.primeJson(RecommendedMovie.class, Movie.class, TopMovie.class);
+    }
 
     /**
      * Handles a Lambda Function request.
@@ -39,15 +53,15 @@ public class ListRecommendationsHandler
 
     @VisibleForTesting
     APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input,
-                                               RecommendationService recommendationService) {
+                                               UserRecommendationsService userRecommendationsService) {
         final String userId = input.getPathParameters().get("userId");
 
         try {
             final List<?> response =
-                    recommendationService.listRecommendations(userId);
+                    userRecommendationsService.listRecommendations(userId);
 
             return new APIGatewayProxyResponseEvent()
-                    .withBody(mapper.writeValueAsString(response))
+                    .withBody(writer.writeValueAsString(response))
                     .withStatusCode(HttpStatus.SC_OK);
         }
         catch (UserNotFoundException e) {
@@ -0,0 +1,82 @@
+package recommendation;
+
+import apigateway.ProxyStreams;
+import apigateway.ResponseCompression;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.annotations.VisibleForTesting;
+import config.AppConfig;
+import exceptions.UserNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import movie.Movie;
+import movie.TopMovie;
+import movie.TopMovieSnapshot;
+import org.apache.http.HttpStatus;
+import org.apache.log4j.Logger;
+import review.Review;
+import user.User;
+
+/**
+ * Handles listing movie recommendations for an Amazon Videos user, like
+ * {@link ListRecommendationsHandler}, but writes the movies straight into the proxy response as
+ * they are serialized, without first building the whole body as a String.
+ */
+public class ListRecommendationsStreamHandler implements RequestStreamHandler {
+
+    private static final String MESSAGE = "{\"message\" : \"%s\"}";
+
+    private final Logger log = Logger.getLogger(ListRecommendationsStreamHandler.class);
+    private final AppConfig appConfig = new AppConfig();
+    private final ObjectWriter writer = AppConfig.getRecommendationsWriter();
+    private final ResponseCompression compression = AppConfig.getResponseCompression();
+    private final UserRecommendationsService service = appConfig.getUserRecommendationsService();
+
+    /**
+     * Constructs a ListRecommendationsStreamHandler, priming what it needs ahead of its first request.
+     */
+    public ListRecommendationsStreamHandler() {
+        appConfig.primeTables(UserRecommendations.class, User.class, Review.class, Movie.class,
+                TopMovieSnapshot.class, SimilarMovies.class);
+        AppConfig.primeJson(RecommendedMovie.class, Movie.class, TopMovie.class);
+    }
+
+    /**
+     * Handles a Lambda Function request.
+     *
+     * @param input   The Lambda Function input stream
+     * @param output  The Lambda Function output stream
+     * @param context The Lambda execution environment context object.
+     * @throws IOException if the request could not be read, or the response written
+     */
+    @Override
+    public void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
+        handleRequest(ProxyStreams.readRequest(input, AppConfig.getObjectMapper()), output, service);
+    }
+
+    @VisibleForTesting
+    void handleRequest(APIGatewayProxyRequestEvent input,
+                       OutputStream output,
+                       UserRecommendationsService userRecommendationsService) throws IOException {
+        final String userId = input.getPathParameters().get("userId");
+
+        try {
+            final List<?> response = userRecommendationsService.listRecommendations(userId);
+
+            ProxyStreams.writeResponse(output, HttpStatus.SC_OK, writer, response, compression, input.getHeaders());
+        }
+        catch (UserNotFoundException e) {
+            log.warn(String.format("The requested user {%s} could not be found.", userId), e);
+            ProxyStreams.writeResponse(output, HttpStatus.SC_NOT_FOUND, String.format(MESSAGE, e.getMessage()));
+        }
+        catch (Exception e) {
+            log.error("Internal service error: Unable to list recommendations.", e);
+            ProxyStreams.writeResponse(output, HttpStatus.SC_INTERNAL_SERVER_ERROR,
+                    String.format(MESSAGE, "Internal service error.  Please try again."));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package recommendation;
+
+import movie.Movie;
+
+/**
+ * Scores a candidate movie for recommendation to a user, given the movie the recommendations are
+ * based on. Higher scores are better.
+ */
+@FunctionalInterface
+public interface MovieScorer {
+
+    /**
+     * Scores a candidate movie.
+     *
+     * @param candidate  the movie that may be recommended
+     * @param fromReview the movie the user reviewed, which the recommendations are based on
+     * @return the score of the candidate
+     */
+    double score(Movie candidate, Movie fromReview);
+
+    /**
+     * Returns a scorer adding the given scorer's score, multiplied by the weight, to this one's.
+     *
+     * @param other  the other scorer
+     * @param weight the weight of the other scorer's score
+     * @return a combined scorer
+     */
+    default MovieScorer plus(MovieScorer other, double weight) {
+        return (candidate, fromReview) ->
+                score(candidate, fromReview) + weight * other.score(candidate, fromReview);
+    }
+
+    /**
+     * Scores movies by their IMDb rating. Movies without a rating score 0.
+     *
+     * @return a scorer
+     */
+    static MovieScorer rating() {
+        return (candidate, fromReview) -> candidate.getImdbRating() == null ? 0 : candidate.getImdbRating();
+    }
+
+    /**
+     * Scores movies by their release year, so that newer movies come first. Movies without a
+     * release year score 0.
+     *
+     * @return a scorer
+     */
+    static MovieScorer recency() {
+        return (candidate, fromReview) -> candidate.getReleaseYear() == null ? 0 : candidate.getReleaseYear();
+    }
+
+    /**
+     * Scores movies by how closely their most frequent keyword matches that of the reviewed movie:
+     * the fraction of the candidate's keyword made up by the reviewed movie's keyword, so that an
+     * exact match scores 1 and a non-match scores 0.
+     *
+     * @return a scorer
+     */
+    static MovieScorer keywordMatch() {
+        return (candidate, fromReview) -> {
+            final String keyword = fromReview.getMostFrequentKeyword();
+            final String candidateKeyword = candidate.getMostFrequentKeyword();
+            if (keyword == null || candidateKeyword == null || !candidateKeyword.contains(keyword)) {
+                return 0;
+            }
+            return candidateKeyword.isEmpty() ? 1 : (double) keyword.length() / candidateKeyword.length();
+        };
+    }
+
+    /**
+     * Returns the scorer with the given name: "rating", "recency" or "keywordMatch" for the
+     * scorers above, or "ratingAndKeywordMatch" for rating plus twice keywordMatch.
+     *
+     * @param name the name of the scorer
+     * @return a scorer
+     * @throws IllegalArgumentException if no scorer has the given name
+     */
+    static MovieScorer of(String name) {
+        switch (name) {
+            case "rating":
+                return rating();
+            case "recency":
+                return recency();
+            case "keywordMatch":
+                return keywordMatch();
+            case "ratingAndKeywordMatch":
+                return rating().plus(keywordMatch(), 2);
+            default:
+                throw new IllegalArgumentException("Unknown scorer: " + name);
+        }
+    }
+}
@@ -1,17 +1,21 @@
 package recommendation;
 
 import exceptions.UserNotFoundException;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import movie.Movie;
+import movie.MovieCatalogService;
 import movie.MovieService;
 import movie.TopMovie;
 import movie.TopMovieService;
 import review.Review;
 import review.ReviewService;
+import review.SeenMovies;
 
 /**
  * Manages listing movie recommendations for an Amazon Videos user.
@@ -19,20 +23,45 @@ import review.ReviewService;
 public class RecommendationService {
 
     public static final int MAX_RECOMMENDATIONS = 10;
+    /* The name of the scorer ranking candidate movies by default, see MovieScorer.of */
+    public static final String DEFAULT_SCORER = "recency";
 
     private final MovieService movieService;
     private final ReviewService reviewService;
     private final TopMovieService topMovieService;
+    private final MovieCatalogService movieCatalogService;
+    private final SimilarMoviesService similarMoviesService;
+    private final MovieScorer scorer;
 
     /**
-     * Manages reviews for Amazon Videos.
+     * Manages reviews for Amazon Videos, recommending movies similar to the user's latest
+     * favorite first, then the most recent movies sharing the latest favorite's genre and keyword.
      */
     public RecommendationService(MovieService movieService,
                                  ReviewService reviewService,
-                                 TopMovieService topMovieService) {
+                                 TopMovieService topMovieService,
+                                 MovieCatalogService movieCatalogService,
+                                 SimilarMoviesService similarMoviesService) {
+        this(movieService, reviewService, topMovieService, movieCatalogService, similarMoviesService,
+                MovieScorer.of(DEFAULT_SCORER));
+    }
+
+    /**
+     * Manages reviews for Amazon Videos, recommending movies similar to the user's latest
+     * favorite first, then the highest scoring movies sharing the latest favorite's genre and keyword.
+     */
+    public RecommendationService(MovieService movieService,
+                                 ReviewService reviewService,
+                                 TopMovieService topMovieService,
+                                 MovieCatalogService movieCatalogService,
+                                 SimilarMoviesService similarMoviesService,
+                                 MovieScorer scorer) {
         this.movieService = movieService;
         this.reviewService = reviewService;
         this.topMovieService = topMovieService;
+        this.movieCatalogService = movieCatalogService;
+        this.similarMoviesService = similarMoviesService;
+        this.scorer = scorer;
     }
 
     /**
@@ -50,23 +79,56 @@ public class RecommendationService {
     }
 
     private List<Movie> generateRecommendations(Review review) throws UserNotFoundException {
-        final Movie fromReview = movieService.fetch(review.getImdbId()).get();
-        final String mostFrequentGenre = fromReview.getMostFrequentGenre();
-        final String mostFrequentKeyword = fromReview.getMostFrequentKeyword();
-        final Set<String> alreadySeen = reviewedMovies(review.getUserId());
-        final Comparator<Movie> releaseYearDescending =
-                Comparator.comparingInt(Movie::getReleaseYear).reversed();
+        // The movie is fetched while the reviewed movies are being listed
+        final CompletableFuture<Optional<Movie>> movieFromReview = movieService.fetchAsync(review.getImdbId());
+        final SeenMovies alreadySeen = reviewService.fetchSeenMovies(review.getUserId());
+
+        final List<Movie> recommendations = listSimilarMovies(review, alreadySeen);
+        if (recommendations.size() == MAX_RECOMMENDATIONS) {
+            return recommendations;
+        }
 
-        return movieService.listMovies(mostFrequentGenre).stream()
-                .filter(movie -> !alreadySeen.contains(movie.getImdbId()))
-                .filter(movie -> movie.getMostFrequentKeyword().contains(mostFrequentKeyword))
+        final Set<String> recommended = recommendations.stream()
+                .map(Movie::getImdbId)
+                .collect(Collectors.toSet());
+        final Movie fromReview = movieFromReview.join().get();
+        final TopK<Movie> sameGenre = new TopK<>(MAX_RECOMMENDATIONS - recommendations.size());
+        for (Movie candidate : listCandidates(fromReview.getMostFrequentGenre(), fromReview.getMostFrequentKeyword())) {
+            if (!alreadySeen.contains(candidate.getImdbId()) && !recommended.contains(candidate.getImdbId())) {
+                sameGenre.offer(candidate, scorer.score(candidate, fromReview));
+            }
+        }
+        recommendations.addAll(sameGenre.toList());
+        return recommendations;
+    }
+
+    /**
+     * Lists the movies most similar to the user's latest favorite, fetched with one batch read.
+     * Adult movies are left out, as they are from the other candidates, before the top ones are
+     * taken.
+     */
+    private List<Movie> listSimilarMovies(Review latestFavorite, SeenMovies alreadySeen) {
+        final List<String> similarImdbIds = similarMoviesService.listSimilarMovies(
+                Collections.singleton(latestFavorite.getImdbId()), alreadySeen,
+                SimilarMoviesService.MAX_SIMILAR_MOVIES);
+        final Map<String, Movie> movies = movieService.fetchAll(similarImdbIds);
+        return similarImdbIds.stream()
+                .map(movies::get)
+                .filter(movie -> movie != null && !Boolean.TRUE.equals(movie.getIsAdult()))
                 .limit(MAX_RECOMMENDATIONS)
-                .sorted(releaseYearDescending)
                 .collect(Collectors.toList());
     }
 
-    private Set<String> reviewedMovies(String userId) throws UserNotFoundException {
-        return reviewService.listReviewedMovies(userId);
+    /**
+     * Lists the movies of the genre whose keyword contains the given one, from the in-memory
+     * catalog when it has been loaded, and from the movie table otherwise.
+     */
+    private List<Movie> listCandidates(String mostFrequentGenre, String mostFrequentKeyword) {
+        return movieCatalogService.current()
+                .map(catalog -> catalog.listMovies(mostFrequentGenre, mostFrequentKeyword))
+                .orElseGet(() -> movieService.listMovies(mostFrequentGenre).stream()
+                        .filter(movie -> movie.getMostFrequentKeyword().contains(mostFrequentKeyword))
+                        .collect(Collectors.toList()));
     }
 
     private List<TopMovie> listTopMovies(int max) {
@@ -0,0 +1,136 @@
+package recommendation;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBDocument;
+import java.util.Objects;
+import movie.Movie;
+import movie.TopMovie;
+
+/**
+ * A movie recommended to a user, as stored with the rest of the user's recommendations.
+ * It has the same properties as a {@link Movie}, so it is listed the same way.
+ */
+@DynamoDBDocument
+public class RecommendedMovie {
+
+    private String imdbId;
+
+    private String title;
+
+    private Double imdbRating;
+
+    private String mostFrequentGenre;
+
+    private String mostFrequentKeyword;
+
+    private Boolean isAdult;
+
+    private Integer releaseYear;
+
+    public RecommendedMovie() {}
+
+    /**
+     * Constructs a RecommendedMovie.
+     */
+    public RecommendedMovie(String imdbId,
+                            String title,
+                            Double imdbRating,
+                            String mostFrequentGenre,
+                            String mostFrequentKeyword,
+                            Boolean isAdult,
+                            Integer releaseYear) {
+        this.imdbId = imdbId;
+        this.title = title;
+        this.imdbRating = imdbRating;
+        this.mostFrequentGenre = mostFrequentGenre;
+        this.mostFrequentKeyword = mostFrequentKeyword;
+        this.isAdult = isAdult;
+        this.releaseYear = releaseYear;
+    }
+
+    /**
+     * Returns a RecommendedMovie representation of a recommendation, either a {@code Movie}
+     * or a {@code TopMovie}.
+     *
+     * @param recommendation a {@code Movie} or a {@code TopMovie}
+     * @return the RecommendedMovie representation of the given recommendation
+     */
+    public static RecommendedMovie valueOf(Object recommendation) {
+        if (recommendation instanceof TopMovie) {
+            final TopMovie movie = (TopMovie) recommendation;
+            return new RecommendedMovie(movie.getImdbId(), movie.getTitle(), movie.getImdbRating(),
+                    movie.getMostFrequentGenre(), movie.getMostFrequentKeyword(), movie.getIsAdult(),
+                    movie.getReleaseYear());
+        }
+        final Movie movie = (Movie) recommendation;
+        return new RecommendedMovie(movie.getImdbId(), movie.getTitle(), movie.getImdbRating(),
+                movie.getMostFrequentGenre(), movie.getMostFrequentKeyword(), movie.getIsAdult(),
+                movie.getReleaseYear());
+    }
+
+    public String getImdbId() {
+        return imdbId;
+    }
+
+    public void setImdbId(String imdbId) {
+        this.imdbId = imdbId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public Double getImdbRating() {
+        return imdbRating;
+    }
+
+    public void setImdbRating(Double imdbRating) {
+        this.imdbRating = imdbRating;
+    }
+
+    public String getMostFrequentGenre() {
+        return mostFrequentGenre;
+    }
+
+    public void setMostFrequentGenre(String mostFrequentGenre) {
+        this.mostFrequentGenre = mostFrequentGenre;
+    }
+
+    public String getMostFrequentKeyword() {
+        return mostFrequentKeyword;
+    }
+
+    public void setMostFrequentKeyword(String mostFrequentKeyword) {
+        this.mostFrequentKeyword = mostFrequentKeyword;
+    }
+
+    public Boolean getIsAdult() {
+        return isAdult;
+    }
+
+    public void setIsAdult(Boolean isAdult) {
+        this.isAdult = isAdult;
+    }
+
+    public Integer getReleaseYear() {
+        return releaseYear;
+    }
+
+    public void setReleaseYear(Integer releaseYear) {
+        this.releaseYear = releaseYear;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof RecommendedMovie
+                && Objects.equals(imdbId, (((RecommendedMovie) other).imdbId));
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(imdbId);
+    }
+}
@@ -0,0 +1,83 @@
+package recommendation;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBAutoGenerateStrategy;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBAutoGeneratedTimestamp;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The movies most similar to a movie, judged by the users who liked both. The similar movies
+ * are listed most similar first, each with its similarity at the same position in similarities.
+ */
+@DynamoDBTable(tableName = "...")
+public class SimilarMovies {
+
+    @DynamoDBHashKey
+    private String imdbId;
+
+    private List<String> similarImdbIds;
+
+    private List<Double> similarities;
+
+    @DynamoDBAutoGeneratedTimestamp(strategy = DynamoDBAutoGenerateStrategy.ALWAYS)
+    private Calendar computedAt;
+
+    public SimilarMovies() {}
+
+    /**
+     * Constructs a SimilarMovies.
+     */
+    public SimilarMovies(String imdbId, List<String> similarImdbIds, List<Double> similarities) {
+        this.imdbId = imdbId;
+        this.similarImdbIds = similarImdbIds;
+        this.similarities = similarities;
+    }
+
+    public String getImdbId() {
+        return imdbId;
+    }
+
+    public void setImdbId(String imdbId) {
+        this.imdbId = imdbId;
+    }
+
+    public List<String> getSimilarImdbIds() {
+        return similarImdbIds;
+    }
+
+    public void setSimilarImdbIds(List<String> similarImdbIds) {
+        this.similarImdbIds = similarImdbIds;
+    }
+
+    public List<Double> getSimilarities() {
+        return similarities;
+    }
+
+    public void setSimilarities(List<Double> similarities) {
+        this.similarities = similarities;
+    }
+
+    public Calendar getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(Calendar computedAt) {
+        this.computedAt = computedAt;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof SimilarMovies
+                && Objects.equals(imdbId, ((SimilarMovies) other).imdbId)
+                && Objects.equals(similarImdbIds, ((SimilarMovies) other).similarImdbIds)
+                && Objects.equals(similarities, ((SimilarMovies) other).similarities);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(imdbId, similarImdbIds, similarities);
+    }
+}
@@ -0,0 +1,84 @@
+package recommendation;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import dynamodb.BatchWriteResult;
+import dynamodb.DynamoDBMapperWrapper;
+import dynamodb.ItemKey;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Stores and retrieves the movies most similar to each movie from DynamoDB.
+ */
+public class SimilarMoviesDAO {
+
+    private final DynamoDBMapperWrapper mapper;
+
+    public SimilarMoviesDAO(DynamoDBMapperWrapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Fetch the similar movies of each of the given movies, with one batch read.
+     *
+     * @param imdbIds the imdbIds of the movies
+     * @return the similar movies of those movies that have any
+     */
+    public Collection<SimilarMovies> fetchAll(Collection<String> imdbIds) {
+        final List<ItemKey> keys = imdbIds.stream()
+                .map(ItemKey::of)
+                .collect(Collectors.toList());
+
+        return mapper.batchLoad(SimilarMovies.class, keys).values();
+    }
+
+    /**
+     * Saves the similar movies of each movie, replacing any saved before.
+     *
+     * @param similarMovies the similar movies of each movie
+     * @throws SdkClientException if any could not be saved
+     */
+    public void saveAll(Collection<SimilarMovies> similarMovies) {
+        final BatchWriteResult result = mapper.bulkWrite(similarMovies, Collections.emptyList());
+        if (!result.isSuccessful()) {
+            throw new SdkClientException("Unable to save similar movies: " + result);
+        }
+    }
+
+    /**
+     * Lists the imdbIds of every movie whose similar movies are saved, reading only the keys.
+     *
+     * @return the imdbIds of the saved movies
+     */
+    public List<String> listImdbIds() {
+        final DynamoDBScanExpression scanExpression = new DynamoDBScanExpression()
+                .withProjectionExpression("imdbId");
+
+        return mapper.scan(SimilarMovies.class, scanExpression, DynamoDBMapperConfig.builder()
+                .withPaginationLoadingStrategy(DynamoDBMapperConfig.PaginationLoadingStrategy.ITERATION_ONLY)
+                .build()).stream()
+                .map(SimilarMovies::getImdbId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Deletes the similar movies saved for each of the given movies.
+     *
+     * @param imdbIds the imdbIds of the movies
+     * @throws SdkClientException if any could not be deleted
+     */
+    public void deleteAll(Collection<String> imdbIds) {
+        final List<SimilarMovies> toDelete = imdbIds.stream()
+                .map(imdbId -> new SimilarMovies(imdbId, null, null))
+                .collect(Collectors.toList());
+
+        final BatchWriteResult result = mapper.bulkWrite(Collections.emptyList(), toDelete);
+        if (!result.isSuccessful()) {
+            throw new SdkClientException("Unable to delete similar movies: " + result);
+        }
+    }
+}
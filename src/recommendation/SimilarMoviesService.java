@@ -0,0 +1,100 @@
+package recommendation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.log4j.Logger;
+import review.Review;
+import review.ReviewDAO;
+import review.ReviewService;
+import review.SeenMovies;
+
+/**
+ * Manages the item-to-item similarity of movies, computed offline from the users who liked
+ * them, and recommends the movies most similar to those a user liked.
+ */
+public class SimilarMoviesService {
+
+    public static final int MAX_SIMILAR_MOVIES = 20;
+
+    private final Logger log = Logger.getLogger(SimilarMoviesService.class);
+    private final ReviewDAO reviewDAO;
+    private final SimilarMoviesDAO similarMoviesDAO;
+
+    public SimilarMoviesService(ReviewDAO reviewDAO, SimilarMoviesDAO similarMoviesDAO) {
+        this.reviewDAO = reviewDAO;
+        this.similarMoviesDAO = similarMoviesDAO;
+    }
+
+    /**
+     * Computes the most similar movies to each movie, by the cosine similarity of the users
+     * rating them as favorites, and saves them. The similar movies saved before for a movie no
+     * longer liked alongside any other are deleted.
+     *
+     * <p>Favorites are grouped by user in memory as they are scanned, as the scan returns them
+     * in no particular order.
+     *
+     * @return the number of movies whose similar movies were saved
+     */
+    public int updateSimilarMovies() {
+        final Map<String, List<String>> likedByUser = new HashMap<>();
+        for (Review favorite : reviewDAO.scanFavorites(ReviewService.MIN_RATING)) {
+            likedByUser.computeIfAbsent(favorite.getUserId(), userId -> new ArrayList<>()).add(favorite.getImdbId());
+        }
+        final ItemSimilarity similarity = new ItemSimilarity();
+        likedByUser.values().forEach(similarity::addUser);
+        log.info(String.format("Computing the similarity of %d movies liked by %d users.",
+                similarity.getMovieCount(), similarity.getUserCount()));
+
+        final List<SimilarMovies> similarMovies = new ArrayList<>();
+        similarity.computeSimilarMovies(MAX_SIMILAR_MOVIES, ItemSimilarity.Metric.COSINE, similarMovies::add);
+        similarMoviesDAO.saveAll(similarMovies);
+
+        final Set<String> saved = similarMovies.stream()
+                .map(SimilarMovies::getImdbId)
+                .collect(Collectors.toSet());
+        final List<String> stale = similarMoviesDAO.listImdbIds().stream()
+                .filter(imdbId -> !saved.contains(imdbId))
+                .collect(Collectors.toList());
+        if (!stale.isEmpty()) {
+            log.info(String.format("Deleting the similar movies of %d movies no longer liked alongside others.",
+                    stale.size()));
+            similarMoviesDAO.deleteAll(stale);
+        }
+        return similarMovies.size();
+    }
+
+    /**
+     * Lists the movies most similar to those given, summing each movie's similarity to every
+     * one of them. Movies already seen are left out.
+     *
+     * @param likedImdbIds the imdbIds of movies the user liked
+     * @param alreadySeen  the movies the user has reviewed
+     * @param max          the maximum number of movies to list
+     * @return the imdbIds of the most similar movies, most similar first
+     */
+    public List<String> listSimilarMovies(Collection<String> likedImdbIds, SeenMovies alreadySeen, int max) {
+        if (likedImdbIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        final Set<String> liked = new HashSet<>(likedImdbIds);
+        final Map<String, Double> similarities = new HashMap<>();
+        for (SimilarMovies similarMovies : similarMoviesDAO.fetchAll(liked)) {
+            for (int i = 0; i < similarMovies.getSimilarImdbIds().size(); i++) {
+                final String imdbId = similarMovies.getSimilarImdbIds().get(i);
+                if (!liked.contains(imdbId) && !alreadySeen.contains(imdbId)) {
+                    similarities.merge(imdbId, similarMovies.getSimilarities().get(i), Double::sum);
+                }
+            }
+        }
+
+        final TopK<String> mostSimilar = new TopK<>(max);
+        similarities.forEach(mostSimilar::offer);
+        return mostSimilar.toList();
+    }
+}
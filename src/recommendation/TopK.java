@@ -0,0 +1,142 @@
+package recommendation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Selects the K highest scoring items from those offered, in a single pass. A min-heap of the best
+ * K items so far is kept in arrays, so each offer is O(log K) and allocates nothing. Between items
+ * with equal scores, the one offered first ranks higher.
+ *
+ * @param <T> the type of the items
+ */
+final class TopK<T> {
+
+    private final Object[] items;
+    private final double[] scores;
+    private final long[] offsets;
+    private int size;
+    private long offered;
+
+    /**
+     * Constructs a TopK.
+     *
+     * @param k the maximum number of items to select
+     */
+    TopK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        this.items = new Object[k];
+        this.scores = new double[k];
+        this.offsets = new long[k];
+    }
+
+    /**
+     * Offers an item, which is kept if it is among the K highest scoring so far.
+     *
+     * @param item  the item
+     * @param score the score of the item
+     */
+    void offer(T item, double score) {
+        final long offset = offered++;
+        if (size < items.length) {
+            set(size, item, score, offset);
+            siftUp(size++);
+        }
+        else if (size > 0 && score > scores[0]) {
+            set(0, item, score, offset);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Returns the selected items, the highest scoring first.
+     *
+     * @return a list of at most K items
+     */
+    List<T> toList() {
+        final List<T> result = new ArrayList<>(size);
+        forEach((item, score) -> result.add(item));
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Passes each selected item and its score to the given consumer, the highest scoring first.
+     *
+     * @param consumer the consumer of the items and their scores
+     */
+    @SuppressWarnings("unchecked")
+    void forEach(ObjDoubleConsumer<T> consumer) {
+        final Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> isWorse(a, b) ? 1 : (isWorse(b, a) ? -1 : 0));
+
+        for (Integer i : order) {
+            consumer.accept((T) items[i], scores[i]);
+        }
+    }
+
+    /**
+     * Returns the number of items selected so far.
+     *
+     * @return at most K
+     */
+    int size() {
+        return size;
+    }
+
+    /* The root of the heap is its worst item: the lowest score, offered last among equals */
+    private boolean isWorse(int a, int b) {
+        return scores[a] < scores[b] || (scores[a] == scores[b] && offsets[a] > offsets[b]);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            final int parent = (i - 1) / 2;
+            if (!isWorse(i, parent)) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            final int left = 2 * i + 1;
+            final int right = left + 1;
+            int worst = i;
+            if (left < size && isWorse(left, worst)) {
+                worst = left;
+            }
+            if (right < size && isWorse(right, worst)) {
+                worst = right;
+            }
+            if (worst == i) {
+                return;
+            }
+            swap(i, worst);
+            i = worst;
+        }
+    }
+
+    private void set(int i, Object item, double score, long offset) {
+        items[i] = item;
+        scores[i] = score;
+        offsets[i] = offset;
+    }
+
+    private void swap(int a, int b) {
+        final Object item = items[a];
+        final double score = scores[a];
+        final long offset = offsets[a];
+        set(a, items[b], scores[b], offsets[b]);
+        set(b, item, score, offset);
+    }
+}
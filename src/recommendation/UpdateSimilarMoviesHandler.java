@@ -0,0 +1,42 @@
+package recommendation;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.ScheduledEvent;
+import com.google.common.annotations.VisibleForTesting;
+import config.AppConfig;
+import org.apache.log4j.Logger;
+
+/**
+ * Handles scheduled events triggered by AWS Lambda by updating the Similar Movies table.
+ */
+public class UpdateSimilarMoviesHandler implements RequestHandler<ScheduledEvent, String> {
+
+    private final Logger log = Logger.getLogger(UpdateSimilarMoviesHandler.class);
+    private final AppConfig appConfig = new AppConfig();
+    private final SimilarMoviesService service = appConfig.getSimilarMoviesService();
+
+    /**
+     * Handles a Lambda Function request.
+     *
+     * @param input The Lambda Function input
+     * @param context The Lambda execution environment context object.
+     * @return The Lambda Function output
+     */
+    @Override
+    public String handleRequest(ScheduledEvent input, Context context) {
+        return handleRequest(service);
+    }
+
+    @VisibleForTesting
+    String handleRequest(SimilarMoviesService similarMoviesService) {
+        try {
+            return String.format("Successful! Similar movies saved for %d movies.",
+                    similarMoviesService.updateSimilarMovies());
+        }
+        catch (Exception e) {
+            log.error("Failed to update the Similar Movies table.", e);
+            return "Failed to update the Similar Movies table.";
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package recommendation;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The movie recommendations last computed for an Amazon Videos user. The reviewsVersion is
+ * incremented, and the movies removed, whenever one of the user's reviews changes, so movies
+ * computed before the change are never saved over it.
+ */
+@DynamoDBTable(tableName = "...")
+public class UserRecommendations {
+
+    @DynamoDBHashKey
+    private String userId;
+
+    private List<RecommendedMovie> movies;
+
+    private Long reviewsVersion;
+
+    private Calendar computedAt;
+
+    public UserRecommendations() {}
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public List<RecommendedMovie> getMovies() {
+        return movies;
+    }
+
+    public void setMovies(List<RecommendedMovie> movies) {
+        this.movies = movies;
+    }
+
+    public Long getReviewsVersion() {
+        return reviewsVersion;
+    }
+
+    public void setReviewsVersion(Long reviewsVersion) {
+        this.reviewsVersion = reviewsVersion;
+    }
+
+    public Calendar getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(Calendar computedAt) {
+        this.computedAt = computedAt;
+    }
+
+    /**
+     * Returns whether the movies were computed since the user's reviews last changed, and
+     * after the given time.
+     *
+     * @param notBeforeMillis the earliest time, in epoch milliseconds, the movies may have been computed
+     * @return whether the movies can be listed as they are
+     */
+    public boolean isFresh(long notBeforeMillis) {
+        return movies != null && computedAt != null && computedAt.getTimeInMillis() >= notBeforeMillis;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof UserRecommendations
+                && Objects.equals(userId, ((UserRecommendations) other).userId)
+                && Objects.equals(movies, ((UserRecommendations) other).movies)
+                && Objects.equals(reviewsVersion, ((UserRecommendations) other).reviewsVersion);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, movies, reviewsVersion);
+    }
+}
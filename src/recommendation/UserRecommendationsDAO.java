@@ -0,0 +1,88 @@
+package recommendation;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.ReturnValue;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import dynamodb.DynamoDBMapperWrapper;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Stores and retrieves each user's precomputed movie recommendations from DynamoDB.
+ */
+public class UserRecommendationsDAO {
+
+    private final DynamoDBMapperWrapper mapper;
+
+    public UserRecommendationsDAO(DynamoDBMapperWrapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Fetch the recommendations stored for a user.
+     *
+     * @param userId the userId of the user
+     * @return an Optional of the UserRecommendations, empty if nothing has been stored for the user
+     */
+    public Optional<UserRecommendations> fetch(String userId) {
+        return mapper.load(UserRecommendations.class, userId);
+    }
+
+    /**
+     * Save the recommendations computed for a user, as long as the user's reviews have not
+     * changed since the given version was read.
+     *
+     * @param userId          the userId of the user
+     * @param movies          the recommended movies
+     * @param reviewsVersion  the reviewsVersion read before computing the movies, null if none was
+     * @throws ConditionalCheckFailedException if the user's reviews have changed since
+     */
+    public void save(String userId, List<RecommendedMovie> movies, Long reviewsVersion)
+            throws ConditionalCheckFailedException {
+        final DynamoDBMapperTableModel<UserRecommendations> model = mapper.getTableModel(UserRecommendations.class);
+        final Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+        expressionAttributeValues.put(":movies", model.field("movies").convert(movies));
+        expressionAttributeValues.put(":now", model.field("computedAt").convert(Calendar.getInstance()));
+        if (reviewsVersion != null) {
+            expressionAttributeValues.put(":reviewsVersion", model.field("reviewsVersion").convert(reviewsVersion));
+        }
+
+        mapper.update(UserRecommendations.class, new UpdateItemRequest()
+                .withKey(model.convertKey(keyOf(userId)))
+                .withUpdateExpression("SET movies = :movies, computedAt = :now")
+                .withConditionExpression(reviewsVersion == null
+                        ? "attribute_not_exists(reviewsVersion)"
+                        : "reviewsVersion = :reviewsVersion")
+                .withExpressionAttributeValues(expressionAttributeValues)
+                .withReturnValues(ReturnValue.NONE));
+    }
+
+    /**
+     * Remove the recommendations stored for a user, and increment the version of the user's
+     * reviews so that recommendations computed beforehand are not saved.
+     *
+     * @param userId the userId of the user
+     */
+    public void invalidate(String userId) {
+        final DynamoDBMapperTableModel<UserRecommendations> model = mapper.getTableModel(UserRecommendations.class);
+        final Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+        expressionAttributeValues.put(":one", model.field("reviewsVersion").convert(1L));
+
+        mapper.update(UserRecommendations.class, new UpdateItemRequest()
+                .withKey(model.convertKey(keyOf(userId)))
+                .withUpdateExpression("ADD reviewsVersion :one REMOVE movies")
+                .withExpressionAttributeValues(expressionAttributeValues)
+                .withReturnValues(ReturnValue.NONE));
+    }
+
+    private static UserRecommendations keyOf(String userId) {
+        final UserRecommendations key = new UserRecommendations();
+        key.setUserId(userId);
+        return key;
+    }
+}
@@ -0,0 +1,99 @@
+package recommendation;
+
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent.DynamodbStreamRecord;
+import exceptions.UserNotFoundException;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.log4j.Logger;
+
+/**
+ * Serves each user's movie recommendations from a single stored item, computing them with the
+ * {@link RecommendationService} when they are missing or stale. The stored recommendations are
+ * invalidated as the user's reviews change on the review table stream, and recomputed when the
+ * user next lists them.
+ */
+public class UserRecommendationsService {
+
+    public static final int DEFAULT_MAX_AGE_SECONDS = 3600;
+
+    private final Logger log = Logger.getLogger(UserRecommendationsService.class);
+    private final RecommendationService recommendationService;
+    private final UserRecommendationsDAO userRecommendationsDAO;
+    private final long maxAgeMillis;
+
+    /**
+     * Constructs a UserRecommendationsService, with recommendations recomputed after an hour
+     * even if the user's reviews have not changed.
+     */
+    public UserRecommendationsService(RecommendationService recommendationService,
+                                      UserRecommendationsDAO userRecommendationsDAO) {
+        this(recommendationService, userRecommendationsDAO, DEFAULT_MAX_AGE_SECONDS);
+    }
+
+    /**
+     * Constructs a UserRecommendationsService.
+     *
+     * @param recommendationService  computes recommendations
+     * @param userRecommendationsDAO stores recommendations
+     * @param maxAgeSeconds          the number of seconds after which recommendations are recomputed,
+     *                               since movies and top movies change independently of reviews
+     */
+    public UserRecommendationsService(RecommendationService recommendationService,
+                                      UserRecommendationsDAO userRecommendationsDAO,
+                                      long maxAgeSeconds) {
+        this.recommendationService = recommendationService;
+        this.userRecommendationsDAO = userRecommendationsDAO;
+        this.maxAgeMillis = TimeUnit.SECONDS.toMillis(maxAgeSeconds);
+    }
+
+    /**
+     * Lists (up to 10) movie recommendations for an Amazon Videos user, as stored if they are
+     * fresh, otherwise as computed now.
+     *
+     * @param userId the userId of the user
+     * @return a list of recommended movies
+     * @throws UserNotFoundException if the user could not be found
+     */
+    public List<?> listRecommendations(String userId) throws UserNotFoundException {
+        final Optional<UserRecommendations> stored = userRecommendationsDAO.fetch(userId);
+        if (stored.isPresent() && stored.get().isFresh(System.currentTimeMillis() - maxAgeMillis)) {
+            return stored.get().getMovies();
+        }
+        return computeAndSave(userId, stored.map(UserRecommendations::getReviewsVersion).orElse(null));
+    }
+
+    /**
+     * Invalidates the stored recommendations of each user whose reviews changed, once per user.
+     * They are recomputed when next listed, so a stream batch costs a single write per user
+     * however many users it touches. Failing to invalidate is rethrown so the records are retried.
+     *
+     * @param records review table stream records
+     */
+    public void project(Collection<DynamodbStreamRecord> records) {
+        records.stream()
+                .map(record -> record.getDynamodb().getKeys().get("userId").getS())
+                .collect(Collectors.toCollection(LinkedHashSet::new))
+                .forEach(userRecommendationsDAO::invalidate);
+    }
+
+    private List<?> computeAndSave(String userId, Long reviewsVersion) throws UserNotFoundException {
+        final List<?> recommendations = recommendationService.listRecommendations(userId);
+        try {
+            userRecommendationsDAO.save(userId, recommendations.stream()
+                    .map(RecommendedMovie::valueOf)
+                    .collect(Collectors.toList()), reviewsVersion);
+        }
+        catch (ConditionalCheckFailedException e) {
+            log.debug(String.format("The reviews of user {%s} changed while computing recommendations.", userId));
+        }
+        catch (RuntimeException e) {
+            log.warn(String.format("Failed to save the recommendations of user {%s}.", userId), e);
+        }
+        return recommendations;
+    }
+}
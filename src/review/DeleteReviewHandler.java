@@ -4,7 +4,7 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.google.common.annotations.VisibleForTesting;
 import config.AppConfig;
 import exceptions.ReviewNotFoundException;
@@ -21,9 +21,16 @@ public class DeleteReviewHandler implements RequestHandler<APIGatewayProxyReques
 
     private final Logger log = Logger.getLogger(DeleteReviewHandler.class);
     private final AppConfig appConfig = new AppConfig();
-    private final ObjectMapper mapper = appConfig.getObjectMapper();
+    private final ObjectWriter writer = AppConfig.getReviewWriter();
     private final ReviewService service = appConfig.getReviewService();
 
+    /**
+     * Constructs a DeleteReviewHandler, priming what it needs ahead of its first request.
+     */
+    public DeleteReviewHandler() {
+        appConfig.primeTables(Review.class);
+    }
+
     /**
      * Handles a Lambda Function request.
      *
@@ -45,7 +52,7 @@ public class DeleteReviewHandler implements RequestHandler<APIGatewayProxyReques
         try {
             final Review reviewResponse = reviewService.delete(userId, imdbId);
             return new APIGatewayProxyResponseEvent()
-                    .withBody(mapper.writeValueAsString(reviewResponse))
+                    .withBody(writer.writeValueAsString(reviewResponse))
                     .withStatusCode(HttpStatus.SC_OK);
         }
         catch (ReviewNotFoundException e) {
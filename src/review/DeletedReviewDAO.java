@@ -1,13 +1,20 @@
 package review;
 
 import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import dynamodb.BatchWriteResult;
 import dynamodb.DynamoDBMapperWrapper;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.log4j.Logger;
 
 /**
  * Stores deleted Amazon Videos reviews to DynamoDB.
  */
 public class DeletedReviewDAO {
 
+    private final Logger log = Logger.getLogger(DeletedReviewDAO.class);
     private final DynamoDBMapperWrapper mapper;
 
     public DeletedReviewDAO(DynamoDBMapperWrapper mapper) {
@@ -24,4 +31,22 @@ public class DeletedReviewDAO {
     public DeletedReview save(DeletedReview review) {
         return mapper.save(review);
     }
+
+    /**
+     * Saves any number of deleted reviews, in batches written concurrently. Unlike
+     * {@link #save(DeletedReview)}, the version is not checked, so saving a deleted review
+     * a second time overwrites it.
+     *
+     * @param reviews the reviews to be saved
+     * @return the reviews that could not be saved
+     */
+    public List<DeletedReview> saveAll(Collection<DeletedReview> reviews) {
+        final BatchWriteResult result = mapper.bulkWrite(reviews, Collections.emptyList());
+        if (!result.isSuccessful()) {
+            log.warn("Unable to save deleted reviews: " + result);
+        }
+        return result.getFailedWrites().stream()
+                .map(DeletedReview.class::cast)
+                .collect(Collectors.toList());
+    }
 }
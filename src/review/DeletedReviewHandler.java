@@ -3,16 +3,24 @@ package review;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent.DynamodbStreamRecord;
 import com.google.common.annotations.VisibleForTesting;
 import config.AppConfig;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.log4j.Logger;
 
 /**
  * Handles writing deleted reviews to the database.
  */
-public class DeletedReviewHandler implements RequestHandler<DynamodbEvent, String> {
+public class DeletedReviewHandler implements RequestHandler<DynamodbEvent, StreamsEventResponse> {
 
     public static final String DELETED_EVENT_NAME = "REMOVE";
 
@@ -20,6 +28,13 @@ public class DeletedReviewHandler implements RequestHandler<DynamodbEvent, Strin
     private final AppConfig appConfig = new AppConfig();
     private final DeletedReviewService service = appConfig.getDeletedReviewService();
 
+    /**
+     * Constructs a DeletedReviewHandler, priming what it needs ahead of its first request.
+     */
+    public DeletedReviewHandler() {
+        appConfig.primeTables(DeletedReview.class);
+    }
+
     /**
      * Handles a Lambda Function request.
      *
@@ -28,27 +43,60 @@ public class DeletedReviewHandler implements RequestHandler<DynamodbEvent, Strin
      * @return The Lambda Function output
      */
     @Override
-    public String handleRequest(DynamodbEvent input, Context context) {
+    public StreamsEventResponse handleRequest(DynamodbEvent input, Context context) {
         return handleRequest(input, service);
     }
 
+    /*
+     * Saving a deleted review is idempotent, since it is keyed by the review and stamped with the time
+     * of its stream record. So only the records that failed are reported, unreadable ones included,
+     * and the stream is retried from the earliest of those.
+     */
     @VisibleForTesting
-    String handleRequest(DynamodbEvent input, DeletedReviewService deletedReviewService) {
+    StreamsEventResponse handleRequest(DynamodbEvent input, DeletedReviewService deletedReviewService) {
+        final List<DynamodbStreamRecord> unreadable = new ArrayList<>();
+        final Map<DeletedReview, DynamodbStreamRecord> records =
+                listDeletedReviews(input, deletedReviewService, unreadable);
+
+        Collection<DeletedReview> failed;
         try {
-            final List<DeletedReview> deletedReviews = listDeletedReviews(input, deletedReviewService);
-            deletedReviews.forEach(deletedReviewService::save);
-            return String.format("%d records were saved.", deletedReviews.size());
+            failed = deletedReviewService.saveAll(records.keySet());
         }
-        catch (Exception e) {
+        catch (RuntimeException e) {
             log.error("Failed to write deleted review/s to database.", e);
-            return "Failed to write deleted review/s to database.";
+            failed = records.keySet();
         }
+
+        log.info(String.format("%d of %d records were saved.", records.size() - failed.size(), records.size()));
+        return new StreamsEventResponse(Stream.concat(unreadable.stream(), failed.stream().map(records::get))
+                .map(record -> new StreamsEventResponse.BatchItemFailure(record.getDynamodb().getSequenceNumber()))
+                .collect(Collectors.toList()));
     }
 
-    private List<DeletedReview> listDeletedReviews(DynamodbEvent input, DeletedReviewService deletedReviewService) {
-        return input.getRecords().stream()
-                .filter(record -> record.getEventName().equals(DELETED_EVENT_NAME))
-                .map(deletedReviewService::valueOf)
-                .collect(Collectors.toList());
+    /*
+     * Maps each deleted review to the record it came from. A batch cannot write the same item twice,
+     * so only the last record of each review is kept. Records that cannot be read are logged and
+     * added to the unreadable ones, to be retried until the event source mapping gives up on them.
+     */
+    private Map<DeletedReview, DynamodbStreamRecord> listDeletedReviews(DynamodbEvent input,
+                                                                        DeletedReviewService deletedReviewService,
+                                                                        List<DynamodbStreamRecord> unreadable) {
+        final Map<List<String>, DeletedReview> latest = new LinkedHashMap<>();
+        final Map<DeletedReview, DynamodbStreamRecord> records = new IdentityHashMap<>();
+        for (DynamodbStreamRecord record : input.getRecords()) {
+            if (!record.getEventName().equals(DELETED_EVENT_NAME)) {
+                continue;
+            }
+            try {
+                final DeletedReview review = deletedReviewService.valueOf(record);
+                records.remove(latest.put(Arrays.asList(review.getUserId(), review.getImdbId()), review));
+                records.put(review, record);
+            }
+            catch (RuntimeException e) {
+                log.error(String.format("Failed to read record %s.", record.getEventID()), e);
+                unreadable.add(record);
+            }
+        }
+        return records;
     }
 }
@@ -2,6 +2,9 @@ package review;
 
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -31,8 +34,20 @@ public class DeletedReviewService {
         return deletedReviewDAO.save(review);
     }
 
+    /**
+     * Saves any number of deleted reviews at once.
+     *
+     * @param reviews the reviews to be saved
+     * @return the reviews that could not be saved
+     */
+    public List<DeletedReview> saveAll(Collection<DeletedReview> reviews) {
+        return deletedReviewDAO.saveAll(reviews);
+    }
+
     /**
      * Returns the DeletedReview representation of a {@code DynamodbStreamRecord} argument.
+     * The review is marked as deleted at the time of the record, if known, so that the
+     * same record always results in the same deleted review.
      *
      * @param record a {@code DynamodbStreamRecord}
      * @return the DeletedReview representation of the given DynamodbStreamRecord
@@ -40,12 +55,18 @@ public class DeletedReviewService {
     public DeletedReview valueOf(DynamodbEvent.DynamodbStreamRecord record) {
         final Map<String, AttributeValue> values = record.getDynamodb().getOldImage();
 
-        return new DeletedReview(
+        final DeletedReview review = new DeletedReview(
                 values.get(USERID).getS(),
                 values.get(IMDBID).getS(),
                 Double.parseDouble(values.get(RATING).getN()),
                 values.get(CREATEDAT).getS(),
                 values.get(UPDATEDAT).getS()
                 );
+        if (record.getDynamodb().getApproximateCreationDateTime() != null) {
+            final Calendar deletedAt = Calendar.getInstance();
+            deletedAt.setTime(record.getDynamodb().getApproximateCreationDateTime());
+            review.setDeletedAt(deletedAt);
+        }
+        return review;
     }
 }
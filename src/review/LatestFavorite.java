@@ -0,0 +1,100 @@
+package review;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+import java.util.Calendar;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The latest favorite review of an Amazon Videos user, kept up to date from the review
+ * table's stream. A user with no favorite has an item with no imdbId.
+ */
+@DynamoDBTable(tableName = "...")
+public class LatestFavorite {
+
+    @DynamoDBHashKey
+    private String userId;
+
+    private String imdbId;
+
+    private Double rating;
+
+    /* The time the favorite review was created */
+    private Calendar createdAt;
+
+    /* The last time this item was written */
+    private Calendar projectedAt;
+
+    public LatestFavorite() {}
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getImdbId() {
+        return imdbId;
+    }
+
+    public void setImdbId(String imdbId) {
+        this.imdbId = imdbId;
+    }
+
+    public Double getRating() {
+        return rating;
+    }
+
+    public void setRating(Double rating) {
+        this.rating = rating;
+    }
+
+    public Calendar getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Calendar createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Calendar getProjectedAt() {
+        return projectedAt;
+    }
+
+    public void setProjectedAt(Calendar projectedAt) {
+        this.projectedAt = projectedAt;
+    }
+
+    /**
+     * Returns the favorite as a Review.
+     *
+     * @return an Optional of the favorite review, empty if the user has none
+     */
+    public Optional<Review> toReview() {
+        if (imdbId == null) {
+            return Optional.empty();
+        }
+        final Review review = new Review();
+        review.setUserId(userId);
+        review.setImdbId(imdbId);
+        review.setRating(rating);
+        review.setCreatedAt(createdAt);
+        return Optional.of(review);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof LatestFavorite
+                && Objects.equals(userId, ((LatestFavorite) other).userId)
+                && Objects.equals(imdbId, ((LatestFavorite) other).imdbId)
+                && Objects.equals(rating, ((LatestFavorite) other).rating);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, imdbId, rating);
+    }
+}
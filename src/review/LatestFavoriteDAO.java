@@ -0,0 +1,103 @@
+package review;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import dynamodb.DynamoDBMapperWrapper;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Stores and retrieves the latest favorite review of each user from DynamoDB.
+ */
+public class LatestFavoriteDAO {
+
+    private static final String SET_FAVORITE_EXPRESSION =
+            "SET imdbId = :imdbId, rating = :rating, createdAt = :createdAt, projectedAt = :now";
+    private static final String CLEAR_FAVORITE_EXPRESSION = "SET projectedAt = :now REMOVE imdbId, rating, createdAt";
+
+    private final DynamoDBMapperWrapper mapper;
+
+    public LatestFavoriteDAO(DynamoDBMapperWrapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Fetch the latest favorite of a user.
+     *
+     * @param userId the userId of the user
+     * @return an Optional of the LatestFavorite, empty if it has never been stored
+     */
+    public Optional<LatestFavorite> fetch(String userId) {
+        return mapper.load(LatestFavorite.class, userId);
+    }
+
+    /**
+     * Store a review as the latest favorite of its user, unless a review created after it
+     * is already stored. Nothing is stored for a user whose latest favorite has never been,
+     * since the review may be older than favorites the user already has.
+     *
+     * @param favorite the favorite review
+     * @return the stored LatestFavorite
+     * @throws ConditionalCheckFailedException if a later favorite is already stored, or nothing
+     *     is stored for the user yet
+     */
+    public LatestFavorite saveIfLatest(Review favorite) throws ConditionalCheckFailedException {
+        return mapper.update(LatestFavorite.class, createUpdateRequest(favorite.getUserId(), Optional.of(favorite))
+                .withConditionExpression(
+                        "attribute_exists(userId) AND (attribute_not_exists(createdAt) OR createdAt <= :createdAt)"));
+    }
+
+    /**
+     * Replace the latest favorite of a user, but only if it is still the expected movie.
+     *
+     * @param userId         the userId of the user
+     * @param expectedImdbId the imdbId of the favorite being replaced
+     * @param next           the new favorite, or empty if the user has none left
+     * @return the stored LatestFavorite
+     * @throws ConditionalCheckFailedException if the stored favorite is not the expected movie
+     */
+    public LatestFavorite replace(String userId, String expectedImdbId, Optional<Review> next)
+            throws ConditionalCheckFailedException {
+        final UpdateItemRequest request = createUpdateRequest(userId, next)
+                .withConditionExpression("imdbId = :expectedImdbId");
+        request.addExpressionAttributeValuesEntry(":expectedImdbId", new AttributeValue(expectedImdbId));
+        return mapper.update(LatestFavorite.class, request);
+    }
+
+    /**
+     * Store the latest favorite of a user, unless one is already stored.
+     *
+     * @param userId   the userId of the user
+     * @param favorite the favorite review, or empty if the user has none
+     * @return the stored LatestFavorite
+     * @throws ConditionalCheckFailedException if a favorite is already stored
+     */
+    public LatestFavorite saveIfAbsent(String userId, Optional<Review> favorite)
+            throws ConditionalCheckFailedException {
+        return mapper.update(LatestFavorite.class, createUpdateRequest(userId, favorite)
+                .withConditionExpression("attribute_not_exists(userId)"));
+    }
+
+    private UpdateItemRequest createUpdateRequest(String userId, Optional<Review> favorite) {
+        final DynamoDBMapperTableModel<LatestFavorite> model = mapper.getTableModel(LatestFavorite.class);
+        final LatestFavorite key = new LatestFavorite();
+        key.setUserId(userId);
+        final Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+        expressionAttributeValues.put(":now", model.field("projectedAt").convert(Calendar.getInstance()));
+        favorite.ifPresent(review -> {
+            expressionAttributeValues.put(":imdbId", model.field("imdbId").convert(review.getImdbId()));
+            expressionAttributeValues.put(":rating", model.field("rating").convert(review.getRating()));
+            expressionAttributeValues.put(":createdAt", model.field("createdAt").convert(review.getCreatedAt()));
+        });
+
+        // Left mutable, so callers can add the values their condition needs
+        return new UpdateItemRequest()
+                .withKey(model.convertKey(key))
+                .withUpdateExpression(favorite.isPresent() ? SET_FAVORITE_EXPRESSION : CLEAR_FAVORITE_EXPRESSION)
+                .withExpressionAttributeValues(expressionAttributeValues);
+    }
+}
@@ -0,0 +1,144 @@
+package review;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.log4j.Logger;
+
+/**
+ * Manages the latest favorite review of each Amazon Videos user. The latest favorite is
+ * projected from the review table's stream, so reading it costs a single GetItem.
+ */
+public class LatestFavoriteService {
+
+    public static final String INSERT_EVENT_NAME = "INSERT";
+    public static final String MODIFY_EVENT_NAME = "MODIFY";
+    public static final String REMOVE_EVENT_NAME = "REMOVE";
+
+    private final Logger log = Logger.getLogger(LatestFavoriteService.class);
+    private final LatestFavoriteDAO latestFavoriteDAO;
+    private final ReviewDAO reviewDAO;
+
+    public LatestFavoriteService(LatestFavoriteDAO latestFavoriteDAO, ReviewDAO reviewDAO) {
+        this.latestFavoriteDAO = latestFavoriteDAO;
+        this.reviewDAO = reviewDAO;
+    }
+
+    /**
+     * Fetch the latest review, with rating >= 4, of a user. Users whose favorite has not been
+     * projected yet have it looked up from their reviews and stored for next time.
+     *
+     * @param userId the userId of the user
+     * @return an Optional of the "latest favorite" review
+     */
+    public Optional<Review> fetchLatestFavorite(String userId) {
+        final Optional<LatestFavorite> stored = latestFavoriteDAO.fetch(userId);
+        if (stored.isPresent()) {
+            return stored.get().toReview();
+        }
+
+        final Optional<Review> latest = reviewDAO.fetchLatestFavorite(userId, ReviewService.MIN_RATING);
+        try {
+            latestFavoriteDAO.saveIfAbsent(userId, latest);
+        }
+        catch (ConditionalCheckFailedException e) {
+            log.debug(String.format("The latest favorite of user {%s} was projected concurrently.", userId));
+        }
+        return latest;
+    }
+
+    /**
+     * Updates the latest favorite of a user from a review table stream record. A new or updated
+     * favorite replaces the stored one if it was created after it. A favorite that was deleted,
+     * or whose rating dropped below 4, is replaced by the user's next latest favorite.
+     *
+     * @param record a {@code DynamodbStreamRecord} from the review table
+     */
+    public void project(DynamodbEvent.DynamodbStreamRecord record) {
+        final Map<String, AttributeValue> oldImage = record.getDynamodb().getOldImage();
+        final Optional<Review> oldReview = Optional.ofNullable(oldImage).map(reviewDAO::valueOf);
+
+        switch (record.getEventName()) {
+            case INSERT_EVENT_NAME:
+            case MODIFY_EVENT_NAME:
+                final Review review = reviewDAO.valueOf(record.getDynamodb().getNewImage());
+                if (isFavorite(review)) {
+                    saveIfLatest(review);
+                }
+                else if (oldReview.isPresent() && isFavorite(oldReview.get())) {
+                    replaceIfCurrent(review.getUserId(), review.getImdbId());
+                }
+                break;
+            case REMOVE_EVENT_NAME:
+                if (oldReview.isPresent() && isFavorite(oldReview.get())) {
+                    replaceIfCurrent(oldReview.get().getUserId(), oldReview.get().getImdbId());
+                }
+                break;
+            default:
+                log.warn("Ignoring unknown stream event: " + record.getEventName());
+        }
+    }
+
+    private static boolean isFavorite(Review review) {
+        return review.getRating() != null && review.getRating() >= ReviewService.MIN_RATING;
+    }
+
+    private void saveIfLatest(Review favorite) {
+        try {
+            latestFavoriteDAO.saveIfLatest(favorite);
+        }
+        catch (ConditionalCheckFailedException e) {
+            if (latestFavoriteDAO.fetch(favorite.getUserId()).isPresent()) {
+                log.debug(String.format("A later favorite of user {%s} is already stored.", favorite.getUserId()));
+            }
+            else {
+                backfill(favorite);
+            }
+        }
+    }
+
+    /*
+     * Stores the latest favorite of a user who has none stored yet, looked up from their reviews.
+     * The index may not reflect the given favorite yet, so it is stored if it is the later one.
+     */
+    private void backfill(Review favorite) {
+        final String userId = favorite.getUserId();
+        final Review latest = reviewDAO.fetchLatestFavorite(userId, ReviewService.MIN_RATING)
+                .filter(indexed -> favorite.getCreatedAt() == null
+                        || (indexed.getCreatedAt() != null && indexed.getCreatedAt().after(favorite.getCreatedAt())))
+                .orElse(favorite);
+        try {
+            latestFavoriteDAO.saveIfAbsent(userId, Optional.of(latest));
+        }
+        catch (ConditionalCheckFailedException e) {
+            // Stored concurrently, so the favorite can now be compared with it
+            try {
+                latestFavoriteDAO.saveIfLatest(favorite);
+            }
+            catch (ConditionalCheckFailedException later) {
+                log.debug(String.format("A later favorite of user {%s} is already stored.", userId));
+            }
+        }
+    }
+
+    /* Replaces the user's latest favorite with their next one, if it is the given movie. */
+    private void replaceIfCurrent(String userId, String imdbId) {
+        final Optional<LatestFavorite> current = latestFavoriteDAO.fetch(userId);
+        if (!current.isPresent() || !imdbId.equals(current.get().getImdbId())) {
+            return;
+        }
+
+        // The index may not reflect the change yet, so the replaced review is skipped explicitly
+        final Optional<Review> next = reviewDAO.listFavorites(userId, ReviewService.MIN_RATING).stream()
+                .filter(review -> !imdbId.equals(review.getImdbId()))
+                .findFirst();
+        try {
+            latestFavoriteDAO.replace(userId, imdbId, next);
+        }
+        catch (ConditionalCheckFailedException e) {
+            log.debug(String.format("The latest favorite of user {%s} changed concurrently.", userId));
+        }
+    }
+}
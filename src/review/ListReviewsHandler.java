@@ -4,15 +4,14 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
-import com.fasterxml.jackson.annotation.JsonAutoDetect;
-import com.fasterxml.jackson.annotation.PropertyAccessor;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.google.common.annotations.VisibleForTesting;
 import config.AppConfig;
 import exceptions.UserNotFoundException;
 import java.util.Map;
 import org.apache.http.HttpStatus;
 import org.apache.log4j.Logger;
+import user.User;
 
 /**
  * Handles listing an Amazon Videos user's reviews.
@@ -26,10 +25,16 @@ public class ListReviewsHandler implements RequestHandler<APIGatewayProxyRequest
      */
     private final Logger log = Logger.getLogger(ListReviewsHandler.class);
     private final AppConfig appConfig = new AppConfig();
-    private final ObjectMapper mapper = appConfig.getObjectMapper()
-            .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+    private final ObjectWriter writer = AppConfig.getListReviewsResponseWriter();
     private final ReviewService service = appConfig.getReviewService();
 
+    /**
+     * Constructs a ListReviewsHandler, priming what it needs ahead of its first request.
+     */
+    public ListReviewsHandler() {
+        appConfig.primeTables(Review.class, User.class);
+    }
+
     /**
      * Handles a Lambda Function request.
      *
@@ -55,7 +60,7 @@ public class ListReviewsHandler implements RequestHandler<APIGatewayProxyRequest
                     reviewService.listReviews(ListReviewsRequest.of(userId, count, paginationToken));
 
             return new APIGatewayProxyResponseEvent()
-                    .withBody(mapper.writeValueAsString(response))
+                    .withBody(writer.writeValueAsString(response))
                     .withStatusCode(HttpStatus.SC_OK);
         }
         catch (IllegalArgumentException e) {
@@ -0,0 +1,84 @@
+package review;
+
+import apigateway.ProxyStreams;
+import apigateway.ResponseCompression;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.annotations.VisibleForTesting;
+import config.AppConfig;
+import exceptions.UserNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import org.apache.http.HttpStatus;
+import org.apache.log4j.Logger;
+import user.User;
+
+/**
+ * Handles listing an Amazon Videos user's reviews, like {@link ListReviewsHandler}, but writes the
+ * reviews straight into the proxy response as they are serialized, without first building the
+ * whole body as a String.
+ */
+public class ListReviewsStreamHandler implements RequestStreamHandler {
+
+    private static final String MESSAGE = "{\"message\" : \"%s\"}";
+
+    private final Logger log = Logger.getLogger(ListReviewsStreamHandler.class);
+    private final AppConfig appConfig = new AppConfig();
+    private final ObjectWriter writer = AppConfig.getListReviewsResponseWriter();
+    private final ResponseCompression compression = AppConfig.getResponseCompression();
+    private final ReviewService service = appConfig.getReviewService();
+
+    /**
+     * Constructs a ListReviewsStreamHandler, priming what it needs ahead of its first request.
+     */
+    public ListReviewsStreamHandler() {
+        appConfig.primeTables(Review.class, User.class);
+    }
+
+    /**
+     * Handles a Lambda Function request.
+     *
+     * @param input   The Lambda Function input stream
+     * @param output  The Lambda Function output stream
+     * @param context The Lambda execution environment context object.
+     * @throws IOException if the request could not be read, or the response written
+     */
+    @Override
+    public void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
+        handleRequest(ProxyStreams.readRequest(input, AppConfig.getObjectMapper()), output, service);
+    }
+
+    @VisibleForTesting
+    void handleRequest(APIGatewayProxyRequestEvent input, OutputStream output, ReviewService reviewService)
+            throws IOException {
+        final String userId = input.getPathParameters().get("userId");
+
+        final Map<String, String> queryParameters = input.getQueryStringParameters();
+        final String count = queryParameters == null ? null : queryParameters.get("count");
+        final String paginationToken = queryParameters == null ? null : queryParameters.get("paginationToken");
+
+        try {
+            final ListReviewsResponse response =
+                    reviewService.listReviews(ListReviewsRequest.of(userId, count, paginationToken));
+
+            ProxyStreams.writeResponse(output, HttpStatus.SC_OK, writer, response, compression, input.getHeaders());
+        }
+        catch (IllegalArgumentException e) {
+            log.warn("Invalid query parameter/s.", e);
+            ProxyStreams.writeResponse(output, HttpStatus.SC_BAD_REQUEST, String.format(MESSAGE, e.getMessage()));
+        }
+        catch (UserNotFoundException e) {
+            log.warn(String.format("The requested user {%s} could not be found.", userId), e);
+            ProxyStreams.writeResponse(output, HttpStatus.SC_NOT_FOUND, String.format(MESSAGE, e.getMessage()));
+        }
+        catch (Exception e) {
+            log.error("Internal service error: Unable to list reviews.", e);
+            ProxyStreams.writeResponse(output, HttpStatus.SC_INTERNAL_SERVER_ERROR,
+                    String.format(MESSAGE, "Internal service error.  Please try again."));
+        }
+    }
+}
@@ -4,15 +4,18 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.google.common.annotations.VisibleForTesting;
 import config.AppConfig;
 import exceptions.InvalidRatingException;
 import exceptions.ResourceNotFoundException;
 import java.io.IOException;
 import java.util.Map;
+import movie.Movie;
 import org.apache.http.HttpStatus;
 import org.apache.log4j.Logger;
+import user.User;
 
 /**
  * Handles creating and updating an Amazon Videos user's review.
@@ -23,9 +26,17 @@ public class PutReviewHandler implements RequestHandler<APIGatewayProxyRequestEv
 
     private final Logger log = Logger.getLogger(PutReviewHandler.class);
     private final AppConfig appConfig = new AppConfig();
-    private final ObjectMapper mapper = appConfig.getObjectMapper();
+    private final ObjectReader reader = AppConfig.getReviewReader();
+    private final ObjectWriter writer = AppConfig.getReviewWriter();
     private final ReviewService service = appConfig.getReviewService();
 
+    /**
+     * Constructs a PutReviewHandler, priming what it needs ahead of its first request.
+     */
+    public PutReviewHandler() {
+        appConfig.primeTables(Review.class, User.class, Movie.class);
+    }
+
     /**
      * Handles a Lambda Function request.
      *
@@ -49,7 +60,7 @@ public class PutReviewHandler implements RequestHandler<APIGatewayProxyRequestEv
             if (input.getBody() == null) {
                 throw new IOException("Request is missing body. Body should contain the rating of the review.");
             }
-            reviewRequest = mapper.readValue(input.getBody(), Review.class);
+            reviewRequest = reader.readValue(input.getBody());
             reviewRequest.setUserId(userId);
             reviewRequest.setImdbId(imdbId);
         }
@@ -63,7 +74,7 @@ public class PutReviewHandler implements RequestHandler<APIGatewayProxyRequestEv
         try {
             final Review reviewResponse = reviewService.put(reviewRequest);
             return new APIGatewayProxyResponseEvent()
-                    .withBody(mapper.writeValueAsString(reviewResponse))
+                    .withBody(writer.writeValueAsString(reviewResponse))
                     .withStatusCode(HttpStatus.SC_OK);
         }
         catch (NullPointerException | IllegalArgumentException | InvalidRatingException e) {
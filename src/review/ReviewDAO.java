@@ -1,11 +1,17 @@
 package review;
 
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
 import com.google.common.collect.ImmutableMap;
 import dynamodb.DynamoDBMapperWrapper;
+import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -17,6 +23,9 @@ import java.util.stream.Collectors;
  */
 public class ReviewDAO {
 
+    private static final String UPSERT_EXPRESSION = "SET rating = :rating, updatedAt = :now, "
+            + "createdAt = if_not_exists(createdAt, :now), version = if_not_exists(version, :zero) + :one";
+
     private final DynamoDBMapperWrapper mapper;
 
     public ReviewDAO(DynamoDBMapperWrapper mapper) {
@@ -55,6 +64,80 @@ public class ReviewDAO {
         return mapper.save(review);
     }
 
+    /**
+     * Create a new review, or update the rating of an existing one, with a single conditional
+     * UpdateItem call. updatedAt is always set, while createdAt is only set when the review is created.
+     * The version is incremented on every write and, if the given review has a version, the write
+     * only succeeds if it still matches the stored version.
+     *
+     * @param review the review to create or update
+     * @return the review as it was saved
+     * @throws ConditionalCheckFailedException if Dynamo encountered a version conflict
+     */
+    public Review upsert(Review review) throws ConditionalCheckFailedException {
+        return mapper.update(Review.class, createUpsertRequest(review, null));
+    }
+
+    /**
+     * Create a review with a single conditional UpdateItem call.
+     * Behaves like {@link #upsert(Review)}, except an existing review is never overwritten.
+     *
+     * @param review the review to create
+     * @return the review as it was saved
+     * @throws ConditionalCheckFailedException if the review already exists
+     */
+    public Review create(Review review) throws ConditionalCheckFailedException {
+        return mapper.update(Review.class, createUpsertRequest(review, "attribute_not_exists(userId)"));
+    }
+
+    /**
+     * Update the rating of an existing review with a single conditional UpdateItem call.
+     * Behaves like {@link #upsert(Review)}, except the review is never created.
+     *
+     * @param review the review to update
+     * @return the review as it was saved
+     * @throws ConditionalCheckFailedException if the review does not exist, or Dynamo encountered
+     *     a version conflict
+     */
+    public Review updateExisting(Review review) throws ConditionalCheckFailedException {
+        return mapper.update(Review.class, createUpsertRequest(review, "attribute_exists(userId)"));
+    }
+
+    private UpdateItemRequest createUpsertRequest(Review review, String existenceCondition) {
+        final DynamoDBMapperTableModel<Review> model = mapper.getTableModel(Review.class);
+        final ImmutableMap.Builder<String, AttributeValue> expressionAttributeValues =
+                ImmutableMap.<String, AttributeValue>builder()
+                        .put(":rating", model.field("rating").convert(review.getRating()))
+                        .put(":now", model.field("updatedAt").convert(Calendar.getInstance()))
+                        .put(":zero", new AttributeValue().withN("0"))
+                        .put(":one", new AttributeValue().withN("1"));
+
+        final List<String> conditions = new ArrayList<>();
+        if (existenceCondition != null) {
+            conditions.add(existenceCondition);
+        }
+        if (review.getVersion() != null) {
+            conditions.add("version = :expectedVersion");
+            expressionAttributeValues.put(":expectedVersion", model.field("version").convert(review.getVersion()));
+        }
+
+        return new UpdateItemRequest()
+                .withKey(model.convertKey(review.getUserId(), review.getImdbId()))
+                .withUpdateExpression(UPSERT_EXPRESSION)
+                .withConditionExpression(conditions.isEmpty() ? null : String.join(" AND ", conditions))
+                .withExpressionAttributeValues(expressionAttributeValues.build());
+    }
+
+    /**
+     * Returns the Review representation of an item from the review table, such as a stream image.
+     *
+     * @param item the attributes of the item
+     * @return the Review representation of the given item
+     */
+    public Review valueOf(Map<String, AttributeValue> item) {
+        return mapper.getTableModel(Review.class).unconvert(item);
+    }
+
     /**
      * Delete a review.
      *
@@ -109,16 +192,30 @@ public class ReviewDAO {
                 .withConsistentRead(false)
                 .withScanIndexForward(false);
 
-        return mapper.queryPage(Review.class, queryExpression);
+        // Reviews are converted as the response is serialized, rather than all at once
+        return mapper.queryPageLazily(Review.class, queryExpression);
     }
 
     /**
      * Fetch the latest review with the given minimum rating.
      *
      * @param userId the userId of the review
+     * @param minimumRating the minimum rating of a favorite review
      * @return an Optional of the "latest favorite" review
      */
     public Optional<Review> fetchLatestFavorite(String userId, double minimumRating) {
+        return listFavorites(userId, minimumRating).stream().findFirst();
+    }
+
+    /**
+     * List the reviews with the given minimum rating, latest first. Pages of results are
+     * only queried as the list is iterated, so stopping early avoids reading the rest.
+     *
+     * @param userId the userId of the reviews
+     * @param minimumRating the minimum rating of a favorite review
+     * @return a lazily loaded list of reviews
+     */
+    public List<Review> listFavorites(String userId, double minimumRating) {
         final Map<String, AttributeValue> expressionAttributeValues = ImmutableMap.of(
                 ":id", new AttributeValue(userId),
                 ":minimumRating", new AttributeValue().withN(Double.toString(minimumRating))
@@ -132,10 +229,30 @@ public class ReviewDAO {
                 .withConsistentRead(false)
                 .withScanIndexForward(false);
 
-        return mapper.queryPage(Review.class, queryExpression)
-                .getResults()
-                .stream()
-                .findFirst();
+        return mapper.query(Review.class, queryExpression);
+    }
+
+    /**
+     * Scans for every review with the given minimum rating, reading only its userId and imdbId.
+     * Pages are read as the list is iterated and are not kept, so the list can only be iterated
+     * once.
+     *
+     * <p>The reviews are returned in no particular order, a user's reviews not necessarily one
+     * after another.
+     *
+     * @param minimumRating the minimum rating of a favorite review
+     * @return a list of reviews, iterable once, holding only their keys
+     */
+    public List<Review> scanFavorites(double minimumRating) {
+        final DynamoDBScanExpression scanExpression = new DynamoDBScanExpression()
+                .withProjectionExpression("userId, imdbId")
+                .withFilterExpression("rating >= :minimumRating")
+                .withExpressionAttributeValues(ImmutableMap.of(
+                        ":minimumRating", new AttributeValue().withN(Double.toString(minimumRating))));
+
+        return mapper.scan(Review.class, scanExpression, DynamoDBMapperConfig.builder()
+                .withPaginationLoadingStrategy(DynamoDBMapperConfig.PaginationLoadingStrategy.ITERATION_ONLY)
+                .build());
     }
 
     /**
@@ -154,9 +271,9 @@ public class ReviewDAO {
                 .withKeyConditionExpression("userId = :id")
                 .withExpressionAttributeValues(expressionAttributeValues);
 
-        return mapper.query(Review.class, queryExpression)
-                .stream()
-                .map(Review::getImdbId)
+        // Only the keys are read, the imdbId being the sort key
+        return mapper.queryKeys(Review.class, queryExpression)
+                .map(key -> (String) key.getRangeKey())
                 .collect(Collectors.toSet());
     }
 }
@@ -0,0 +1,88 @@
+package review;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent.DynamodbStreamRecord;
+import com.google.common.annotations.VisibleForTesting;
+import config.AppConfig;
+import java.util.Collections;
+import java.util.List;
+import org.apache.log4j.Logger;
+import recommendation.UserRecommendations;
+import recommendation.UserRecommendationsService;
+
+/**
+ * Handles keeping the items derived from reviews up to date, namely each user's latest favorite,
+ * seen movies and recommendations, from the same review table stream as {@link DeletedReviewHandler}.
+ * All are projected by a single function, since a stream should not have more than two readers.
+ * Recommendations are only invalidated, and recomputed when the user next lists them.
+ */
+public class ReviewProjectionHandler implements RequestHandler<DynamodbEvent, StreamsEventResponse> {
+
+    private final Logger log = Logger.getLogger(ReviewProjectionHandler.class);
+    private final AppConfig appConfig = new AppConfig();
+    private final LatestFavoriteService latestFavoriteService = appConfig.getLatestFavoriteService();
+    private final SeenMoviesService seenMoviesService = appConfig.getSeenMoviesService();
+    private final UserRecommendationsService userRecommendationsService =
+            appConfig.getUserRecommendationsService();
+
+    /**
+     * Constructs a ReviewProjectionHandler, priming what it needs ahead of its first request.
+     */
+    public ReviewProjectionHandler() {
+        appConfig.primeTables(UserRecommendations.class, LatestFavorite.class, SeenMovies.class, Review.class);
+    }
+
+    /**
+     * Handles a Lambda Function request.
+     *
+     * @param input The Lambda Function input
+     * @param context The Lambda execution environment context object.
+     * @return The Lambda Function output
+     */
+    @Override
+    public StreamsEventResponse handleRequest(DynamodbEvent input, Context context) {
+        return handleRequest(input, latestFavoriteService, seenMoviesService, userRecommendationsService);
+    }
+
+    /*
+     * Records are projected in order, up to the first that fails. Lambda retries the stream from the
+     * earliest failed record, so that is the only one reported, and the records after it are left for
+     * the retry. The recommendations of the users of the projected records are then invalidated; if
+     * that fails, the whole batch is retried, since projecting a record twice is harmless.
+     */
+    @VisibleForTesting
+    StreamsEventResponse handleRequest(DynamodbEvent input,
+                                       LatestFavoriteService latestFavoriteService,
+                                       SeenMoviesService seenMoviesService,
+                                       UserRecommendationsService userRecommendationsService) {
+        final List<DynamodbStreamRecord> records = input.getRecords();
+        int projected = 0;
+        for (DynamodbStreamRecord record : records) {
+            try {
+                latestFavoriteService.project(record);
+                seenMoviesService.project(record);
+            }
+            catch (RuntimeException e) {
+                log.error(String.format("Failed to project record %s.", record.getEventID()), e);
+                break;
+            }
+            projected++;
+        }
+
+        try {
+            userRecommendationsService.project(records.subList(0, projected));
+        }
+        catch (RuntimeException e) {
+            log.error("Failed to invalidate recommendations.", e);
+            projected = 0;
+        }
+
+        log.info(String.format("%d of %d records were projected.", projected, records.size()));
+        return new StreamsEventResponse(projected == records.size()
+                ? Collections.emptyList()
+                : Collections.singletonList(new StreamsEventResponse.BatchItemFailure(
+                        records.get(projected).getDynamodb().getSequenceNumber())));
+    }
+}
@@ -1,5 +1,6 @@
 package review;
 
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
 import exceptions.InvalidRatingException;
 import exceptions.MovieNotFoundException;
 import exceptions.ReviewNotFoundException;
@@ -7,6 +8,9 @@ import exceptions.UserNotFoundException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import movie.MovieService;
 import user.UserService;
 
@@ -20,19 +24,35 @@ public class ReviewService {
     private final UserService userService;
     private final MovieService movieService;
     private final ReviewDAO reviewDAO;
+    private final LatestFavoriteService latestFavoriteService;
+    private final SeenMoviesService seenMoviesService;
+    private final Executor executor;
 
     /**
      * Manages reviews for Amazon Videos.
+     *
+     * @param executor runs the independent lookups made while validating a new review
      */
-    public ReviewService(UserService userService, MovieService movieService, ReviewDAO reviewDAO) {
+    public ReviewService(UserService userService,
+                         MovieService movieService,
+                         ReviewDAO reviewDAO,
+                         LatestFavoriteService latestFavoriteService,
+                         SeenMoviesService seenMoviesService,
+                         Executor executor) {
         this.userService = userService;
         this.movieService = movieService;
         this.reviewDAO = reviewDAO;
+        this.latestFavoriteService = latestFavoriteService;
+        this.seenMoviesService = seenMoviesService;
+        this.executor = executor;
     }
 
     /**
      * Put a new review. Namely, creates a new review if one does not exist,
-     * or updates one if it already does.
+     * or updates one if it already does. An update costs a single conditional write;
+     * the user and movie are only verified, in parallel, when the review has to be created.
+     * A review that was changed or created concurrently is never overwritten; the conflict is
+     * surfaced instead.
      *
      * @param review the review to create or update
      * @return the review in its current state
@@ -40,16 +60,25 @@ public class ReviewService {
      * @throws UserNotFoundException if the given userId does not map to a user
      * @throws MovieNotFoundException if the given imdbId does not map to a movie
      * @throws NullPointerException if the given rating is null
+     * @throws ConditionalCheckFailedException if the review exists with a different version than the
+     *     given one, or was created concurrently
      */
     public Review put(Review review)
             throws InvalidRatingException, UserNotFoundException, MovieNotFoundException {
         Objects.requireNonNull(review.getRating(),
                 "Review cannot contain empty or null rating. {rating: " + review.getRating() + "}");
 
-        final Optional<Review> toSave = reviewDAO.fetch(review);
-        return toSave.isPresent()
-                ? update(toSave.get(), validRating(review))
-                : create(valid(review));
+        final Review toSave = validRating(review);
+        try {
+            return reviewDAO.updateExisting(toSave);
+        }
+        catch (ConditionalCheckFailedException e) {
+            // The update also fails on a version conflict, which must not be overwritten
+            if (reviewDAO.fetch(toSave.getUserId(), toSave.getImdbId()).isPresent()) {
+                throw e;
+            }
+            return create(toSave);
+        }
     }
 
     private Review validRating(Review review)
@@ -61,18 +90,53 @@ public class ReviewService {
         return review;
     }
 
-    private Review valid(Review review)
-            throws InvalidRatingException, UserNotFoundException, MovieNotFoundException {
-        if (!isValid(review.getRating())) {
-            throw new InvalidRatingException(
-                    String.format("The provided rating: {%s} is not valid.", review.getRating()));
+    /* Verifies the user and the movie concurrently, failing as soon as either one cannot be found. */
+    private Review validResources(Review review)
+            throws UserNotFoundException, MovieNotFoundException {
+        final CompletableFuture<Void> userExists = CompletableFuture.runAsync(() -> {
+            try {
+                userService.getUser(review.getUserId());
+            }
+            catch (UserNotFoundException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+        final CompletableFuture<Void> movieExists = CompletableFuture.runAsync(() -> {
+            if (!movieService.movieExists(review.getImdbId())) {
+                throw new CompletionException(new MovieNotFoundException(
+                        String.format("The specified movie: {%s} could not be found.", review.getImdbId())));
+            }
+        }, executor);
+
+        try {
+            allOrFirstFailure(userExists, movieExists).join();
+            return review;
         }
-        userService.getUser(review.getUserId());
-        if (!movieService.movieExists(review.getImdbId())) {
-            throw new MovieNotFoundException(
-                    String.format("The specified movie: {%s} could not be found.", review.getImdbId()));
+        catch (CompletionException e) {
+            if (e.getCause() instanceof UserNotFoundException) {
+                throw (UserNotFoundException) e.getCause();
+            }
+            if (e.getCause() instanceof MovieNotFoundException) {
+                throw (MovieNotFoundException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
         }
-        return review;
+    }
+
+    /* Completes when all the futures complete, or exceptionally as soon as any one of them fails. */
+    private static CompletableFuture<Void> allOrFirstFailure(CompletableFuture<?>... futures) {
+        final CompletableFuture<Void> all = CompletableFuture.allOf(futures);
+        for (CompletableFuture<?> future : futures) {
+            future.whenComplete((ignored, error) -> {
+                if (error != null) {
+                    all.completeExceptionally(error);
+                }
+            });
+        }
+        return all;
     }
 
     /**
@@ -93,13 +157,8 @@ public class ReviewService {
                 && toCheck % divisibility < epsilon;
     }
 
-    private Review update(Review older, Review newer) {
-        older.setRating(newer.getRating());
-        return reviewDAO.save(older);
-    }
-
-    private Review create(Review review) {
-        return reviewDAO.save(review);
+    private Review create(Review review) throws UserNotFoundException, MovieNotFoundException {
+        return reviewDAO.create(validResources(review));
     }
 
     /**
@@ -140,7 +199,7 @@ public class ReviewService {
      */
     public Optional<Review> fetchLatestFavorite(String userId) throws UserNotFoundException {
         userService.getUser(userId);
-        return reviewDAO.fetchLatestFavorite(userId, MIN_RATING);
+        return latestFavoriteService.fetchLatestFavorite(userId);
     }
 
     /**
@@ -155,4 +214,16 @@ public class ReviewService {
         userService.getUser(userId);
         return reviewDAO.listReviewedMovies(userId);
     }
+
+    /**
+     * Returns the movies the given user has reviewed, in a compact form read with a single call.
+     *
+     * @param userId the userId of the reviews
+     * @return the SeenMovies of the user
+     * @throws UserNotFoundException if the user could not be found
+     */
+    public SeenMovies fetchSeenMovies(String userId) throws UserNotFoundException {
+        userService.getUser(userId);
+        return seenMoviesService.fetchSeenMovies(userId);
+    }
 }
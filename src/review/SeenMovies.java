@@ -0,0 +1,192 @@
+package review;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBIgnore;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The movies an Amazon Videos user has reviewed, kept up to date from the review table's
+ * stream. Each imdbId is stored as the number after its "tt" prefix, in a single number set,
+ * so the whole set is read with one GetItem and checking membership allocates nothing. The rare
+ * imdbId of any other form is kept as is, in a string set of its own.
+ */
+@DynamoDBTable(tableName = "...")
+public class SeenMovies {
+
+    private static final String IMDBID_PREFIX = "tt";
+
+    @DynamoDBHashKey
+    private String userId;
+
+    private Set<Integer> movieIds;
+
+    private Set<String> otherImdbIds;
+
+    /* Incremented by every removal, so that completing the set can tell whether one happened meanwhile */
+    private Long removals;
+
+    /* Set once every movie the user had already reviewed has been added */
+    private Calendar completedAt;
+
+    @DynamoDBIgnore
+    private int[] sortedMovieIds;
+
+    public SeenMovies() {}
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public Set<Integer> getMovieIds() {
+        return movieIds;
+    }
+
+    public void setMovieIds(Set<Integer> movieIds) {
+        this.movieIds = movieIds;
+        this.sortedMovieIds = null;
+    }
+
+    public Set<String> getOtherImdbIds() {
+        return otherImdbIds;
+    }
+
+    public void setOtherImdbIds(Set<String> otherImdbIds) {
+        this.otherImdbIds = otherImdbIds;
+    }
+
+    public Long getRemovals() {
+        return removals;
+    }
+
+    public void setRemovals(Long removals) {
+        this.removals = removals;
+    }
+
+    public Calendar getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Calendar completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    /**
+     * Returns true if every movie the user has reviewed is included, as opposed to only the
+     * ones reviewed since the item was first written.
+     *
+     * @return true if the set is complete
+     */
+    @DynamoDBIgnore
+    public boolean isComplete() {
+        return completedAt != null;
+    }
+
+    /**
+     * Returns true if the user has reviewed the given movie.
+     *
+     * @param imdbId the imdbId of the movie
+     * @return true if the movie has been seen
+     */
+    public boolean contains(String imdbId) {
+        final int movieId = movieIdOf(imdbId);
+        if (movieId < 0) {
+            return otherImdbIds != null && otherImdbIds.contains(imdbId);
+        }
+        if (movieIds == null) {
+            return false;
+        }
+        if (sortedMovieIds == null) {
+            sortedMovieIds = movieIds.stream().mapToInt(Integer::intValue).sorted().toArray();
+        }
+        return Arrays.binarySearch(sortedMovieIds, movieId) >= 0;
+    }
+
+    /**
+     * Returns the SeenMovies of a user who has reviewed the given movies.
+     *
+     * @param userId  the userId of the user
+     * @param imdbIds the imdbIds of the movies
+     * @return a complete SeenMovies
+     */
+    public static SeenMovies of(String userId, Collection<String> imdbIds) {
+        final SeenMovies seenMovies = new SeenMovies();
+        seenMovies.setUserId(userId);
+        seenMovies.setMovieIds(movieIdsOf(imdbIds));
+        seenMovies.setOtherImdbIds(otherImdbIdsOf(imdbIds));
+        seenMovies.setCompletedAt(Calendar.getInstance());
+        return seenMovies;
+    }
+
+    /**
+     * Returns the numbers of the given imdbIds, leaving out those not of the form "tt" followed by digits.
+     *
+     * @param imdbIds the imdbIds of the movies
+     * @return the numbers of the imdbIds
+     */
+    public static Set<Integer> movieIdsOf(Collection<String> imdbIds) {
+        return imdbIds.stream()
+                .mapToInt(SeenMovies::movieIdOf)
+                .filter(movieId -> movieId >= 0)
+                .boxed()
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns the given imdbIds which are not of the form "tt" followed by digits.
+     *
+     * @param imdbIds the imdbIds of the movies
+     * @return the imdbIds without a number
+     */
+    public static Set<String> otherImdbIdsOf(Collection<String> imdbIds) {
+        return imdbIds.stream()
+                .filter(imdbId -> imdbId != null && movieIdOf(imdbId) < 0)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns the number of an imdbId, such as 36 for "tt0000036".
+     *
+     * @param imdbId the imdbId of a movie
+     * @return the number of the imdbId, or -1 if it is not "tt" followed by digits
+     */
+    public static int movieIdOf(String imdbId) {
+        if (imdbId == null || imdbId.length() <= IMDBID_PREFIX.length() || !imdbId.startsWith(IMDBID_PREFIX)) {
+            return -1;
+        }
+        long movieId = 0;
+        for (int i = IMDBID_PREFIX.length(); i < imdbId.length(); i++) {
+            final char digit = imdbId.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return -1;
+            }
+            movieId = movieId * 10 + (digit - '0');
+            if (movieId > Integer.MAX_VALUE) {
+                return -1;
+            }
+        }
+        return (int) movieId;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof SeenMovies
+                && Objects.equals(userId, ((SeenMovies) other).userId)
+                && Objects.equals(movieIds, ((SeenMovies) other).movieIds)
+                && Objects.equals(otherImdbIds, ((SeenMovies) other).otherImdbIds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, movieIds, otherImdbIds);
+    }
+}
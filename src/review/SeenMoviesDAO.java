@@ -0,0 +1,136 @@
+package review;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.ReturnValue;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import dynamodb.DynamoDBMapperWrapper;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Stores and retrieves the movies each user has reviewed from DynamoDB. Movies are added and
+ * removed with set operations, so applying the same change twice is harmless.
+ */
+public class SeenMoviesDAO {
+
+    private final DynamoDBMapperWrapper mapper;
+
+    public SeenMoviesDAO(DynamoDBMapperWrapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Fetch the movies a user has reviewed.
+     *
+     * @param userId the userId of the user
+     * @return an Optional of the SeenMovies, empty if nothing has been stored for the user
+     */
+    public Optional<SeenMovies> fetch(String userId) {
+        return mapper.load(SeenMovies.class, userId);
+    }
+
+    /**
+     * Add a movie to those a user has reviewed.
+     *
+     * @param userId the userId of the user
+     * @param imdbId the imdbId of the movie
+     */
+    public void add(String userId, String imdbId) {
+        final SeenMovies movie = SeenMovies.of(userId, Collections.singleton(imdbId));
+        final String sets = setsOf(movie);
+        if (!sets.isEmpty()) {
+            update(userId, "ADD " + sets, values(movie), null);
+        }
+    }
+
+    /**
+     * Remove a movie from those a user has reviewed, counting the removal.
+     *
+     * @param userId the userId of the user
+     * @param imdbId the imdbId of the movie
+     */
+    public void remove(String userId, String imdbId) {
+        final SeenMovies movie = SeenMovies.of(userId, Collections.singleton(imdbId));
+        final String sets = setsOf(movie);
+        if (!sets.isEmpty()) {
+            final Map<String, AttributeValue> values = values(movie);
+            values.put(":one", new AttributeValue().withN("1"));
+            update(userId, "DELETE " + sets + " ADD removals :one", values, null);
+        }
+    }
+
+    /**
+     * Add all the movies a user had already reviewed, and mark their SeenMovies complete.
+     * Movies added from the stream in the meantime are kept. The set is only completed if no
+     * movie was removed from it since its removals were read, as the movies given may then
+     * include one whose review no longer exists.
+     *
+     * @param seenMovies the complete SeenMovies of the user
+     * @param removals   the removals of the stored SeenMovies, read before the user's reviews were listed
+     * @throws ConditionalCheckFailedException if the user's SeenMovies is already complete, or was removed from
+     */
+    public void complete(SeenMovies seenMovies, long removals) throws ConditionalCheckFailedException {
+        final Map<String, AttributeValue> values = values(seenMovies);
+        values.put(":now", mapper.getTableModel(SeenMovies.class).field("completedAt")
+                .convert(Calendar.getInstance()));
+        final String condition;
+        if (removals == 0) {
+            condition = "attribute_not_exists(completedAt) AND attribute_not_exists(removals)";
+        }
+        else {
+            condition = "attribute_not_exists(completedAt) AND removals = :removals";
+            values.put(":removals", new AttributeValue().withN(Long.toString(removals)));
+        }
+        final String sets = setsOf(seenMovies);
+        update(seenMovies.getUserId(), sets.isEmpty() ? "SET completedAt = :now" : "SET completedAt = :now ADD " + sets,
+                values, condition);
+    }
+
+    /* Lists the sets to add to or delete from, leaving out empty ones, which DynamoDB rejects */
+    private static String setsOf(SeenMovies seenMovies) {
+        final List<String> sets = new ArrayList<>();
+        if (!seenMovies.getMovieIds().isEmpty()) {
+            sets.add("movieIds :movieIds");
+        }
+        if (!seenMovies.getOtherImdbIds().isEmpty()) {
+            sets.add("otherImdbIds :otherImdbIds");
+        }
+        return String.join(", ", sets);
+    }
+
+    private Map<String, AttributeValue> values(SeenMovies seenMovies) {
+        final DynamoDBMapperTableModel<SeenMovies> model = mapper.getTableModel(SeenMovies.class);
+        final Map<String, AttributeValue> values = new HashMap<>();
+        if (!seenMovies.getMovieIds().isEmpty()) {
+            values.put(":movieIds", model.field("movieIds").convert(seenMovies.getMovieIds()));
+        }
+        if (!seenMovies.getOtherImdbIds().isEmpty()) {
+            values.put(":otherImdbIds", model.field("otherImdbIds").convert(seenMovies.getOtherImdbIds()));
+        }
+        return values;
+    }
+
+    private void update(String userId,
+                        String updateExpression,
+                        Map<String, AttributeValue> expressionAttributeValues,
+                        String conditionExpression) {
+        final DynamoDBMapperTableModel<SeenMovies> model = mapper.getTableModel(SeenMovies.class);
+        final SeenMovies key = new SeenMovies();
+        key.setUserId(userId);
+
+        // The set can be large, so it is not read back
+        mapper.update(SeenMovies.class, new UpdateItemRequest()
+                .withKey(model.convertKey(key))
+                .withUpdateExpression(updateExpression)
+                .withConditionExpression(conditionExpression)
+                .withExpressionAttributeValues(expressionAttributeValues)
+                .withReturnValues(ReturnValue.NONE));
+    }
+}
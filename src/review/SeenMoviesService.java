@@ -0,0 +1,73 @@
+package review;
+
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import org.apache.log4j.Logger;
+
+/**
+ * Manages the movies each Amazon Videos user has reviewed. The set is projected from the
+ * review table's stream, so reading it costs a single GetItem however many reviews there are.
+ */
+public class SeenMoviesService {
+
+    public static final int MAX_COMPLETE_ATTEMPTS = 3;
+
+    private final Logger log = Logger.getLogger(SeenMoviesService.class);
+    private final SeenMoviesDAO seenMoviesDAO;
+    private final ReviewDAO reviewDAO;
+
+    public SeenMoviesService(SeenMoviesDAO seenMoviesDAO, ReviewDAO reviewDAO) {
+        this.seenMoviesDAO = seenMoviesDAO;
+        this.reviewDAO = reviewDAO;
+    }
+
+    /**
+     * Fetch the movies a user has reviewed. Users whose set has not been completed yet have it
+     * built from their reviews and stored for next time. Should a movie be removed from the set
+     * while it is being built, it is built again, up to {@value #MAX_COMPLETE_ATTEMPTS} times in all.
+     *
+     * @param userId the userId of the user
+     * @return the SeenMovies of the user
+     */
+    public SeenMovies fetchSeenMovies(String userId) {
+        SeenMovies seenMovies = null;
+        for (int attempt = 0; attempt < MAX_COMPLETE_ATTEMPTS; attempt++) {
+            final SeenMovies stored = seenMoviesDAO.fetch(userId).orElse(null);
+            if (stored != null && stored.isComplete()) {
+                return stored;
+            }
+
+            final long removals = stored == null || stored.getRemovals() == null ? 0 : stored.getRemovals();
+            seenMovies = SeenMovies.of(userId, reviewDAO.listReviewedMovies(userId));
+            try {
+                seenMoviesDAO.complete(seenMovies, removals);
+                return seenMovies;
+            }
+            catch (ConditionalCheckFailedException e) {
+                log.debug(String.format("The seen movies of user {%s} changed while being completed.", userId));
+            }
+        }
+        // Built from the user's reviews, so correct for now, but left for a later request to store
+        return seenMovies;
+    }
+
+    /**
+     * Updates the movies a user has reviewed from a review table stream record.
+     *
+     * @param record a {@code DynamodbStreamRecord} from the review table
+     */
+    public void project(DynamodbEvent.DynamodbStreamRecord record) {
+        switch (record.getEventName()) {
+            case LatestFavoriteService.INSERT_EVENT_NAME:
+                final Review created = reviewDAO.valueOf(record.getDynamodb().getNewImage());
+                seenMoviesDAO.add(created.getUserId(), created.getImdbId());
+                break;
+            case LatestFavoriteService.REMOVE_EVENT_NAME:
+                final Review deleted = reviewDAO.valueOf(record.getDynamodb().getOldImage());
+                seenMoviesDAO.remove(deleted.getUserId(), deleted.getImdbId());
+                break;
+            default:
+                // Updating a review does not change which movie it is about
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package review;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represents an immutable response to a batch of stream records, listing the records that
+ * failed. Lambda checkpoints the stream at the earliest failed record and retries from there,
+ * rather than retrying, or dropping, the whole batch. The stream event source mapping must
+ * have the {@code ReportBatchItemFailures} function response type.
+ */
+public class StreamsEventResponse {
+
+    private final List<BatchItemFailure> batchItemFailures;
+
+    public StreamsEventResponse(List<BatchItemFailure> batchItemFailures) {
+        this.batchItemFailures = Collections.unmodifiableList(batchItemFailures);
+    }
+
+    public List<BatchItemFailure> getBatchItemFailures() {
+        return batchItemFailures;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof StreamsEventResponse
+                && Objects.equals(batchItemFailures, ((StreamsEventResponse) other).batchItemFailures);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(batchItemFailures);
+    }
+
+    /**
+     * A stream record that failed, identified by its sequence number.
+     */
+    public static class BatchItemFailure {
+
+        private final String itemIdentifier;
+
+        public BatchItemFailure(String itemIdentifier) {
+            this.itemIdentifier = itemIdentifier;
+        }
+
+        public String getItemIdentifier() {
+            return itemIdentifier;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof BatchItemFailure
+                    && Objects.equals(itemIdentifier, ((BatchItemFailure) other).itemIdentifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(itemIdentifier);
+        }
+    }
+}
@@ -1,21 +1,37 @@
 package user;
 
+import cache.ReadThroughCache;
 import exceptions.UserNotFoundException;
 import java.util.Optional;
 import org.apache.commons.lang3.StringUtils;
 
 /**
- * Manages users for Amazon Videos.
+ * Manages users for Amazon Videos. Users fetched by userId are cached, to avoid multiple
+ * database calls to validate the same user.
  */
 public class UserService {
 
-    private final UserDAO userDAO;
+    public static final int DEFAULT_CACHE_MAXIMUM_SIZE = 10_000;
+    public static final int DEFAULT_CACHE_TTL_SECONDS = 300;
+    public static final int DEFAULT_CACHE_NEGATIVE_TTL_SECONDS = 30;
 
-    /* Cached user to avoid multiple database calls to validate user */
-    private User userCache;
+    private final ReadThroughCache<String, User> userCache;
 
     public UserService(UserDAO userDAO) {
-        this.userDAO = userDAO;
+        this(userDAO, DEFAULT_CACHE_MAXIMUM_SIZE, DEFAULT_CACHE_TTL_SECONDS, DEFAULT_CACHE_NEGATIVE_TTL_SECONDS);
+    }
+
+    /**
+     * Constructs a UserService.
+     *
+     * @param userDAO                 the user DAO
+     * @param cacheMaximumSize        the maximum number of userIds, found or not, to cache
+     * @param cacheTtlSeconds         the number of seconds after which a cached user is fetched again
+     * @param cacheNegativeTtlSeconds the number of seconds after which an unknown userId is looked up again
+     */
+    public UserService(UserDAO userDAO, long cacheMaximumSize, long cacheTtlSeconds, long cacheNegativeTtlSeconds) {
+        this.userCache = new ReadThroughCache<>("users", userDAO::fetch, cacheMaximumSize, cacheTtlSeconds,
+                cacheNegativeTtlSeconds);
     }
 
     /**
@@ -29,7 +45,7 @@ public class UserService {
             final String message = String.format("Cannot look up user by invalid userId value. {userId: %s}", userId);
             throw new IllegalArgumentException(message);
         }
-        return userDAO.fetch(userId);
+        return userCache.get(userId);
     }
 
     /**
@@ -40,18 +56,7 @@ public class UserService {
      * @throws UserNotFoundException if the user could not be found
      */
     public User getUser(String userId) throws UserNotFoundException {
-        if (userCache != null && userId.equals(userCache.getLogin())) {
-            return userCache;
-        }
-        else {
-            final Optional<User> user = fetch(userId);
-            user.ifPresent(this::updateUserCache);
-            return user.orElseThrow(() -> new UserNotFoundException(
-                    String.format("The specified user: {%s} could not be found.", userId)));
-        }
-    }
-
-    private void updateUserCache(User newUser) {
-        userCache = newUser;
+        return fetch(userId).orElseThrow(() -> new UserNotFoundException(
+                String.format("The specified user: {%s} could not be found.", userId)));
     }
 }
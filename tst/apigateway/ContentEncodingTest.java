@@ -0,0 +1,56 @@
+package apigateway;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Collections;
+import java.util.Optional;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ContentEncodingTest {
+
+    @Test
+    public void negotiateWithoutHeaders() {
+        assertEquals(Optional.empty(), ContentEncoding.negotiate(null));
+        assertEquals(Optional.empty(), ContentEncoding.negotiate(Collections.emptyMap()));
+    }
+
+    @Test
+    public void negotiatePrefersGzip() {
+        assertEquals(Optional.of(ContentEncoding.GZIP), negotiate("deflate, gzip, br"));
+    }
+
+    @Test
+    public void negotiateDeflate() {
+        assertEquals(Optional.of(ContentEncoding.DEFLATE), negotiate("deflate"));
+    }
+
+    @Test
+    public void negotiateByQuality() {
+        assertEquals(Optional.of(ContentEncoding.DEFLATE), negotiate("gzip;q=0.5, deflate;q=0.8"));
+    }
+
+    @Test
+    public void negotiateRefusedEncodings() {
+        assertEquals(Optional.of(ContentEncoding.DEFLATE), negotiate("gzip;q=0, deflate"));
+        assertEquals(Optional.empty(), negotiate("gzip;q=0, deflate;q=0.0"));
+        assertEquals(Optional.empty(), negotiate("identity, br"));
+    }
+
+    @Test
+    public void negotiateWildcard() {
+        assertEquals(Optional.of(ContentEncoding.GZIP), negotiate("*"));
+        assertEquals(Optional.of(ContentEncoding.DEFLATE), negotiate("gzip;q=0, *;q=0.1"));
+        assertEquals(Optional.empty(), negotiate("*;q=0"));
+    }
+
+    @Test
+    public void negotiateIgnoresHeaderCase() {
+        assertEquals(Optional.of(ContentEncoding.GZIP),
+                ContentEncoding.negotiate(ImmutableMap.of("accept-encoding", "GZIP")));
+    }
+
+    private static Optional<ContentEncoding> negotiate(String acceptEncoding) {
+        return ContentEncoding.negotiate(ImmutableMap.of("Accept-Encoding", acceptEncoding));
+    }
+}
@@ -0,0 +1,42 @@
+package apigateway;
+
+import java.util.zip.Deflater;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class DeflaterPoolTest {
+
+    @Test
+    public void reusesReleasedDeflaters() {
+        final DeflaterPool pool = new DeflaterPool(Deflater.DEFAULT_COMPRESSION, true, 1);
+        final Deflater deflater = pool.borrow();
+        deflater.setInput(new byte[] {1, 2, 3});
+        deflater.finish();
+        deflater.deflate(new byte[64]);
+
+        pool.release(deflater);
+
+        assertEquals(1, pool.idleCount());
+        final Deflater reused = pool.borrow();
+        assertSame(deflater, reused);
+        assertEquals(0, reused.getTotalIn());
+        assertEquals(0, pool.idleCount());
+    }
+
+    @Test
+    public void endsDeflatersBeyondCapacity() {
+        final DeflaterPool pool = new DeflaterPool(Deflater.DEFAULT_COMPRESSION, true, 1);
+        final Deflater first = pool.borrow();
+        final Deflater second = pool.borrow();
+        assertNotSame(first, second);
+
+        pool.release(first);
+        pool.release(second);
+
+        assertEquals(1, pool.idleCount());
+        assertSame(first, pool.borrow());
+    }
+}
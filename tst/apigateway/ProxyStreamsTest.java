@@ -0,0 +1,219 @@
+package apigateway;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ProxyStreamsTest {
+
+    private static final String EVENT = "{\"resource\": \"/reviews/{userId}\", "
+            + "\"pathParameters\": {\"userId\": \"larry\"}, "
+            + "\"queryStringParameters\": {\"count\": \"10\"}, "
+            + "\"headers\": null, "
+            + "\"requestContext\": {\"requestTimeEpoch\": 1515018696000, \"identity\": {}}, "
+            + "\"body\": null}";
+
+    private static final String MEDIA_TYPE = "application/vnd.reviews+json";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void readRequest() throws Exception {
+        final APIGatewayProxyRequestEvent request = ProxyStreams.readRequest(
+                new ByteArrayInputStream(EVENT.getBytes(StandardCharsets.UTF_8)), mapper);
+
+        assertEquals(Collections.singletonMap("userId", "larry"), request.getPathParameters());
+        assertEquals(Collections.singletonMap("count", "10"), request.getQueryStringParameters());
+        assertNull(request.getHeaders());
+        assertNull(request.getBody());
+    }
+
+    @Test
+    public void writeResponseEscapesBody() throws Exception {
+        final String body = "{\"message\" : \"a \\\"quoted\\\" \u00e9\nnew line\t\u0001\"}";
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ProxyStreams.writeResponse(output, 400, body);
+
+        final JsonNode response = mapper.readTree(output.toByteArray());
+        assertEquals(400, response.get("statusCode").asInt());
+        assertEquals(body, response.get("body").asText());
+    }
+
+    @Test
+    public void writeResponseStreamsValue() throws Exception {
+        final List<Map<String, Object>> value = Arrays.asList(
+                ImmutableMap.of("title", "The \"Movie\"", "rating", 7.5),
+                ImmutableMap.of("title", "Back\\slash", "rating", 5.0));
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ProxyStreams.writeResponse(output, 200, mapper.writerFor(List.class), value);
+
+        final JsonNode response = mapper.readTree(output.toByteArray());
+        assertEquals(200, response.get("statusCode").asInt());
+        assertEquals(mapper.writeValueAsString(value), response.get("body").asText());
+    }
+
+    @Test
+    public void writeResponseLeavesOutputEmptyIfValueFailsToSerialize() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try {
+            ProxyStreams.writeResponse(output, 200, mapper.writerFor(List.class),
+                    Collections.singletonList(new Object()));
+            fail("Expected the value to fail to serialize.");
+        }
+        catch (JsonMappingException e) {
+            assertEquals(0, output.size());
+        }
+    }
+
+    @Test
+    public void writeResponseWithoutAcceptedEncoding() throws Exception {
+        final List<String> value = largeValue();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ProxyStreams.writeResponse(output, 200, mapper.writerFor(List.class), value, compression(16),
+                headers("br"));
+
+        final JsonNode response = mapper.readTree(output.toByteArray());
+        assertEquals(mapper.writeValueAsString(value), response.get("body").asText());
+        assertFalse(response.has("isBase64Encoded"));
+        assertEquals("Accept, Accept-Encoding", response.get("headers").get("Vary").asText());
+    }
+
+    @Test
+    public void writeResponseForJsonClient() throws Exception {
+        final List<String> value = largeValue();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ProxyStreams.writeResponse(output, 200, mapper.writerFor(List.class), value, compression(16),
+                ImmutableMap.of("Accept", "application/json, " + MEDIA_TYPE, "Accept-Encoding", "gzip"));
+
+        // API Gateway would pass a base64 encoded body on to this client as it is
+        final JsonNode response = mapper.readTree(output.toByteArray());
+        assertEquals(mapper.writeValueAsString(value), response.get("body").asText());
+        assertFalse(response.has("isBase64Encoded"));
+        assertFalse(response.get("headers").has("Content-Encoding"));
+    }
+
+    @Test
+    public void writeCompressibleResponseLeavesOutputEmptyIfValueFailsToSerialize() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try {
+            ProxyStreams.writeResponse(output, 200, mapper.writerFor(List.class),
+                    Collections.singletonList(new Object()), compression(0), headers("gzip"));
+            fail("Expected the value to fail to serialize.");
+        }
+        catch (JsonMappingException e) {
+            assertEquals(0, output.size());
+        }
+    }
+
+    @Test
+    public void writeResponseBelowThreshold() throws Exception {
+        final List<String> value = Arrays.asList("The \"Movie\"", "\u00e9");
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ProxyStreams.writeResponse(output, 200, mapper.writerFor(List.class), value, compression(1024),
+                headers("gzip"));
+
+        final JsonNode response = mapper.readTree(output.toByteArray());
+        assertEquals(mapper.writeValueAsString(value), response.get("body").asText());
+        assertFalse(response.has("isBase64Encoded"));
+        assertFalse(response.get("headers").has("Content-Encoding"));
+    }
+
+    @Test
+    public void writeResponseGzip() throws Exception {
+        final List<String> value = largeValue();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ProxyStreams.writeResponse(output, 200, mapper.writerFor(List.class), value, compression(16),
+                headers("gzip, deflate"));
+
+        final JsonNode response = mapper.readTree(output.toByteArray());
+        assertTrue(response.get("isBase64Encoded").asBoolean());
+        assertEquals("gzip", response.get("headers").get("Content-Encoding").asText());
+        final byte[] body = Base64.getDecoder().decode(response.get("body").asText());
+        assertEquals(mapper.writeValueAsString(value), inflate(new GZIPInputStream(new ByteArrayInputStream(body))));
+    }
+
+    @Test
+    public void writeResponseDeflate() throws Exception {
+        final List<String> value = largeValue();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ProxyStreams.writeResponse(output, 200, mapper.writerFor(List.class), value, compression(16),
+                headers("deflate"));
+
+        final JsonNode response = mapper.readTree(output.toByteArray());
+        assertTrue(response.get("isBase64Encoded").asBoolean());
+        assertEquals("deflate", response.get("headers").get("Content-Encoding").asText());
+        final byte[] body = Base64.getDecoder().decode(response.get("body").asText());
+        assertEquals(mapper.writeValueAsString(value),
+                inflate(new InflaterInputStream(new ByteArrayInputStream(body))));
+    }
+
+    @Test
+    public void writeResponseReusesDeflaters() throws Exception {
+        final ResponseCompression compression = compression(16);
+
+        for (int i = 0; i < 3; i++) {
+            ProxyStreams.writeResponse(new ByteArrayOutputStream(), 200, mapper.writerFor(List.class), largeValue(),
+                    compression, headers("gzip"));
+        }
+
+        assertEquals(1, compression.pool(ContentEncoding.GZIP).idleCount());
+        assertEquals(0, compression.pool(ContentEncoding.DEFLATE).idleCount());
+    }
+
+    private static ResponseCompression compression(int thresholdBytes) {
+        return new ResponseCompression(MEDIA_TYPE, thresholdBytes, Deflater.DEFAULT_COMPRESSION, 2);
+    }
+
+    private static Map<String, String> headers(String acceptEncoding) {
+        return ImmutableMap.of("Accept", MEDIA_TYPE, "Accept-Encoding", acceptEncoding);
+    }
+
+    private static List<String> largeValue() {
+        final List<String> value = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            value.add("review " + i + " of a \"movie\" \u00e9");
+        }
+        return value;
+    }
+
+    private static String inflate(InputStream input) throws IOException {
+        final ByteArrayOutputStream inflated = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        for (int read = input.read(buffer); read != -1; read = input.read(buffer)) {
+            inflated.write(buffer, 0, read);
+        }
+        return new String(inflated.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,50 @@
+package apigateway;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.zip.Deflater;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ResponseCompressionTest {
+
+    private static final String MEDIA_TYPE = "application/vnd.reviews+json";
+
+    private final ResponseCompression compression =
+            new ResponseCompression(MEDIA_TYPE, 1024, Deflater.DEFAULT_COMPRESSION, 2);
+
+    @Test
+    public void negotiateWithoutHeaders() {
+        assertEquals(Optional.empty(), compression.negotiate(null));
+        assertEquals(Optional.empty(), compression.negotiate(Collections.emptyMap()));
+    }
+
+    @Test
+    public void negotiateMediaTypeAcceptedFirst() {
+        assertEquals(Optional.of(ContentEncoding.GZIP), compression.negotiate(ImmutableMap.of(
+                "accept", "Application/Vnd.Reviews+JSON; q=1.0, application/json", "Accept-Encoding", "gzip")));
+    }
+
+    @Test
+    public void negotiateMediaTypeNotAcceptedFirst() {
+        assertEquals(Optional.empty(), compression.negotiate(ImmutableMap.of(
+                "Accept", "application/json, " + MEDIA_TYPE, "Accept-Encoding", "gzip")));
+    }
+
+    @Test
+    public void negotiateWithoutAccept() {
+        assertEquals(Optional.empty(), compression.negotiate(ImmutableMap.of("Accept-Encoding", "gzip")));
+    }
+
+    @Test
+    public void negotiateWithoutAcceptedEncoding() {
+        assertEquals(Optional.empty(), compression.negotiate(ImmutableMap.of("Accept", MEDIA_TYPE)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeThreshold() {
+        new ResponseCompression(MEDIA_TYPE, -1, Deflater.DEFAULT_COMPRESSION, 2);
+    }
+}
@@ -0,0 +1,232 @@
+package cache;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.apache.log4j.Appender;
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.Logger;
+import org.apache.log4j.spi.LoggingEvent;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReadThroughCacheTest {
+
+    private static final String DESCRIPTION = "values";
+    private static final String KEY = "key";
+    private static final String VALUE = "value";
+    private static final long TTL_SECONDS = 60;
+    private static final long NEGATIVE_TTL_SECONDS = 10;
+
+    private Function<String, Optional<String>> loader;
+    private Function<String, CompletableFuture<Optional<String>>> asyncLoader;
+    private AtomicLong nanos;
+    private ReadThroughCache<String, String> cache;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        loader = mock(Function.class);
+        asyncLoader = mock(Function.class);
+        nanos = new AtomicLong();
+        when(loader.apply(anyString())).thenReturn(Optional.of(VALUE));
+
+        cache = new ReadThroughCache<>(DESCRIPTION, loader, 2, TTL_SECONDS, NEGATIVE_TTL_SECONDS, new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        });
+    }
+
+    @Test
+    public void getLoadsOnce() {
+        assertEquals(Optional.of(VALUE), cache.get(KEY));
+        assertEquals(Optional.of(VALUE), cache.get(KEY));
+
+        verify(loader, times(1)).apply(KEY);
+        assertEquals(1, cache.getStats().hitCount());
+        assertEquals(1, cache.getStats().missCount());
+    }
+
+    @Test
+    public void getCachesMissingValues() {
+        when(loader.apply(KEY)).thenReturn(Optional.empty());
+
+        assertFalse(cache.get(KEY).isPresent());
+        assertFalse(cache.get(KEY).isPresent());
+
+        verify(loader, times(1)).apply(KEY);
+    }
+
+    @Test
+    public void getExpiredMissingValue() {
+        when(loader.apply(KEY)).thenReturn(Optional.empty());
+        cache.get(KEY);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(NEGATIVE_TTL_SECONDS));
+        when(loader.apply(KEY)).thenReturn(Optional.of(VALUE));
+
+        assertEquals(Optional.of(VALUE), cache.get(KEY));
+    }
+
+    @Test
+    public void getFoundValueOutlivesNegativeTtl() {
+        cache.get(KEY);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(NEGATIVE_TTL_SECONDS));
+
+        cache.get(KEY);
+
+        verify(loader, times(1)).apply(KEY);
+    }
+
+    @Test
+    public void getExpiredEntry() {
+        cache.get(KEY);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(TTL_SECONDS));
+
+        cache.get(KEY);
+
+        verify(loader, times(2)).apply(KEY);
+    }
+
+    @Test
+    public void getEvictsWhenFull() {
+        cache.get("a");
+        cache.get("b");
+        cache.get("c");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getStats().evictionCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getLoaderException() {
+        when(loader.apply(KEY)).thenThrow(new IllegalStateException("test"));
+
+        cache.get(KEY);
+    }
+
+    @Test
+    public void getAsyncCachesLoadedValue() {
+        when(asyncLoader.apply(KEY)).thenReturn(CompletableFuture.completedFuture(Optional.of(VALUE)));
+
+        assertEquals(Optional.of(VALUE), cache.getAsync(KEY, asyncLoader).join());
+        assertEquals(Optional.of(VALUE), cache.get(KEY));
+
+        verify(loader, never()).apply(KEY);
+    }
+
+    @Test
+    public void getAsyncCachedValue() {
+        cache.get(KEY);
+
+        assertEquals(Optional.of(VALUE), cache.getAsync(KEY, asyncLoader).join());
+
+        verify(asyncLoader, never()).apply(KEY);
+    }
+
+    @Test
+    public void getAsyncExpiredMissingValue() {
+        when(loader.apply(KEY)).thenReturn(Optional.empty());
+        when(asyncLoader.apply(KEY)).thenReturn(CompletableFuture.completedFuture(Optional.of(VALUE)));
+        cache.get(KEY);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(NEGATIVE_TTL_SECONDS));
+
+        assertEquals(Optional.of(VALUE), cache.getAsync(KEY, asyncLoader).join());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void getAllLoadsMissingKeysOnce() {
+        cache.get(KEY);
+        final Function<Collection<String>, Map<String, String>> bulkLoader = mock(Function.class);
+        when(bulkLoader.apply(Collections.singleton("other"))).thenReturn(Collections.singletonMap("other", "found"));
+
+        final Map<String, String> result = cache.getAll(Arrays.asList(KEY, "other"), bulkLoader);
+
+        assertEquals(ImmutableMap.of(KEY, VALUE, "other", "found"), result);
+        verify(bulkLoader).apply(Collections.singleton("other"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void getAllCachesMissingValues() {
+        final Function<Collection<String>, Map<String, String>> bulkLoader = mock(Function.class);
+        when(bulkLoader.apply(Collections.singleton(KEY))).thenReturn(Collections.emptyMap());
+
+        assertEquals(Collections.emptyMap(), cache.getAll(Collections.singletonList(KEY), bulkLoader));
+        assertEquals(Optional.empty(), cache.get(KEY));
+
+        verify(loader, never()).apply(KEY);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeTtlGreaterThanTtl() {
+        new ReadThroughCache<>(DESCRIPTION, loader, 2, TTL_SECONDS, TTL_SECONDS + 1);
+    }
+
+    @Test
+    public void getLogsStatsOncePerInterval() {
+        final List<String> messages = new ArrayList<>();
+        final Appender appender = new AppenderSkeleton() {
+            @Override
+            protected void append(LoggingEvent event) {
+                messages.add(event.getRenderedMessage());
+            }
+
+            @Override
+            public void close() {}
+
+            @Override
+            public boolean requiresLayout() {
+                return false;
+            }
+        };
+        Logger.getLogger(ReadThroughCache.class).addAppender(appender);
+        try {
+            cache.get(KEY);
+            cache.get(KEY);
+            assertTrue(messages.isEmpty());
+
+            nanos.addAndGet(ReadThroughCache.STATS_LOG_INTERVAL_NANOS);
+            cache.get(KEY);
+            cache.get(KEY);
+
+            assertEquals(Collections.singletonList(
+                    "The values cache holds 1 entries, after 1 hits, 1 misses and 0 evictions."), messages);
+        }
+        finally {
+            Logger.getLogger(ReadThroughCache.class).removeAppender(appender);
+        }
+    }
+
+    @Test
+    public void invalidate() {
+        cache.get(KEY);
+        cache.invalidate(KEY);
+
+        cache.get(KEY);
+
+        verify(loader, times(2)).apply(KEY);
+    }
+}
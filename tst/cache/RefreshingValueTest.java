@@ -0,0 +1,129 @@
+package cache;
+
+import com.google.common.base.Ticker;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RefreshingValueTest {
+
+    private static final long REFRESH_SECONDS = 60;
+
+    private AtomicLong nanos;
+    private AtomicInteger loads;
+    private List<Runnable> pending;
+    private RefreshingValue<Integer> value;
+
+    @Before
+    public void setUp() {
+        nanos = new AtomicLong();
+        loads = new AtomicInteger();
+        pending = new ArrayList<>();
+        value = new RefreshingValue<>("test value", loads::incrementAndGet, pending::add, REFRESH_SECONDS,
+                new Ticker() {
+                    @Override
+                    public long read() {
+                        return nanos.get();
+                    }
+                });
+    }
+
+    @Test
+    public void getLoadsInBackground() {
+        assertFalse(value.get().isPresent());
+        assertEquals(1, pending.size());
+
+        runPending();
+
+        assertEquals(Integer.valueOf(1), value.get().get());
+        assertTrue(pending.isEmpty());
+    }
+
+    @Test
+    public void getReloadsOnceOutOfDate() {
+        value.get();
+        runPending();
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(REFRESH_SECONDS) - 1);
+        value.get();
+        assertTrue(pending.isEmpty());
+
+        nanos.incrementAndGet();
+        assertEquals(Integer.valueOf(1), value.get().get());
+        value.get();
+        assertEquals(1, pending.size());
+        runPending();
+
+        assertEquals(Integer.valueOf(2), value.get().get());
+    }
+
+    @Test
+    public void getReloadsWithinJitterOfRefresh() {
+        final long jitterSeconds = 10;
+        value = new RefreshingValue<>("test value", loads::incrementAndGet, pending::add, REFRESH_SECONDS,
+                jitterSeconds, new Ticker() {
+                    @Override
+                    public long read() {
+                        return nanos.get();
+                    }
+                });
+        value.get();
+        runPending();
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(REFRESH_SECONDS) - 1);
+        value.get();
+        assertTrue(pending.isEmpty());
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(jitterSeconds) + 1);
+        value.get();
+        assertEquals(1, pending.size());
+        runPending();
+
+        assertEquals(Integer.valueOf(2), value.get().get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeJitter() {
+        new RefreshingValue<>("test value", loads::incrementAndGet, pending::add, REFRESH_SECONDS, -1,
+                Ticker.systemTicker());
+    }
+
+    @Test
+    public void getKeepsValueWhenReloadFails() {
+        final AtomicInteger attempts = new AtomicInteger();
+        value = new RefreshingValue<>("test value", () -> {
+            if (attempts.incrementAndGet() > 1) {
+                throw new IllegalStateException("test");
+            }
+            return 1;
+        }, pending::add, REFRESH_SECONDS, new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        });
+        value.get();
+        runPending();
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(REFRESH_SECONDS));
+        value.get();
+        runPending();
+
+        assertEquals(Integer.valueOf(1), value.get().get());
+        assertEquals(2, attempts.get());
+    }
+
+    private void runPending() {
+        final List<Runnable> tasks = new ArrayList<>(pending);
+        pending.clear();
+        tasks.forEach(Runnable::run);
+    }
+}
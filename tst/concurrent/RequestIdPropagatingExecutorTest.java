@@ -0,0 +1,66 @@
+package concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.log4j.MDC;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class RequestIdPropagatingExecutorTest {
+
+    private static final String REQUEST_ID = "c6af9ac6-7b61-11e6-9a41-93e8deadbeef";
+
+    private ExecutorService delegate;
+    private RequestIdPropagatingExecutor executor;
+
+    @Before
+    public void setUp() {
+        delegate = Executors.newSingleThreadExecutor();
+
+        executor = new RequestIdPropagatingExecutor(delegate);
+    }
+
+    @After
+    public void tearDown() {
+        MDC.remove(RequestIdPropagatingExecutor.REQUEST_ID);
+        delegate.shutdownNow();
+    }
+
+    @Test
+    public void propagatesRequestId() throws Exception {
+        final AtomicReference<Object> seen = new AtomicReference<>();
+        MDC.put(RequestIdPropagatingExecutor.REQUEST_ID, REQUEST_ID);
+
+        executor.execute(() -> seen.set(MDC.get(RequestIdPropagatingExecutor.REQUEST_ID)));
+        delegate.submit(() -> { }).get();
+
+        assertEquals(REQUEST_ID, seen.get());
+    }
+
+    @Test
+    public void clearsRequestIdAfterTask() throws Exception {
+        final AtomicReference<Object> seen = new AtomicReference<>();
+        MDC.put(RequestIdPropagatingExecutor.REQUEST_ID, REQUEST_ID);
+        executor.execute(() -> { });
+        delegate.submit(() -> { }).get();
+
+        delegate.submit(() -> seen.set(MDC.get(RequestIdPropagatingExecutor.REQUEST_ID))).get();
+
+        assertNull(seen.get());
+    }
+
+    @Test
+    public void keepsRequestIdWhenRunOnCallingThread() {
+        final RequestIdPropagatingExecutor direct = new RequestIdPropagatingExecutor(Runnable::run);
+        MDC.put(RequestIdPropagatingExecutor.REQUEST_ID, REQUEST_ID);
+
+        direct.execute(() -> { });
+
+        assertEquals(REQUEST_ID, MDC.get(RequestIdPropagatingExecutor.REQUEST_ID));
+    }
+}
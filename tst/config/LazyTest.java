@@ -0,0 +1,56 @@
+package config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class LazyTest {
+
+    @Test
+    public void getCreatesOnlyWhenFirstAsked() {
+        final AtomicInteger created = new AtomicInteger();
+        final Lazy<Object> lazy = Lazy.of("test component", () -> {
+            created.incrementAndGet();
+            return new Object();
+        });
+        assertEquals(0, created.get());
+
+        final Object first = lazy.get();
+
+        assertSame(first, lazy.get());
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    public void getCreatesDependenciesAlong() {
+        final AtomicInteger created = new AtomicInteger();
+        final Lazy<Integer> dependency = Lazy.of("test dependency", created::incrementAndGet);
+        final Lazy<Integer> dependent = Lazy.of("test component", () -> dependency.get() + 1);
+
+        assertEquals(Integer.valueOf(2), dependent.get());
+        assertEquals(Integer.valueOf(1), dependency.get());
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    public void getRetriesFailedCreation() {
+        final AtomicInteger attempts = new AtomicInteger();
+        final Lazy<Integer> lazy = Lazy.of("test component", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("test");
+            }
+            return attempts.get();
+        });
+
+        try {
+            lazy.get();
+        }
+        catch (IllegalStateException e) {
+            assertEquals("test", e.getMessage());
+        }
+
+        assertEquals(Integer.valueOf(2), lazy.get());
+    }
+}
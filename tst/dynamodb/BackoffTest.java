@@ -0,0 +1,41 @@
+package dynamodb;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BackoffTest {
+
+    private static final long BASE_DELAY = 10;
+    private static final long MAX_DELAY = 100;
+
+    private final Backoff backoff = new Backoff(BASE_DELAY, MAX_DELAY, 3);
+
+    @Test
+    public void delayIsWithinExponentialCeiling() {
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(backoff.delayMillis(0) <= BASE_DELAY);
+            assertTrue(backoff.delayMillis(2) <= BASE_DELAY * 4);
+        }
+    }
+
+    @Test
+    public void delayIsCappedAtMaximum() {
+        for (int i = 0; i < 1000; i++) {
+            final long delay = backoff.delayMillis(Integer.MAX_VALUE);
+
+            assertTrue(delay >= 0 && delay <= MAX_DELAY);
+        }
+    }
+
+    @Test
+    public void noDelay() {
+        assertEquals(0, new Backoff(0, 0, 1).delayMillis(5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidMaximumDelay() {
+        new Backoff(MAX_DELAY, BASE_DELAY, 1);
+    }
+}
@@ -1,30 +1,68 @@
 package dynamodb;
 
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBDeleteExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBRangeKey;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBSaveExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
 import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedList;
 import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedQueryList;
 import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedScanList;
 import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
 import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import com.amazonaws.services.dynamodbv2.model.AmazonDynamoDBException;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.DeleteRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.services.dynamodbv2.model.ReturnValue;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemResult;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class DynamoDBMapperWrapperTest {
 
     private DynamoDBMapper mapper;
+    private AmazonDynamoDB client;
     private DynamoDBMapperConfig config;
     private Object toSave;
     private Object key;
@@ -43,6 +81,7 @@ public class DynamoDBMapperWrapperTest {
     @Before
     public void setUp() {
         mapper = mock(DynamoDBMapper.class);
+        client = mock(AmazonDynamoDB.class);
         config = DynamoDBMapperConfig.DEFAULT;
         toSave = new Object();
         key = new Object();
@@ -56,7 +95,7 @@ public class DynamoDBMapperWrapperTest {
         queryResultPage = new QueryResultPage<>();
         scanResultPage = new ScanResultPage<>();
 
-        mapperWrapper = new DynamoDBMapperWrapper(mapper);
+        mapperWrapper = new DynamoDBMapperWrapper(mapper, client, MoreExecutors.directExecutor());
     }
 
     @Test
@@ -95,6 +134,33 @@ public class DynamoDBMapperWrapperTest {
         assertEquals(toSave, result);
     }
 
+    @Test
+    public void updateClassWithUpdateItemRequest() {
+        final DynamoDBMapper realMapper = new DynamoDBMapper(client);
+        final UpdateItemRequest request = new UpdateItemRequest();
+        when(client.updateItem(request)).thenReturn(new UpdateItemResult()
+                .withAttributes(ImmutableMap.of("hashKey", new AttributeValue("key"))));
+        when(mapper.getTableModel(Item.class)).thenReturn(realMapper.getTableModel(Item.class));
+
+        final Item result = mapperWrapper.update(Item.class, request);
+
+        verify(client).updateItem(request);
+        assertEquals("key", result.getHashKey());
+        assertEquals("items", request.getTableName());
+        assertEquals(ReturnValue.ALL_NEW.toString(), request.getReturnValues());
+    }
+
+    @Test
+    public void updateClassWithUpdateItemRequestReturningNothing() {
+        final UpdateItemRequest request = new UpdateItemRequest().withReturnValues(ReturnValue.NONE);
+        when(client.updateItem(request)).thenReturn(new UpdateItemResult());
+
+        final Item result = mapperWrapper.update(Item.class, request);
+
+        verify(client).updateItem(request);
+        assertNull(result);
+    }
+
     @Test
     public void loadObject() {
         when(mapper.load(key)).thenReturn(loaded);
@@ -276,4 +342,500 @@ public class DynamoDBMapperWrapperTest {
 
         verify(mapper).batchWrite(write, delete);
     }
+
+    @Test
+    public void saveObjectAsync() {
+        final Object result = mapperWrapper.saveAsync(toSave).join();
+
+        verify(mapper).save(toSave);
+        assertEquals(toSave, result);
+    }
+
+    @Test
+    public void saveObjectWithSaveExpressionAsync() {
+        final DynamoDBSaveExpression expression = new DynamoDBSaveExpression();
+
+        final Object result = mapperWrapper.saveAsync(toSave, expression).join();
+
+        verify(mapper).save(toSave, expression);
+        assertEquals(toSave, result);
+    }
+
+    @Test
+    public void updateClassWithUpdateItemRequestAsync() {
+        final UpdateItemRequest request = new UpdateItemRequest();
+        when(client.updateItem(request)).thenReturn(new UpdateItemResult()
+                .withAttributes(ImmutableMap.of("hashKey", new AttributeValue("key"))));
+        when(mapper.getTableModel(Item.class)).thenReturn(new DynamoDBMapper(client).getTableModel(Item.class));
+
+        final Item result = mapperWrapper.updateAsync(Item.class, request).join();
+
+        assertEquals("key", result.getHashKey());
+    }
+
+    @Test
+    public void loadObjectAsync() {
+        when(mapper.load(key)).thenReturn(loaded);
+
+        final Optional result = mapperWrapper.loadAsync(key).join();
+
+        assertEquals(Optional.ofNullable(loaded), result);
+    }
+
+    @Test
+    public void loadClassWithHashKeyAsync() {
+        when(mapper.load(Object.class, key)).thenReturn(loaded);
+
+        final Optional result = mapperWrapper.loadAsync(Object.class, key).join();
+
+        assertEquals(Optional.ofNullable(loaded), result);
+    }
+
+    @Test
+    public void loadClassWithHashKeyAndRangeKeyAsync() {
+        when(mapper.load(Object.class, key, key)).thenReturn(loaded);
+
+        final Optional result = mapperWrapper.loadAsync(Object.class, key, key).join();
+
+        assertEquals(Optional.ofNullable(loaded), result);
+    }
+
+    @Test
+    public void queryPageWithClassAndQueryExpressionAsync() {
+        when(mapper.queryPage(Object.class, queryExpression)).thenReturn(queryResultPage);
+
+        final QueryResultPage result = mapperWrapper.queryPageAsync(Object.class, queryExpression).join();
+
+        assertEquals(queryResultPage, result);
+    }
+
+    @Test
+    public void scanPageWithClassAndScanExpressionAsync() {
+        when(mapper.scanPage(Object.class, scanExpression)).thenReturn(scanResultPage);
+
+        final ScanResultPage result = mapperWrapper.scanPageAsync(Object.class, scanExpression).join();
+
+        assertEquals(scanResultPage, result);
+    }
+
+    @Test
+    public void deleteObjectAsync() {
+        final Object result = mapperWrapper.deleteAsync(toDelete).join();
+
+        verify(mapper).delete(toDelete);
+        assertEquals(toDelete, result);
+    }
+
+    @Test
+    public void batchWriteAsync() {
+        final List<Object> write = Arrays.asList(new Object(), new Object(), new Object());
+        final List<Object> delete = Arrays.asList(new Object(), new Object(), new Object());
+
+        mapperWrapper.batchWriteAsync(write, delete).join();
+
+        verify(mapper).batchWrite(write, delete);
+    }
+
+    @Test(expected = CompletionException.class)
+    public void loadAsyncException() {
+        when(mapper.load(key)).thenThrow(new AmazonDynamoDBException("test"));
+
+        mapperWrapper.loadAsync(key).join();
+    }
+
+    @Test
+    public void queryAttributesReadsPagesLazily() {
+        final DynamoDBQueryExpression<Item> expression = new DynamoDBQueryExpression<Item>()
+                .withKeyConditionExpression("hashKey = :key")
+                .withExpressionAttributeValues(Collections.singletonMap(":key", new AttributeValue("key")));
+        final Map<String, AttributeValue> itemA = Collections.singletonMap("hashKey", new AttributeValue("a"));
+        when(client.query(any(QueryRequest.class)))
+                .thenReturn(new QueryResult().withItems(itemA).withLastEvaluatedKey(itemA))
+                .thenReturn(new QueryResult().withItems(Collections.singletonMap("hashKey", new AttributeValue("b"))));
+
+        final List<Map<String, AttributeValue>> first = mapperWrapper
+                .queryAttributes(Item.class, expression, "hashKey")
+                .limit(1)
+                .collect(Collectors.toList());
+
+        final ArgumentCaptor<QueryRequest> request = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(client, times(1)).query(request.capture());
+        assertEquals(Collections.singletonList(itemA), first);
+        assertEquals("items", request.getValue().getTableName());
+        assertEquals("#projected0", request.getValue().getProjectionExpression());
+        assertEquals("hashKey", request.getValue().getExpressionAttributeNames().get("#projected0"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void queryAttributesWithoutKeyConditionExpression() {
+        mapperWrapper.queryAttributes(Item.class, new DynamoDBQueryExpression<>(), "hashKey");
+    }
+
+    @Test
+    public void queryKeys() {
+        batchLoadWrapper();
+        final DynamoDBQueryExpression<Item> expression = new DynamoDBQueryExpression<Item>()
+                .withKeyConditionExpression("hashKey = :key");
+        when(client.query(any(QueryRequest.class)))
+                .thenReturn(new QueryResult().withItems(Collections.singletonMap("hashKey", new AttributeValue("a"))))
+                .thenReturn(new QueryResult().withItems(Collections.singletonMap("hashKey", new AttributeValue("b"))));
+
+        final List<ItemKey> result = mapperWrapper.queryKeys(Item.class, expression).collect(Collectors.toList());
+
+        verify(client, times(1)).query(any(QueryRequest.class));
+        assertEquals(Collections.singletonList(ItemKey.of("a")), result);
+    }
+
+    @Test
+    public void queryPageLazily() {
+        batchLoadWrapper();
+        final DynamoDBQueryExpression<Item> expression = new DynamoDBQueryExpression<Item>()
+                .withKeyConditionExpression("hashKey = :key")
+                .withLimit(2);
+        final Map<String, AttributeValue> lastEvaluatedKey =
+                Collections.singletonMap("hashKey", new AttributeValue("b"));
+        when(client.query(any(QueryRequest.class))).thenReturn(new QueryResult()
+                .withItems(Collections.singletonMap("hashKey", new AttributeValue("a")),
+                        Collections.singletonMap("hashKey", new AttributeValue("b")))
+                .withLastEvaluatedKey(lastEvaluatedKey));
+
+        final QueryResultPage<Item> result = mapperWrapper.queryPageLazily(Item.class, expression);
+
+        final ArgumentCaptor<QueryRequest> request = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(client).query(request.capture());
+        assertEquals(Integer.valueOf(2), request.getValue().getLimit());
+        assertEquals(Arrays.asList("a", "b"),
+                result.getResults().stream().map(Item::getHashKey).collect(Collectors.toList()));
+        assertEquals(lastEvaluatedKey, result.getLastEvaluatedKey());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void queryPageLazilyWithoutKeyConditionExpression() {
+        mapperWrapper.queryPageLazily(Item.class, new DynamoDBQueryExpression<>());
+    }
+
+    @Test
+    public void batchLoadSplitsKeysIntoBatches() {
+        final List<ItemKey> keys = IntStream.range(0, 250)
+                .mapToObj(i -> ItemKey.of("key" + i))
+                .collect(Collectors.toList());
+        batchLoadWrapper();
+        when(client.batchGetItem(any(BatchGetItemRequest.class))).thenAnswer(invocation -> new BatchGetItemResult()
+                .withResponses(echo(invocation.getArgumentAt(0, BatchGetItemRequest.class).getRequestItems())));
+
+        final Map<ItemKey, Item> result = mapperWrapper.batchLoad(Item.class, keys);
+
+        final ArgumentCaptor<BatchGetItemRequest> requests = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+        verify(client, times(3)).batchGetItem(requests.capture());
+        assertEquals(DynamoDBMapperWrapper.MAX_ITEMS_PER_BATCH_GET,
+                requests.getAllValues().get(0).getRequestItems().get("items").getKeys().size());
+        assertEquals(keys.size(), result.size());
+        assertEquals("key42", result.get(ItemKey.of("key42")).getHashKey());
+    }
+
+    @Test
+    public void batchLoadRetriesUnprocessedKeys() {
+        final List<ItemKey> keys = Arrays.asList(ItemKey.of("key1"), ItemKey.of("key2"));
+        batchLoadWrapper();
+        when(client.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenAnswer(invocation -> {
+                    final Map<String, KeysAndAttributes> requested =
+                            invocation.getArgumentAt(0, BatchGetItemRequest.class).getRequestItems();
+                    final List<Map<String, AttributeValue>> requestedKeys = requested.get("items").getKeys();
+                    return new BatchGetItemResult()
+                            .withResponses(ImmutableMap.of("items", requestedKeys.subList(0, 1)))
+                            .withUnprocessedKeys(requestedKeys.size() == 1
+                                                 ? null
+                                                 : ImmutableMap.of("items", new KeysAndAttributes()
+                                                         .withKeys(requestedKeys.subList(1, requestedKeys.size()))));
+                });
+
+        final Map<ItemKey, Item> result = mapperWrapper.batchLoad(Item.class, keys);
+
+        verify(client, times(2)).batchGetItem(any(BatchGetItemRequest.class));
+        assertEquals(2, result.size());
+    }
+
+    @Test(expected = SdkClientException.class)
+    public void batchLoadUnprocessedKeysAfterRetries() {
+        batchLoadWrapper();
+        when(client.batchGetItem(any(BatchGetItemRequest.class))).thenAnswer(invocation -> new BatchGetItemResult()
+                .withUnprocessedKeys(invocation.getArgumentAt(0, BatchGetItemRequest.class).getRequestItems()));
+
+        mapperWrapper.batchLoad(Item.class, Collections.singletonList(ItemKey.of("key")));
+    }
+
+    @Test
+    public void batchLoadKeyNotFound() {
+        batchLoadWrapper();
+        when(client.batchGetItem(any(BatchGetItemRequest.class))).thenReturn(new BatchGetItemResult());
+
+        final BatchLoadResult result = mapperWrapper.batchLoad(
+                Collections.singletonMap(Item.class, Collections.singletonList(ItemKey.of("key"))));
+
+        assertTrue(result.get(Item.class).isEmpty());
+        assertTrue(result.get(Object.class).isEmpty());
+    }
+
+    @Test
+    public void batchLoadNormalizedNumericRangeKey() {
+        batchLoadWrapper();
+        when(mapper.getTableModel(RatedItem.class))
+                .thenReturn(new DynamoDBMapper(client).getTableModel(RatedItem.class));
+        // DynamoDB returns numbers in their canonical form, so 8.0 comes back as 8
+        when(client.batchGetItem(any(BatchGetItemRequest.class))).thenReturn(new BatchGetItemResult()
+                .withResponses(ImmutableMap.of("rated_items", Collections.singletonList(ImmutableMap.of(
+                        "hashKey", new AttributeValue("key"), "rating", new AttributeValue().withN("8"))))));
+
+        final Map<ItemKey, RatedItem> result =
+                mapperWrapper.batchLoad(RatedItem.class, Collections.singletonList(ItemKey.of("key", 8.0)));
+
+        assertEquals(Collections.singleton(ItemKey.of("key", 8.0)), result.keySet());
+        assertEquals(8.0, result.get(ItemKey.of("key", 8.0)).getRating(), 0);
+    }
+
+    @Test
+    public void batchLoadBoundsBatchesInFlight() throws Exception {
+        final List<ItemKey> keys = IntStream.range(0, 500)
+                .mapToObj(i -> ItemKey.of("key" + i))
+                .collect(Collectors.toList());
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        when(mapper.getTableModel(Item.class)).thenReturn(new DynamoDBMapper(client).getTableModel(Item.class));
+        mapperWrapper = new DynamoDBMapperWrapper(mapper, client, executor, new Backoff(0, 0, 2));
+        when(client.batchGetItem(any(BatchGetItemRequest.class))).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return new BatchGetItemResult()
+                    .withResponses(echo(invocation.getArgumentAt(0, BatchGetItemRequest.class).getRequestItems()));
+        });
+
+        try {
+            final BatchLoadResult result = mapperWrapper.batchLoad(Collections.singletonMap(Item.class, keys), 2);
+
+            assertEquals(keys.size(), result.get(Item.class).size());
+            assertTrue(maxInFlight.get() <= 2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void batchLoadWithNoBatchesInFlight() {
+        mapperWrapper.batchLoad(Collections.singletonMap(Item.class, Collections.emptyList()), 0);
+    }
+
+    private void batchLoadWrapper() {
+        when(mapper.getTableModel(Item.class)).thenReturn(new DynamoDBMapper(client).getTableModel(Item.class));
+        mapperWrapper = new DynamoDBMapperWrapper(mapper, client, MoreExecutors.directExecutor(), new Backoff(0, 0, 2));
+    }
+
+    /* Responds to a batch get as if every key requested were found. */
+    private static Map<String, List<Map<String, AttributeValue>>> echo(Map<String, KeysAndAttributes> requested) {
+        return requested.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getKeys()));
+    }
+
+    @Test
+    public void bulkWriteSplitsObjectsIntoBatches() {
+        final List<Item> toWrite = items(0, 60);
+        final List<Item> toDelete = items(60, 70);
+        when(mapper.batchWrite(any(List.class), any(List.class))).thenReturn(Collections.emptyList());
+
+        final BatchWriteResult result = mapperWrapper.bulkWrite(toWrite, toDelete);
+
+        verify(mapper).batchWrite(toWrite.subList(0, 25), Collections.emptyList());
+        verify(mapper).batchWrite(toWrite.subList(25, 50), Collections.emptyList());
+        verify(mapper).batchWrite(toWrite.subList(50, 60), toDelete);
+        assertTrue(result.isSuccessful());
+    }
+
+    @Test
+    public void bulkWriteRetriesUnprocessedItems() {
+        final List<Item> toWrite = items(0, 2);
+        batchLoadWrapper();
+        when(mapper.batchWrite(toWrite, Collections.emptyList()))
+                .thenReturn(Collections.singletonList(failedBatch(null, toWrite.get(1))));
+        when(client.batchWriteItem(any(BatchWriteItemRequest.class))).thenReturn(new BatchWriteItemResult());
+
+        final BatchWriteResult result = mapperWrapper.bulkWrite(toWrite, Collections.emptyList());
+
+        final ArgumentCaptor<BatchWriteItemRequest> request = ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(client).batchWriteItem(request.capture());
+        assertEquals(1, request.getValue().getRequestItems().get("items").size());
+        assertTrue(result.isSuccessful());
+    }
+
+    @Test
+    public void bulkWriteUnprocessedItemsAfterRetries() {
+        final List<Item> toWrite = items(0, 2);
+        batchLoadWrapper();
+        final DynamoDBMapper.FailedBatch failedBatch = failedBatch(null, toWrite.get(1));
+        when(mapper.batchWrite(toWrite, Collections.emptyList())).thenReturn(Collections.singletonList(failedBatch));
+        when(client.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(new BatchWriteItemResult().withUnprocessedItems(failedBatch.getUnprocessedItems()));
+
+        final BatchWriteResult result = mapperWrapper.bulkWrite(toWrite, Collections.emptyList());
+
+        verify(client, times(2)).batchWriteItem(any(BatchWriteItemRequest.class));
+        assertEquals(Collections.singletonList(toWrite.get(1)), result.getFailedWrites());
+        assertTrue(result.getExceptions().isEmpty());
+    }
+
+    @Test
+    public void bulkWriteDoesNotRetryValidationErrors() {
+        final List<Item> toDelete = items(0, 1);
+        batchLoadWrapper();
+        final AmazonDynamoDBException exception = new AmazonDynamoDBException("test");
+        exception.setErrorCode("ValidationException");
+        exception.setStatusCode(400);
+        when(mapper.batchWrite(Collections.emptyList(), toDelete))
+                .thenReturn(Collections.singletonList(failedBatch(exception, null)));
+
+        final BatchWriteResult result = mapperWrapper.bulkWrite(Collections.emptyList(), toDelete);
+
+        verify(client, never()).batchWriteItem(any(BatchWriteItemRequest.class));
+        assertEquals(toDelete, result.getFailedDeletes());
+        assertEquals(Collections.singletonList(exception), result.getExceptions());
+    }
+
+    @Test
+    public void bulkWriteRecordsClientExceptions() {
+        final List<Item> toWrite = items(0, 2);
+        batchLoadWrapper();
+        final SdkClientException exception = new SdkClientException("timed out");
+        when(mapper.batchWrite(toWrite, Collections.emptyList()))
+                .thenReturn(Collections.singletonList(failedBatch(null, toWrite.get(1))));
+        when(client.batchWriteItem(any(BatchWriteItemRequest.class))).thenThrow(exception);
+
+        final BatchWriteResult result = mapperWrapper.bulkWrite(toWrite, Collections.emptyList());
+
+        verify(client, times(1)).batchWriteItem(any(BatchWriteItemRequest.class));
+        assertEquals(Collections.singletonList(toWrite.get(1)), result.getFailedWrites());
+        assertEquals(Collections.singletonList(exception), result.getExceptions());
+    }
+
+    @Test(timeout = 5000)
+    public void bulkWriteFromExecutorThread() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            mapperWrapper = new DynamoDBMapperWrapper(mapper, client, executor);
+            when(mapper.batchWrite(any(List.class), any(List.class))).thenReturn(Collections.emptyList());
+
+            // The only worker thread must not wait on batches queued behind it
+            final BatchWriteResult result = executor.submit(
+                    () -> mapperWrapper.bulkWrite(items(0, 100), Collections.emptyList(), 4)).get();
+
+            verify(mapper, times(4)).batchWrite(any(List.class), any(List.class));
+            assertTrue(result.isSuccessful());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void batchLoadFromExecutorThread() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            when(mapper.getTableModel(Item.class)).thenReturn(new DynamoDBMapper(client).getTableModel(Item.class));
+            mapperWrapper = new DynamoDBMapperWrapper(mapper, client, executor);
+            when(client.batchGetItem(any(BatchGetItemRequest.class))).thenAnswer(invocation -> new BatchGetItemResult()
+                    .withResponses(echo(invocation.getArgumentAt(0, BatchGetItemRequest.class).getRequestItems())));
+            final List<ItemKey> keys = IntStream.range(0, 250)
+                    .mapToObj(i -> ItemKey.of("key" + i))
+                    .collect(Collectors.toList());
+
+            final Map<ItemKey, Item> result = executor.submit(() -> mapperWrapper.batchLoad(Item.class, keys)).get();
+
+            assertEquals(keys.size(), result.size());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<Item> items(int from, int to) {
+        return IntStream.range(from, to)
+                .mapToObj(i -> {
+                    final Item item = new Item();
+                    item.setHashKey("key" + i);
+                    return item;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /* Fails to put the given item, or to delete "key0" if there is none. */
+    private static DynamoDBMapper.FailedBatch failedBatch(Exception exception, Item toWrite) {
+        final WriteRequest request = toWrite == null
+                ? new WriteRequest().withDeleteRequest(new DeleteRequest()
+                        .withKey(Collections.singletonMap("hashKey", new AttributeValue("key0"))))
+                : new WriteRequest().withPutRequest(new PutRequest()
+                        .withItem(Collections.singletonMap("hashKey", new AttributeValue(toWrite.getHashKey()))));
+        final DynamoDBMapper.FailedBatch failedBatch = new DynamoDBMapper.FailedBatch();
+        failedBatch.setException(exception);
+        failedBatch.setUnprocessedItems(Collections.singletonMap("items", Collections.singletonList(request)));
+        return failedBatch;
+    }
+
+    @Test
+    public void getTableModel() {
+        mapperWrapper.getTableModel(Item.class);
+
+        verify(mapper).getTableModel(Item.class);
+    }
+
+    @Test
+    public void primeConnection() {
+        when(mapper.getTableModel(Item.class)).thenReturn(new DynamoDBMapper(client).getTableModel(Item.class));
+        final ArgumentCaptor<GetItemRequest> request = ArgumentCaptor.forClass(GetItemRequest.class);
+
+        mapperWrapper.primeConnection(Item.class);
+
+        verify(client).getItem(request.capture());
+        assertEquals("items", request.getValue().getTableName());
+        assertEquals(Collections.singleton("hashKey"), request.getValue().getKey().keySet());
+    }
+
+    @DynamoDBTable(tableName = "items")
+    public static class Item {
+
+        @DynamoDBHashKey
+        private String hashKey;
+
+        public String getHashKey() {
+            return hashKey;
+        }
+
+        public void setHashKey(String hashKey) {
+            this.hashKey = hashKey;
+        }
+    }
+
+    @DynamoDBTable(tableName = "rated_items")
+    public static class RatedItem {
+
+        @DynamoDBHashKey
+        private String hashKey;
+        @DynamoDBRangeKey
+        private Double rating;
+
+        public String getHashKey() {
+            return hashKey;
+        }
+
+        public void setHashKey(String hashKey) {
+            this.hashKey = hashKey;
+        }
+
+        public Double getRating() {
+            return rating;
+        }
+
+        public void setRating(Double rating) {
+            this.rating = rating;
+        }
+    }
 }
@@ -0,0 +1,49 @@
+package dynamodb;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ItemKeyTest {
+
+    private static final String HASH_KEY = "d2fadc3b-b791-4054-b51e-49be4beb24c7";
+    private static final String RANGE_KEY = "tt0000036";
+
+    @Test
+    public void hashKeyOnly() {
+        final ItemKey key = ItemKey.of(HASH_KEY);
+
+        assertEquals(HASH_KEY, key.getHashKey());
+        assertNull(key.getRangeKey());
+    }
+
+    @Test
+    public void equal() {
+        final ItemKey key1 = ItemKey.of(HASH_KEY, RANGE_KEY);
+        final ItemKey key2 = ItemKey.of(HASH_KEY, RANGE_KEY);
+
+        assertTrue(key1.equals(key2));
+        assertEquals(key1.hashCode(), key2.hashCode());
+    }
+
+    @Test
+    public void notEqual() {
+        final ItemKey key1 = ItemKey.of(HASH_KEY, RANGE_KEY);
+        final ItemKey key2 = ItemKey.of(HASH_KEY);
+
+        assertFalse(key1.equals(key2));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullHashKey() {
+        ItemKey.of(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullRangeKey() {
+        ItemKey.of(HASH_KEY, null);
+    }
+}
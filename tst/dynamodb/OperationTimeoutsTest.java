@@ -0,0 +1,45 @@
+package dynamodb;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class OperationTimeoutsTest {
+
+    private static final int ITEM_TIMEOUT_MILLIS = 100;
+    private static final int BULK_TIMEOUT_MILLIS = 1000;
+
+    private final OperationTimeouts timeouts = new OperationTimeouts(ITEM_TIMEOUT_MILLIS, BULK_TIMEOUT_MILLIS);
+
+    @Test
+    public void beforeExecutionItemRequest() {
+        final AmazonWebServiceRequest result = timeouts.beforeExecution(new GetItemRequest());
+
+        assertEquals(Integer.valueOf(ITEM_TIMEOUT_MILLIS), result.getSdkRequestTimeout());
+    }
+
+    @Test
+    public void beforeExecutionBulkRequests() {
+        assertEquals(Integer.valueOf(BULK_TIMEOUT_MILLIS),
+                timeouts.beforeExecution(new QueryRequest()).getSdkRequestTimeout());
+        assertEquals(Integer.valueOf(BULK_TIMEOUT_MILLIS),
+                timeouts.beforeExecution(new BatchWriteItemRequest()).getSdkRequestTimeout());
+    }
+
+    @Test
+    public void beforeExecutionKeepsRequestTimeout() {
+        final AmazonWebServiceRequest result =
+                timeouts.beforeExecution(new GetItemRequest().withSdkRequestTimeout(5));
+
+        assertEquals(Integer.valueOf(5), result.getSdkRequestTimeout());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidTimeouts() {
+        new OperationTimeouts(0, BULK_TIMEOUT_MILLIS);
+    }
+}
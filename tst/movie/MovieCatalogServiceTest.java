@@ -0,0 +1,153 @@
+package movie;
+
+import com.amazonaws.services.dynamodbv2.model.AmazonDynamoDBException;
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MovieCatalogServiceTest {
+
+    private static final long REFRESH_SECONDS = 60;
+    private static final int MAX_SIZE = 10;
+    private static final int SCAN_PAGE_SIZE = 100;
+
+    private MovieDAO movieDAO;
+    private AtomicLong nanos;
+    private List<Runnable> pending;
+    private MovieCatalogService service;
+
+    @Before
+    public void setUp() {
+        movieDAO = mock(MovieDAO.class);
+        nanos = new AtomicLong();
+        pending = new ArrayList<>();
+        when(movieDAO.listAllMovies(SCAN_PAGE_SIZE)).thenReturn(Collections.singletonList(movie()));
+
+        final Executor executor = pending::add;
+        service = new MovieCatalogService(movieDAO, executor, REFRESH_SECONDS, MAX_SIZE, SCAN_PAGE_SIZE, new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        });
+    }
+
+    @Test
+    public void currentLoadsInBackground() {
+        assertFalse(service.current().isPresent());
+        verify(movieDAO, never()).listAllMovies(SCAN_PAGE_SIZE);
+
+        runPending();
+
+        final Optional<MovieCatalog> catalog = service.current();
+        assertTrue(catalog.isPresent());
+        assertEquals(1, catalog.get().size());
+        verify(movieDAO, times(1)).listAllMovies(SCAN_PAGE_SIZE);
+    }
+
+    @Test
+    public void currentLoadsOnlyOnceAtATime() {
+        service.current();
+        service.current();
+
+        assertEquals(1, pending.size());
+    }
+
+    @Test
+    public void currentServesStaleCatalogWhileRefreshing() {
+        service.current();
+        runPending();
+        final MovieCatalog first = service.current().get();
+        assertTrue(pending.isEmpty());
+
+        // The refresh is put off by a random jitter of up to a fifth of the refresh period
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(REFRESH_SECONDS + REFRESH_SECONDS / 5));
+        assertSame(first, service.current().get());
+        runPending();
+
+        assertNotSame(first, service.current().get());
+        verify(movieDAO, times(2)).listAllMovies(SCAN_PAGE_SIZE);
+    }
+
+    @Test
+    public void currentRetriesFailuresAfterAWhile() {
+        when(movieDAO.listAllMovies(SCAN_PAGE_SIZE)).thenThrow(new AmazonDynamoDBException("test"));
+
+        service.current();
+        runPending();
+        assertFalse(service.current().isPresent());
+        assertTrue(pending.isEmpty());
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        service.current();
+        assertEquals(1, pending.size());
+    }
+
+    @Test
+    public void currentWithDirectExecutor() {
+        service = new MovieCatalogService(movieDAO, MoreExecutors.directExecutor(), REFRESH_SECONDS, MAX_SIZE,
+                SCAN_PAGE_SIZE);
+
+        service.current();
+
+        assertTrue(service.current().isPresent());
+    }
+
+    @Test
+    public void currentCapsCatalogSize() {
+        final List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < MAX_SIZE + 5; i++) {
+            movies.add(movie());
+        }
+        when(movieDAO.listAllMovies(SCAN_PAGE_SIZE)).thenReturn(movies);
+
+        service.current();
+        runPending();
+
+        assertEquals(MAX_SIZE, service.current().get().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxSizeLessThanOne() {
+        new MovieCatalogService(movieDAO, MoreExecutors.directExecutor(), REFRESH_SECONDS, 0, SCAN_PAGE_SIZE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void scanPageSizeLessThanOne() {
+        new MovieCatalogService(movieDAO, MoreExecutors.directExecutor(), REFRESH_SECONDS, MAX_SIZE, 0);
+    }
+
+    private void runPending() {
+        final List<Runnable> tasks = new ArrayList<>(pending);
+        pending.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private static Movie movie() {
+        final Movie movie = new Movie();
+        movie.setImdbId("tt0000001");
+        movie.setMostFrequentGenre("Drama");
+        movie.setMostFrequentKeyword("love");
+        movie.setImdbRating(7.0);
+        return movie;
+    }
+}
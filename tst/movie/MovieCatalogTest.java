@@ -0,0 +1,73 @@
+package movie;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MovieCatalogTest {
+
+    private static final String DRAMA = "Drama";
+    private static final String COMEDY = "Comedy";
+
+    private MovieCatalog catalog;
+
+    @Before
+    public void setUp() {
+        catalog = MovieCatalog.of(Arrays.asList(
+                movie("tt0000001", DRAMA, "love", 6.0, false),
+                movie("tt0000002", DRAMA, "lovers", 8.0, false),
+                movie("tt0000003", DRAMA, "war", 9.0, false),
+                movie("tt0000004", DRAMA, "love", 7.0, true),
+                movie("tt0000005", DRAMA, null, 5.0, false),
+                movie("tt0000006", COMEDY, "love", 4.0, false)));
+    }
+
+    @Test
+    public void listMoviesSortedByRating() {
+        assertEquals(Arrays.asList("tt0000003", "tt0000002", "tt0000001", "tt0000005"),
+                imdbIds(catalog.listMovies(DRAMA)));
+        assertEquals(5, catalog.size());
+    }
+
+    @Test
+    public void listMoviesUnknownGenre() {
+        assertTrue(catalog.listMovies("Western").isEmpty());
+        assertTrue(catalog.listMovies("Western", "love").isEmpty());
+    }
+
+    @Test
+    public void listMoviesByKeywordMergesMatchingKeywords() {
+        assertEquals(Arrays.asList("tt0000002", "tt0000001"), imdbIds(catalog.listMovies(DRAMA, "love")));
+    }
+
+    @Test
+    public void listMoviesByKeywordSingleMatch() {
+        assertEquals(Collections.singletonList("tt0000003"), imdbIds(catalog.listMovies(DRAMA, "war")));
+        assertTrue(catalog.listMovies(DRAMA, "horror").isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void listMoviesUnmodifiable() {
+        catalog.listMovies(DRAMA).clear();
+    }
+
+    private static List<String> imdbIds(List<Movie> movies) {
+        return movies.stream().map(Movie::getImdbId).collect(Collectors.toList());
+    }
+
+    private static Movie movie(String imdbId, String genre, String keyword, double rating, boolean isAdult) {
+        final Movie movie = new Movie();
+        movie.setImdbId(imdbId);
+        movie.setMostFrequentGenre(genre);
+        movie.setMostFrequentKeyword(keyword);
+        movie.setImdbRating(rating);
+        movie.setIsAdult(isAdult);
+        return movie;
+    }
+}
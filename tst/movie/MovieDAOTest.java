@@ -1,15 +1,29 @@
 package movie;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedScanList;
 import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
 import com.amazonaws.services.dynamodbv2.model.AmazonDynamoDBException;
 import dynamodb.DynamoDBMapperWrapper;
+import dynamodb.ItemKey;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.MockitoAnnotations;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
@@ -27,8 +41,12 @@ public class MovieDAOTest {
     private DynamoDBMapperWrapper mapper;
     private MovieDAO dao;
 
+    @Captor
+    private ArgumentCaptor<DynamoDBQueryExpression<Movie>> expression;
+
     @Before
     public void setUp() {
+        MockitoAnnotations.initMocks(this);
         mapper = mock(DynamoDBMapperWrapper.class);
 
         dao = new MovieDAO(mapper);
@@ -59,6 +77,28 @@ public class MovieDAOTest {
         dao.fetch(IMDBID);
     }
 
+    @Test
+    public void fetchMovieAsync() {
+        when(mapper.loadAsync(Movie.class, IMDBID))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(new Movie())));
+
+        final Optional<Movie> result = dao.fetchAsync(IMDBID).join();
+
+        assertTrue(result.isPresent());
+    }
+
+    @Test
+    public void fetchAll() {
+        final Movie movie = new Movie();
+        movie.setImdbId(IMDBID);
+        when(mapper.batchLoad(Movie.class, Collections.singletonList(ItemKey.of(IMDBID))))
+                .thenReturn(Collections.singletonMap(ItemKey.of(IMDBID), movie));
+
+        final Map<String, Movie> result = dao.fetchAll(Collections.singletonList(IMDBID));
+
+        assertEquals(Collections.singletonMap(IMDBID, movie), result);
+    }
+
     @Test
     public void listMovies() {
         final QueryResultPage<Movie> movies = mock(QueryResultPage.class);
@@ -78,22 +118,112 @@ public class MovieDAOTest {
         dao.listMovies(GENRE);
     }
 
+    @Test
+    public void listAllMovies() {
+        final PaginatedScanList<Movie> movies = mock(PaginatedScanList.class);
+        final ArgumentCaptor<DynamoDBScanExpression> scanExpression =
+                ArgumentCaptor.forClass(DynamoDBScanExpression.class);
+        when(mapper.scan(eq(Movie.class), scanExpression.capture())).thenReturn(movies);
+
+        assertSame(movies, dao.listAllMovies(25));
+        assertEquals(Integer.valueOf(25), scanExpression.getValue().getLimit());
+    }
+
     @Test
     public void fetchTopRatedMovies() {
-        final QueryResultPage<Movie> movies = mock(QueryResultPage.class);
-        when(mapper.queryPage(eq(Movie.class), any(DynamoDBQueryExpression.class))).thenReturn(movies);
-        when(movies.getResults()).thenReturn(Collections.singletonList(new Movie()));
+        when(mapper.queryPageAsync(eq(Movie.class), anyQuery()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(page(new Movie())));
 
-        dao.fetchTopRatedMoviesRandomGenres(MAX);
+        final List<Movie> result = dao.fetchTopRatedMoviesRandomGenres(MAX);
+
+        assertEquals(MAX, result.size());
+        verify(mapper, times(MAX)).queryPageAsync(eq(Movie.class), anyQuery());
+    }
 
-        verify(mapper, times(MAX)).queryPage(eq(Movie.class), any(DynamoDBQueryExpression.class));
+    @Test
+    public void fetchTopRatedMoviesQueriesEachGenreOnce() {
+        when(mapper.queryPageAsync(eq(Movie.class), anyQuery()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(page()));
+
+        final List<Movie> result = dao.fetchTopRatedMoviesRandomGenres(Integer.MAX_VALUE);
+
+        verify(mapper, times(Genre.listGenres().size())).queryPageAsync(eq(Movie.class), expression.capture());
+        assertEquals(Genre.listGenres().size(), expression.getAllValues().stream()
+                .map(query -> query.getExpressionAttributeValues().get(":mostFrequentGenre"))
+                .distinct()
+                .count());
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void fetchTopRatedMoviesBoundsQueriesInFlight() {
+        final List<CompletableFuture<QueryResultPage<Movie>>> pending = new CopyOnWriteArrayList<>();
+        when(mapper.queryPageAsync(eq(Movie.class), anyQuery())).thenAnswer(invocation -> {
+            final CompletableFuture<QueryResultPage<Movie>> future = new CompletableFuture<>();
+            pending.add(future);
+            return future;
+        });
+        dao = new MovieDAO(mapper, 2);
+
+        final CompletableFuture<List<Movie>> result =
+                CompletableFuture.supplyAsync(() -> dao.fetchTopRatedMoviesRandomGenres(MAX));
+
+        for (int completed = 0; completed < MAX; completed++) {
+            // Only the next query of each lane is started once the one before it completes
+            assertEquals(Math.min(completed + 2, MAX), awaitPending(pending, Math.min(completed + 2, MAX)));
+            pending.get(completed).complete(page(new Movie()));
+        }
+        assertEquals(MAX, result.join().size());
+    }
+
+    @Test
+    public void fetchTopRatedMoviesPartialFailure() {
+        final AtomicInteger calls = new AtomicInteger();
+        when(mapper.queryPageAsync(eq(Movie.class), anyQuery())).thenAnswer(invocation ->
+                calls.incrementAndGet() % 2 == 0
+                        ? failedFuture(new AmazonDynamoDBException("throttled"))
+                        : CompletableFuture.completedFuture(page(new Movie())));
+
+        final List<Movie> result = dao.fetchTopRatedMoviesRandomGenres(MAX);
+
+        assertEquals(MAX / 2, result.size());
     }
 
     @Test(expected = AmazonDynamoDBException.class)
     public void fetchTopRatedMoviesDynamoException() {
-        when(mapper.queryPage(eq(Movie.class), any(DynamoDBQueryExpression.class)))
-                .thenThrow(new AmazonDynamoDBException("test"));
+        when(mapper.queryPageAsync(eq(Movie.class), anyQuery()))
+                .thenAnswer(invocation -> failedFuture(new AmazonDynamoDBException("test")));
 
         dao.fetchTopRatedMoviesRandomGenres(MAX);
     }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructWithoutQueriesInFlight() {
+        new MovieDAO(mapper, 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static DynamoDBQueryExpression<Movie> anyQuery() {
+        return any(DynamoDBQueryExpression.class);
+    }
+
+    private static QueryResultPage<Movie> page(Movie... movies) {
+        final QueryResultPage<Movie> page = new QueryResultPage<>();
+        page.setResults(Arrays.asList(movies));
+        return page;
+    }
+
+    private static <T> CompletableFuture<T> failedFuture(Throwable e) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
+    }
+
+    private static int awaitPending(List<?> pending, int expected) {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (pending.size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        return pending.size();
+    }
 }
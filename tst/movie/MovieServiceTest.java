@@ -1,23 +1,40 @@
 package movie;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class MovieServiceTest {
 
     private static final String IMDBID = "tt0000076";
+    private static final String UNKNOWN_IMDBID = "tt0000077";
     private static final String MOST_FREQUENT_GENRE = "Drama";
     private static final int MAX = 10;
 
     private MovieDAO movieDAO;
+    private Movie movie;
     private MovieService service;
 
     @Before
     public void setUp() {
         movieDAO = mock(MovieDAO.class);
+        movie = new Movie();
+        movie.setImdbId(IMDBID);
+        when(movieDAO.fetch(IMDBID)).thenReturn(Optional.of(movie));
+        when(movieDAO.fetchAsync(IMDBID)).thenReturn(CompletableFuture.completedFuture(Optional.of(movie)));
 
         service = new MovieService(movieDAO);
     }
@@ -29,6 +46,40 @@ public class MovieServiceTest {
         verify(movieDAO).fetch(IMDBID);
     }
 
+    @Test
+    public void fetchMovieCached() {
+        service.fetch(IMDBID);
+
+        assertEquals(Optional.of(movie), service.fetch(IMDBID));
+
+        verify(movieDAO, times(1)).fetch(IMDBID);
+    }
+
+    @Test
+    public void fetchMovieNotFoundCached() {
+        when(movieDAO.fetch(IMDBID)).thenReturn(Optional.empty());
+        service.fetch(IMDBID);
+
+        assertFalse(service.movieExists(IMDBID));
+
+        verify(movieDAO, times(1)).fetch(IMDBID);
+    }
+
+    @Test
+    public void fetchMovieNotFoundExpiresBeforeFound() {
+        service = new MovieService(movieDAO, MovieService.DEFAULT_CACHE_MAXIMUM_SIZE,
+                MovieService.DEFAULT_CACHE_TTL_SECONDS, 0);
+        when(movieDAO.fetch(UNKNOWN_IMDBID)).thenReturn(Optional.empty());
+        service.fetch(IMDBID);
+        service.fetch(UNKNOWN_IMDBID);
+
+        service.fetch(IMDBID);
+        service.fetch(UNKNOWN_IMDBID);
+
+        verify(movieDAO, times(1)).fetch(IMDBID);
+        verify(movieDAO, atLeast(2)).fetch(UNKNOWN_IMDBID);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void fetchMovieEmptyImdbId() {
         service.fetch("");
@@ -39,6 +90,47 @@ public class MovieServiceTest {
         service.fetch(null);
     }
 
+    @Test
+    public void fetchMovieAsync() {
+        service.fetchAsync(IMDBID);
+
+        verify(movieDAO).fetchAsync(IMDBID);
+    }
+
+    @Test
+    public void fetchAllReadsMissingMovies() {
+        service.fetch(IMDBID);
+        final Movie other = new Movie();
+        other.setImdbId("tt0000077");
+        when(movieDAO.fetchAll(Collections.singleton("tt0000077")))
+                .thenReturn(Collections.singletonMap("tt0000077", other));
+
+        final Map<String, Movie> result = service.fetchAll(Arrays.asList(IMDBID, "tt0000077"));
+
+        assertEquals(movie, result.get(IMDBID));
+        assertEquals(other, result.get("tt0000077"));
+        verify(movieDAO).fetchAll(Collections.singleton("tt0000077"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fetchAllEmptyImdbId() {
+        service.fetchAll(Collections.singletonList(""));
+    }
+
+    @Test
+    public void fetchMovieAsyncCached() {
+        service.fetch(IMDBID);
+
+        assertEquals(Optional.of(movie), service.fetchAsync(IMDBID).join());
+
+        verify(movieDAO, never()).fetchAsync(IMDBID);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fetchMovieAsyncEmptyImdbId() {
+        service.fetchAsync("");
+    }
+
     @Test
     public void listMovies() {
         service.listMovies(MOST_FREQUENT_GENRE);
@@ -1,16 +1,22 @@
 package movie;
 
-import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
-import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
 import com.amazonaws.services.dynamodbv2.model.AmazonDynamoDBException;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
 import dynamodb.DynamoDBMapperWrapper;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import org.apache.commons.lang3.tuple.Pair;
+import java.util.Optional;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
@@ -28,46 +34,71 @@ public class TopMovieDAOTest {
     @Before
     public void setUp() {
         mapper = mock(DynamoDBMapperWrapper.class);
-        movie = new TopMovie();
-        movie.setImdbId(IMDBID);
+        movie = new TopMovie(IMDBID, "Title", 7.5, "Drama", "love", false, 2000);
 
         dao = new TopMovieDAO(mapper);
     }
 
     @Test
-    public void deleteOldAndSaveNew() {
-        final List<TopMovie> oldTopMovies = Collections.singletonList(movie);
-        final List<TopMovie> newTopMovies = Collections.singletonList(movie);
+    public void fetchSnapshotConsistently() {
+        final TopMovieSnapshot snapshot = snapshot(3L, movie);
+        final ArgumentCaptor<DynamoDBMapperConfig> config = ArgumentCaptor.forClass(DynamoDBMapperConfig.class);
+        when(mapper.load(eq(TopMovieSnapshot.class), eq(TopMovieSnapshot.CURRENT), config.capture()))
+                .thenReturn(Optional.of(snapshot));
+
+        assertEquals(Optional.of(snapshot), dao.fetchSnapshot());
+        assertEquals(DynamoDBMapperConfig.ConsistentReads.CONSISTENT, config.getValue().getConsistentReads());
+    }
 
-        final Pair<List<TopMovie>, List<TopMovie>> result = dao.deleteOldAndSaveNew(oldTopMovies, newTopMovies);
+    @Test(expected = AmazonDynamoDBException.class)
+    public void fetchSnapshotDynamoException() {
+        when(mapper.load(eq(TopMovieSnapshot.class), eq(TopMovieSnapshot.CURRENT), any(DynamoDBMapperConfig.class)))
+                .thenThrow(new AmazonDynamoDBException("test"));
 
-        verify(mapper).batchWrite(newTopMovies, oldTopMovies);
-        assertEquals(Pair.of(oldTopMovies, newTopMovies), result);
+        dao.fetchSnapshot();
     }
 
-    @Test(expected = AmazonDynamoDBException.class)
-    public void deleteOldAndSaveNewDynamoException() {
-        when(mapper.batchWrite(null, null)).thenThrow(new AmazonDynamoDBException("test"));
+    @Test
+    public void publishReplacesCurrentVersion() {
+        final List<TopMovie> newTopMovies = Collections.singletonList(movie);
+        when(mapper.save(any(TopMovieSnapshot.class))).thenAnswer(invocation -> invocation.getArguments()[0]);
+
+        final TopMovieSnapshot result = dao.publish(Optional.of(snapshot(3L)), newTopMovies);
 
-        dao.deleteOldAndSaveNew(null, null);
+        verify(mapper).save(snapshot(3L, movie));
+        assertEquals(newTopMovies, result.getMovies());
     }
 
     @Test
-    public void listTopMovies() {
-        final ScanResultPage<TopMovie> scanPage = new ScanResultPage<>();
-        scanPage.setResults(Collections.singletonList(movie));
-        when(mapper.scanPage(eq(TopMovie.class), any(DynamoDBScanExpression.class))).thenReturn(scanPage);
+    public void publishFirst() {
+        dao.publish(Optional.empty(), Collections.singletonList(movie));
 
-        final List<TopMovie> result = dao.listTopMovies(TopMovieService.MAX_MOVIES_TO_UPDATE);
+        final ArgumentCaptor<TopMovieSnapshot> saved = ArgumentCaptor.forClass(TopMovieSnapshot.class);
+        verify(mapper).save(saved.capture());
+        assertNull(saved.getValue().getVersion());
+        assertEquals(TopMovieSnapshot.CURRENT, saved.getValue().getId());
+    }
+
+    @Test(expected = ConditionalCheckFailedException.class)
+    public void publishConcurrently() {
+        when(mapper.save(any(TopMovieSnapshot.class))).thenThrow(new ConditionalCheckFailedException("test"));
 
-        assertEquals(scanPage.getResults(), result);
+        dao.publish(Optional.of(snapshot(3L)), Collections.singletonList(movie));
     }
 
-    @Test(expected = AmazonDynamoDBException.class)
-    public void listTopMoviesDynamoException() {
-        when(mapper.scanPage(eq(TopMovie.class), any(DynamoDBScanExpression.class)))
-                .thenThrow(new AmazonDynamoDBException("test"));
+    @Test
+    public void snapshotConvertsAsOneItem() {
+        final DynamoDBMapperTableModel<TopMovieSnapshot> model =
+                new DynamoDBMapper(mock(AmazonDynamoDB.class)).getTableModel(TopMovieSnapshot.class);
+        final TopMovieSnapshot snapshot = snapshot(3L, movie);
+
+        final TopMovieSnapshot result = model.unconvert(model.convert(snapshot));
+
+        assertEquals(snapshot, result);
+        assertEquals("Title", result.getMovies().get(0).getTitle());
+    }
 
-        dao.listTopMovies(TopMovieService.MAX_MOVIES_TO_UPDATE);
+    private static TopMovieSnapshot snapshot(Long version, TopMovie... movies) {
+        return new TopMovieSnapshot(TopMovieSnapshot.CURRENT, Arrays.asList(movies), version);
     }
 }
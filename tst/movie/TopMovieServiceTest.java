@@ -1,22 +1,36 @@
 package movie;
 
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.google.common.base.Ticker;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.commons.lang3.tuple.Pair;
 import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class TopMovieServiceTest {
 
     private static final int INVALID_MAX = -1;
     private static final String IMDBID = "tt0000036";
+    private static final long REFRESH_SECONDS = 60;
 
     private MovieService movieService;
     private TopMovieDAO topMovieDAO;
+    private AtomicLong nanos;
+    private List<Runnable> pending;
     private TopMovieService service;
 
     @Before
@@ -24,25 +38,56 @@ public class TopMovieServiceTest {
         movieService = mock(MovieService.class);
         topMovieDAO = mock(TopMovieDAO.class);
 
-        service = new TopMovieService(movieService, topMovieDAO);
+        nanos = new AtomicLong();
+        pending = new ArrayList<>();
+
+        service = new TopMovieService(movieService, topMovieDAO, pending::add, REFRESH_SECONDS, new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        });
     }
 
     @Test
     public void updateTopMovies() {
         final List<TopMovie> oldTopMovies = Collections.singletonList(new TopMovie());
-        when(topMovieDAO.listTopMovies(TopMovieService.MAX_MOVIES_TO_UPDATE)).thenReturn(oldTopMovies);
+        final Optional<TopMovieSnapshot> current =
+                Optional.of(new TopMovieSnapshot(TopMovieSnapshot.CURRENT, oldTopMovies, 3L));
+        when(topMovieDAO.fetchSnapshot()).thenReturn(current);
         final Movie movie = new Movie();
         movie.setImdbId(IMDBID);
         final List<TopMovie> newTopMovies = Collections.singletonList(TopMovieService.valueOf(movie));
         when(movieService.fetchTopRatedMoviesRandomGenres(TopMovieService.MAX_MOVIES_TO_UPDATE))
                 .thenReturn(Collections.singletonList(movie));
-        final Pair<List<TopMovie>, List<TopMovie>> expectedPair = Pair.of(oldTopMovies, newTopMovies);
-        when(topMovieDAO.deleteOldAndSaveNew(oldTopMovies, newTopMovies)).thenReturn(expectedPair);
 
         final Pair<List<TopMovie>, List<TopMovie>> result = service.updateTopMovies(
                 TopMovieService.MAX_MOVIES_TO_UPDATE);
 
-        assertEquals(expectedPair, result);
+        verify(topMovieDAO).publish(current, newTopMovies);
+        assertEquals(Pair.of(oldTopMovies, newTopMovies), result);
+    }
+
+    @Test
+    public void updateTopMoviesFirst() {
+        when(topMovieDAO.fetchSnapshot()).thenReturn(Optional.empty());
+        when(movieService.fetchTopRatedMoviesRandomGenres(TopMovieService.MAX_MOVIES_TO_UPDATE))
+                .thenReturn(Collections.emptyList());
+
+        final Pair<List<TopMovie>, List<TopMovie>> result = service.updateTopMovies(
+                TopMovieService.MAX_MOVIES_TO_UPDATE);
+
+        verify(topMovieDAO).publish(Optional.empty(), Collections.emptyList());
+        assertEquals(Pair.of(Collections.emptyList(), Collections.emptyList()), result);
+    }
+
+    @Test(expected = ConditionalCheckFailedException.class)
+    public void updateTopMoviesConcurrently() {
+        when(topMovieDAO.fetchSnapshot()).thenReturn(Optional.empty());
+        when(topMovieDAO.publish(Optional.empty(), Collections.emptyList()))
+                .thenThrow(new ConditionalCheckFailedException("test"));
+
+        service.updateTopMovies(TopMovieService.MAX_MOVIES_TO_UPDATE);
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -51,17 +96,87 @@ public class TopMovieServiceTest {
     }
 
     @Test
-    public void listTopMovies() {
+    public void listTopMoviesBeforeLoaded() {
         final List<TopMovie> topMovies = Collections.singletonList(new TopMovie());
-        when(topMovieDAO.listTopMovies(TopMovieService.MAX_MOVIES_TO_UPDATE)).thenReturn(topMovies);
+        when(topMovieDAO.fetchSnapshot()).thenReturn(snapshot(topMovies));
+
+        final List<TopMovie> result = service.listTopMovies(TopMovieService.MAX_MOVIES_TO_UPDATE);
+
+        assertEquals(topMovies, result);
+        assertEquals(1, pending.size());
+    }
+
+    @Test
+    public void listTopMoviesNonePublished() {
+        final Movie movie = new Movie();
+        movie.setImdbId(IMDBID);
+        final List<TopMovie> topMovies = Collections.singletonList(TopMovieService.valueOf(movie));
+        when(topMovieDAO.fetchSnapshot()).thenReturn(Optional.empty());
+        when(movieService.fetchTopRatedMoviesRandomGenres(TopMovieService.MAX_MOVIES_TO_UPDATE))
+                .thenReturn(Collections.singletonList(movie));
 
         final List<TopMovie> result = service.listTopMovies(TopMovieService.MAX_MOVIES_TO_UPDATE);
 
         assertEquals(topMovies, result);
+        verify(topMovieDAO).publish(Optional.empty(), topMovies);
+    }
+
+    @Test
+    public void listTopMoviesNonePublishedConcurrently() {
+        when(topMovieDAO.fetchSnapshot()).thenReturn(Optional.empty());
+        when(movieService.fetchTopRatedMoviesRandomGenres(TopMovieService.MAX_MOVIES_TO_UPDATE))
+                .thenReturn(Collections.emptyList());
+        when(topMovieDAO.publish(Optional.empty(), Collections.emptyList()))
+                .thenThrow(new ConditionalCheckFailedException("test"));
+
+        assertTrue(service.listTopMovies(TopMovieService.MAX_MOVIES_TO_UPDATE).isEmpty());
+    }
+
+    @Test
+    public void listTopMoviesFromMemory() {
+        final TopMovie first = new TopMovie();
+        first.setImdbId(IMDBID);
+        final List<TopMovie> topMovies = Arrays.asList(first, new TopMovie());
+        when(topMovieDAO.fetchSnapshot()).thenReturn(snapshot(topMovies));
+        service.listTopMovies(TopMovieService.MAX_MOVIES_TO_UPDATE);
+        runPending();
+
+        assertEquals(topMovies, service.listTopMovies(TopMovieService.MAX_MOVIES_TO_UPDATE));
+        assertEquals(Collections.singletonList(first), service.listTopMovies(1));
+        // Once when first listed, once in the background
+        verify(topMovieDAO, times(2)).fetchSnapshot();
+        verify(movieService, never()).fetchTopRatedMoviesRandomGenres(TopMovieService.MAX_MOVIES_TO_UPDATE);
+        assertTrue(pending.isEmpty());
+    }
+
+    @Test
+    public void listTopMoviesServesStaleWhileRefreshing() {
+        final List<TopMovie> oldTopMovies = Collections.singletonList(new TopMovie());
+        final List<TopMovie> newTopMovies = Arrays.asList(new TopMovie(), new TopMovie());
+        when(topMovieDAO.fetchSnapshot()).thenReturn(snapshot(oldTopMovies));
+        service.listTopMovies(TopMovieService.MAX_MOVIES_TO_UPDATE);
+        runPending();
+        when(topMovieDAO.fetchSnapshot()).thenReturn(snapshot(newTopMovies));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(REFRESH_SECONDS));
+        assertEquals(oldTopMovies, service.listTopMovies(TopMovieService.MAX_MOVIES_TO_UPDATE));
+        runPending();
+
+        assertEquals(newTopMovies, service.listTopMovies(TopMovieService.MAX_MOVIES_TO_UPDATE));
     }
 
     @Test(expected = IllegalArgumentException.class)
     public void listTopMoviesIllegalMax() {
         service.listTopMovies(INVALID_MAX);
     }
+
+    private static Optional<TopMovieSnapshot> snapshot(List<TopMovie> topMovies) {
+        return Optional.of(new TopMovieSnapshot(TopMovieSnapshot.CURRENT, topMovies, 1L));
+    }
+
+    private void runPending() {
+        final List<Runnable> tasks = new ArrayList<>(pending);
+        pending.clear();
+        tasks.forEach(Runnable::run);
+    }
 }
@@ -0,0 +1,94 @@
+package recommendation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ItemSimilarityTest {
+
+    private static final double DELTA = 1e-9;
+
+    private ItemSimilarity similarity;
+
+    @Before
+    public void setUp() {
+        similarity = new ItemSimilarity();
+        similarity.addUser(Arrays.asList("A", "B", "C"));
+        similarity.addUser(Arrays.asList("A", "B"));
+        similarity.addUser(Arrays.asList("B", "D"));
+        similarity.addUser(Collections.singletonList("E"));
+    }
+
+    @Test
+    public void counts() {
+        assertEquals(4, similarity.getUserCount());
+        assertEquals(5, similarity.getMovieCount());
+    }
+
+    @Test
+    public void cosine() {
+        final Map<String, SimilarMovies> result = compute(3, ItemSimilarity.Metric.COSINE);
+
+        assertEquals(Arrays.asList("B", "C"), result.get("A").getSimilarImdbIds());
+        assertEquals(2 / Math.sqrt(6), result.get("A").getSimilarities().get(0), DELTA);
+        assertEquals(1 / Math.sqrt(2), result.get("A").getSimilarities().get(1), DELTA);
+        // C and D are as similar to B, so C, seen first, comes first
+        assertEquals(Arrays.asList("A", "C", "D"), result.get("B").getSimilarImdbIds());
+        assertEquals(Collections.singletonList("B"), result.get("D").getSimilarImdbIds());
+        assertFalse(result.containsKey("E"));
+    }
+
+    @Test
+    public void jaccard() {
+        final Map<String, SimilarMovies> result = compute(3, ItemSimilarity.Metric.JACCARD);
+
+        assertEquals(Arrays.asList("B", "C"), result.get("A").getSimilarImdbIds());
+        assertEquals(2.0 / 3, result.get("A").getSimilarities().get(0), DELTA);
+        assertEquals(0.5, result.get("A").getSimilarities().get(1), DELTA);
+    }
+
+    @Test
+    public void keepsMostSimilar() {
+        final Map<String, SimilarMovies> result = compute(1, ItemSimilarity.Metric.COSINE);
+
+        assertEquals(Collections.singletonList("A"), result.get("B").getSimilarImdbIds());
+    }
+
+    @Test
+    public void noUsers() {
+        final List<SimilarMovies> result = new ArrayList<>();
+
+        new ItemSimilarity().computeSimilarMovies(3, ItemSimilarity.Metric.COSINE, result::add);
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void manyUsers() {
+        final ItemSimilarity many = new ItemSimilarity();
+        for (int user = 0; user < 1000; user++) {
+            many.addUser(Arrays.asList("tt" + (user % 10), "tt" + (user % 10 + 1)));
+        }
+        final List<SimilarMovies> result = new ArrayList<>();
+
+        many.computeSimilarMovies(3, ItemSimilarity.Metric.COSINE, result::add);
+
+        assertEquals(11, result.size());
+        assertEquals(1000, many.getUserCount());
+    }
+
+    private Map<String, SimilarMovies> compute(int maxSimilar, ItemSimilarity.Metric metric) {
+        final Map<String, SimilarMovies> result = new HashMap<>();
+        similarity.computeSimilarMovies(maxSimilar, metric, similar -> result.put(similar.getImdbId(), similar));
+        return result;
+    }
+}
@@ -18,14 +18,14 @@ public class ListRecommendationsHandlerTest {
     private static final String USERID_PARAMETER_KEY = "userId";
     private static final String USERID_PARAMETER_VALUE = "d2fadc3b-b791-4054-b51e-49be4beb24c7";
 
-    private RecommendationService service;
+    private UserRecommendationsService service;
     private Map<String, String> pathParameters;
     private APIGatewayProxyRequestEvent request;
     private ListRecommendationsHandler handler;
 
     @Before
     public void setUp() {
-        service = mock(RecommendationService.class);
+        service = mock(UserRecommendationsService.class);
         pathParameters = ImmutableMap.of(
                 USERID_PARAMETER_KEY, USERID_PARAMETER_VALUE
         );
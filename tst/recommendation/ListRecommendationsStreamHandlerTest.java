@@ -0,0 +1,89 @@
+package recommendation;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableMap;
+import config.AppConfig;
+import exceptions.UserNotFoundException;
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.List;
+import movie.Movie;
+import org.apache.http.HttpStatus;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ListRecommendationsStreamHandlerTest {
+
+    private static final String USERID_PARAMETER_KEY = "userId";
+    private static final String USERID_PARAMETER_VALUE = "d2fadc3b-b791-4054-b51e-49be4beb24c7";
+
+    private UserRecommendationsService service;
+    private APIGatewayProxyRequestEvent request;
+    private ByteArrayOutputStream output;
+    private ListRecommendationsStreamHandler handler;
+
+    @Before
+    public void setUp() {
+        service = mock(UserRecommendationsService.class);
+        request = new APIGatewayProxyRequestEvent();
+        request.setPathParameters(ImmutableMap.of(USERID_PARAMETER_KEY, USERID_PARAMETER_VALUE));
+        output = new ByteArrayOutputStream();
+
+        handler = new ListRecommendationsStreamHandler();
+    }
+
+    @Test
+    public void listRecommendations() throws Exception {
+        final Movie movie = new Movie();
+        movie.setImdbId("tt0000001");
+        movie.setTitle("The \"Movie\"");
+        final List<Movie> recommendations = Collections.singletonList(movie);
+        doReturn(recommendations).when(service).listRecommendations(USERID_PARAMETER_VALUE);
+
+        handler.handleRequest(request, output, service);
+
+        final JsonNode result = readResponse();
+        assertEquals(HttpStatus.SC_OK, result.get("statusCode").asInt());
+        assertEquals(AppConfig.getRecommendationsWriter().writeValueAsString(recommendations),
+                result.get("body").asText());
+    }
+
+    @Test
+    public void catchSerializationFailure() throws Exception {
+        doReturn(Collections.singletonList(new Object())).when(service).listRecommendations(USERID_PARAMETER_VALUE);
+
+        handler.handleRequest(request, output, service);
+
+        assertEquals(HttpStatus.SC_INTERNAL_SERVER_ERROR, readResponse().get("statusCode").asInt());
+    }
+
+    @Test
+    public void catchUserNotFoundException() throws Exception {
+        when(service.listRecommendations(USERID_PARAMETER_VALUE))
+                .thenThrow(new UserNotFoundException("User not found."));
+
+        handler.handleRequest(request, output, service);
+
+        assertEquals(HttpStatus.SC_NOT_FOUND, readResponse().get("statusCode").asInt());
+    }
+
+    @Test
+    public void catchException() throws Exception {
+        when(service.listRecommendations(USERID_PARAMETER_VALUE))
+                .thenThrow(new RuntimeException());
+
+        handler.handleRequest(request, output, service);
+
+        assertEquals(HttpStatus.SC_INTERNAL_SERVER_ERROR, readResponse().get("statusCode").asInt());
+    }
+
+    private JsonNode readResponse() throws Exception {
+        return AppConfig.getObjectMapper().readTree(output.toByteArray());
+    }
+}
@@ -0,0 +1,64 @@
+package recommendation;
+
+import movie.Movie;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class MovieScorerTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void rating() {
+        assertEquals(7.5, MovieScorer.rating().score(movie(7.5, 2000, "love"), new Movie()), DELTA);
+        assertEquals(0, MovieScorer.rating().score(new Movie(), new Movie()), DELTA);
+    }
+
+    @Test
+    public void recency() {
+        assertEquals(2000, MovieScorer.recency().score(movie(7.5, 2000, "love"), new Movie()), DELTA);
+        assertEquals(0, MovieScorer.recency().score(new Movie(), new Movie()), DELTA);
+    }
+
+    @Test
+    public void keywordMatch() {
+        final Movie fromReview = movie(7.5, 2000, "love");
+
+        assertEquals(1, MovieScorer.keywordMatch().score(movie(7.5, 2000, "love"), fromReview), DELTA);
+        assertEquals(0.5, MovieScorer.keywordMatch().score(movie(7.5, 2000, "lovelove"), fromReview), DELTA);
+        assertEquals(0, MovieScorer.keywordMatch().score(movie(7.5, 2000, "war"), fromReview), DELTA);
+        assertEquals(0, MovieScorer.keywordMatch().score(new Movie(), fromReview), DELTA);
+    }
+
+    @Test
+    public void plus() {
+        final MovieScorer scorer = MovieScorer.rating().plus(MovieScorer.keywordMatch(), 2);
+
+        assertEquals(9.5, scorer.score(movie(7.5, 2000, "love"), movie(7.5, 2000, "love")), DELTA);
+    }
+
+    @Test
+    public void ofName() {
+        final Movie candidate = movie(7.5, 2000, "love");
+        final Movie fromReview = movie(7.5, 2000, "love");
+
+        assertEquals(7.5, MovieScorer.of("rating").score(candidate, fromReview), DELTA);
+        assertEquals(2000, MovieScorer.of("recency").score(candidate, fromReview), DELTA);
+        assertEquals(1, MovieScorer.of("keywordMatch").score(candidate, fromReview), DELTA);
+        assertEquals(9.5, MovieScorer.of("ratingAndKeywordMatch").score(candidate, fromReview), DELTA);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ofUnknownScorer() {
+        MovieScorer.of("popularity");
+    }
+
+    private static Movie movie(double rating, int releaseYear, String keyword) {
+        final Movie movie = new Movie();
+        movie.setImdbRating(rating);
+        movie.setReleaseYear(releaseYear);
+        movie.setMostFrequentKeyword(keyword);
+        return movie;
+    }
+}
@@ -2,14 +2,26 @@ package recommendation;
 
 import exceptions.UserNotFoundException;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import movie.Movie;
+import movie.MovieCatalog;
+import movie.MovieCatalogService;
 import movie.MovieService;
 import movie.TopMovieService;
 import org.junit.Before;
 import org.junit.Test;
 import review.Review;
 import review.ReviewService;
+import review.SeenMovies;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -24,6 +36,8 @@ public class RecommendationServiceTest {
     private MovieService movieService;
     private ReviewService reviewService;
     private TopMovieService topMovieService;
+    private MovieCatalogService movieCatalogService;
+    private SimilarMoviesService similarMoviesService;
     private RecommendationService service;
 
     @Before
@@ -31,8 +45,12 @@ public class RecommendationServiceTest {
         movieService = mock(MovieService.class);
         reviewService = mock(ReviewService.class);
         topMovieService = mock(TopMovieService.class);
+        movieCatalogService = mock(MovieCatalogService.class);
+        when(movieCatalogService.current()).thenReturn(Optional.empty());
+        similarMoviesService = mock(SimilarMoviesService.class);
 
-        service = new RecommendationService(movieService, reviewService, topMovieService);
+        service = new RecommendationService(movieService, reviewService, topMovieService, movieCatalogService,
+                similarMoviesService);
     }
 
     @Test
@@ -43,17 +61,128 @@ public class RecommendationServiceTest {
         final Optional<Review> reviewOptional = Optional.of(review);
         when(reviewService.fetchLatestFavorite(USERID))
                 .thenReturn(reviewOptional);
-        when(movieService.fetch(IMDBID)).thenReturn(Optional.of(new Movie()));
+        when(movieService.fetchAsync(IMDBID)).thenReturn(CompletableFuture.completedFuture(Optional.of(new Movie())));
+        when(reviewService.fetchSeenMovies(USERID)).thenReturn(new SeenMovies());
 
         service.listRecommendations(USERID);
 
         verify(reviewService).fetchLatestFavorite(USERID);
         verify(topMovieService, never()).listTopMovies(RecommendationService.MAX_RECOMMENDATIONS);
-        verify(movieService).fetch(IMDBID);
-        verify(reviewService).listReviewedMovies(USERID);
+        verify(movieService).fetchAsync(IMDBID);
+        verify(reviewService).fetchSeenMovies(USERID);
         verify(movieService).listMovies(anyString());
     }
 
+    @Test
+    public void listRecommendationsFromCatalog() throws UserNotFoundException {
+        final Review review = new Review();
+        review.setUserId(USERID);
+        review.setImdbId(IMDBID);
+        when(reviewService.fetchLatestFavorite(USERID)).thenReturn(Optional.of(review));
+        when(movieService.fetchAsync(IMDBID))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(movie(IMDBID, 2000))));
+        when(reviewService.fetchSeenMovies(USERID)).thenReturn(SeenMovies.of(USERID, Arrays.asList(IMDBID)));
+        when(movieCatalogService.current()).thenReturn(Optional.of(MovieCatalog.of(Arrays.asList(
+                movie(IMDBID, 2000), movie("tt0000077", 1990), movie("tt0000078", 2010)))));
+
+        final List<?> result = service.listRecommendations(USERID);
+
+        assertEquals(Arrays.asList("tt0000078", "tt0000077"),
+                result.stream().map(movie -> ((Movie) movie).getImdbId()).collect(Collectors.toList()));
+        verify(movieService, never()).listMovies(anyString());
+    }
+
+    @Test
+    public void listRecommendationsSelectsNewestOfAllCandidates() throws UserNotFoundException {
+        final Review review = new Review();
+        review.setUserId(USERID);
+        review.setImdbId(IMDBID);
+        when(reviewService.fetchLatestFavorite(USERID)).thenReturn(Optional.of(review));
+        when(movieService.fetchAsync(IMDBID))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(movie(IMDBID, 2000))));
+        when(reviewService.fetchSeenMovies(USERID)).thenReturn(SeenMovies.of(USERID, Arrays.asList(IMDBID)));
+        // The newest movies are listed last, as the genre query returns movies by rating
+        final List<Movie> candidates = IntStream.range(0, 15)
+                .mapToObj(i -> movie(String.format("tt%07d", 100 + i), 1990 + i))
+                .collect(Collectors.toList());
+        when(movieService.listMovies("Drama")).thenReturn(candidates);
+
+        final List<?> result = service.listRecommendations(USERID);
+
+        assertEquals(IntStream.range(0, RecommendationService.MAX_RECOMMENDATIONS)
+                        .mapToObj(i -> String.format("tt%07d", 114 - i)).collect(Collectors.toList()),
+                result.stream().map(movie -> ((Movie) movie).getImdbId()).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void listRecommendationsWithScorer() throws UserNotFoundException {
+        service = new RecommendationService(movieService, reviewService, topMovieService, movieCatalogService,
+                similarMoviesService, (candidate, fromReview) -> -candidate.getReleaseYear());
+        final Review review = new Review();
+        review.setUserId(USERID);
+        review.setImdbId(IMDBID);
+        when(reviewService.fetchLatestFavorite(USERID)).thenReturn(Optional.of(review));
+        when(movieService.fetchAsync(IMDBID))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(movie(IMDBID, 2000))));
+        when(reviewService.fetchSeenMovies(USERID)).thenReturn(new SeenMovies());
+        when(movieService.listMovies("Drama")).thenReturn(Arrays.asList(movie("tt0000077", 2010), movie(IMDBID, 2000)));
+
+        final List<?> result = service.listRecommendations(USERID);
+
+        assertEquals(Arrays.asList(IMDBID, "tt0000077"),
+                result.stream().map(movie -> ((Movie) movie).getImdbId()).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void listRecommendationsSimilarMoviesFirst() throws UserNotFoundException {
+        final Review review = new Review();
+        review.setUserId(USERID);
+        review.setImdbId(IMDBID);
+        final SeenMovies seenMovies = SeenMovies.of(USERID, Collections.singletonList(IMDBID));
+        when(reviewService.fetchLatestFavorite(USERID)).thenReturn(Optional.of(review));
+        when(reviewService.fetchSeenMovies(USERID)).thenReturn(seenMovies);
+        when(similarMoviesService.listSimilarMovies(Collections.singleton(IMDBID), seenMovies,
+                SimilarMoviesService.MAX_SIMILAR_MOVIES))
+                .thenReturn(Arrays.asList("tt0000077", "tt0000080"));
+        when(movieService.fetchAll(Arrays.asList("tt0000077", "tt0000080")))
+                .thenReturn(Collections.singletonMap("tt0000077", movie("tt0000077", 1990)));
+        when(movieService.fetchAsync(IMDBID))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(movie(IMDBID, 2000))));
+        when(movieService.listMovies("Drama"))
+                .thenReturn(Arrays.asList(movie("tt0000077", 1990), movie("tt0000078", 2010)));
+
+        final List<?> result = service.listRecommendations(USERID);
+
+        assertEquals(Arrays.asList("tt0000077", "tt0000078"),
+                result.stream().map(movie -> ((Movie) movie).getImdbId()).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void listRecommendationsLeavesOutAdultSimilarMovies() throws UserNotFoundException {
+        final Review review = new Review();
+        review.setUserId(USERID);
+        review.setImdbId(IMDBID);
+        final SeenMovies seenMovies = SeenMovies.of(USERID, Collections.singletonList(IMDBID));
+        final Movie adult = movie("tt0000077", 1990);
+        adult.setIsAdult(true);
+        final Map<String, Movie> similarMovies = new HashMap<>();
+        similarMovies.put("tt0000077", adult);
+        similarMovies.put("tt0000078", movie("tt0000078", 2010));
+        when(reviewService.fetchLatestFavorite(USERID)).thenReturn(Optional.of(review));
+        when(reviewService.fetchSeenMovies(USERID)).thenReturn(seenMovies);
+        when(similarMoviesService.listSimilarMovies(Collections.singleton(IMDBID), seenMovies,
+                SimilarMoviesService.MAX_SIMILAR_MOVIES))
+                .thenReturn(Arrays.asList("tt0000077", "tt0000078"));
+        when(movieService.fetchAll(Arrays.asList("tt0000077", "tt0000078"))).thenReturn(similarMovies);
+        when(movieService.fetchAsync(IMDBID))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(movie(IMDBID, 2000))));
+
+        final List<?> result = service.listRecommendations(USERID);
+
+        assertEquals(Collections.singletonList("tt0000078"),
+                result.stream().map(movie -> ((Movie) movie).getImdbId()).collect(Collectors.toList()));
+    }
+
     @Test
     public void listRecommendationsWithoutLatestFavorite() throws UserNotFoundException {
         when(reviewService.fetchLatestFavorite(USERID))
@@ -64,8 +193,18 @@ public class RecommendationServiceTest {
 
         verify(reviewService).fetchLatestFavorite(USERID);
         verify(topMovieService).listTopMovies(RecommendationService.MAX_RECOMMENDATIONS);
-        verify(movieService, never()).fetch(IMDBID);
-        verify(reviewService, never()).listReviewedMovies(USERID);
+        verify(movieService, never()).fetchAsync(IMDBID);
+        verify(reviewService, never()).fetchSeenMovies(USERID);
         verify(movieService, never()).listMovies(anyString());
     }
+
+    private static Movie movie(String imdbId, int releaseYear) {
+        final Movie movie = new Movie();
+        movie.setImdbId(imdbId);
+        movie.setMostFrequentGenre("Drama");
+        movie.setMostFrequentKeyword("love");
+        movie.setImdbRating(7.0);
+        movie.setReleaseYear(releaseYear);
+        return movie;
+    }
 }
@@ -0,0 +1,38 @@
+package recommendation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import movie.Movie;
+import movie.TopMovie;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class RecommendedMovieTest {
+
+    private static final String IMDBID = "tt0000036";
+
+    @Test
+    public void valueOfMovieListsTheSame() throws Exception {
+        final Movie movie = new Movie();
+        movie.setImdbId(IMDBID);
+        movie.setTitle("Title");
+        movie.setImdbRating(7.5);
+        movie.setMostFrequentGenre("Drama");
+        movie.setMostFrequentKeyword("love");
+        movie.setIsAdult(false);
+        movie.setReleaseYear(2000);
+        final ObjectMapper mapper = new ObjectMapper();
+
+        assertEquals(mapper.readTree(mapper.writeValueAsString(movie)),
+                mapper.readTree(mapper.writeValueAsString(RecommendedMovie.valueOf(movie))));
+    }
+
+    @Test
+    public void valueOfTopMovieListsTheSame() throws Exception {
+        final TopMovie topMovie = new TopMovie(IMDBID, "Title", 7.5, "Drama", "love", false, 2000);
+        final ObjectMapper mapper = new ObjectMapper();
+
+        assertEquals(mapper.readTree(mapper.writeValueAsString(topMovie)),
+                mapper.readTree(mapper.writeValueAsString(RecommendedMovie.valueOf(topMovie))));
+    }
+}
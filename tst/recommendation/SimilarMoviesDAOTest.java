@@ -0,0 +1,101 @@
+package recommendation;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedScanList;
+import dynamodb.BatchWriteResult;
+import dynamodb.DynamoDBMapperWrapper;
+import dynamodb.ItemKey;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SimilarMoviesDAOTest {
+
+    private static final String IMDBID = "tt0000036";
+
+    private DynamoDBMapperWrapper mapper;
+    private SimilarMoviesDAO dao;
+
+    @Before
+    public void setUp() {
+        mapper = mock(DynamoDBMapperWrapper.class);
+
+        dao = new SimilarMoviesDAO(mapper);
+    }
+
+    @Test
+    public void fetchAll() {
+        final SimilarMovies similarMovies = new SimilarMovies(IMDBID, Collections.emptyList(), Collections.emptyList());
+        when(mapper.batchLoad(SimilarMovies.class, Collections.singletonList(ItemKey.of(IMDBID))))
+                .thenReturn(Collections.singletonMap(ItemKey.of(IMDBID), similarMovies));
+
+        final Collection<SimilarMovies> result = dao.fetchAll(Collections.singletonList(IMDBID));
+
+        assertEquals(Collections.singletonList(similarMovies), Arrays.asList(result.toArray()));
+    }
+
+    @Test
+    public void saveAll() {
+        final List<SimilarMovies> similarMovies = Collections.singletonList(new SimilarMovies());
+        final BatchWriteResult result = mock(BatchWriteResult.class);
+        when(result.isSuccessful()).thenReturn(true);
+        when(mapper.bulkWrite(similarMovies, Collections.emptyList())).thenReturn(result);
+
+        dao.saveAll(similarMovies);
+
+        verify(mapper).bulkWrite(similarMovies, Collections.emptyList());
+    }
+
+    @Test(expected = SdkClientException.class)
+    public void saveAllUnsuccessful() {
+        final List<SimilarMovies> similarMovies = Collections.singletonList(new SimilarMovies());
+        when(mapper.bulkWrite(similarMovies, Collections.emptyList())).thenReturn(mock(BatchWriteResult.class));
+
+        dao.saveAll(similarMovies);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void listImdbIds() {
+        final PaginatedScanList<SimilarMovies> scanned = mock(PaginatedScanList.class);
+        when(scanned.stream()).thenReturn(Stream.of(new SimilarMovies(IMDBID, null, null)));
+        when(mapper.scan(eq(SimilarMovies.class), any(DynamoDBScanExpression.class), any(DynamoDBMapperConfig.class)))
+                .thenReturn(scanned);
+
+        final List<String> result = dao.listImdbIds();
+
+        assertEquals(Collections.singletonList(IMDBID), result);
+    }
+
+    @Test
+    public void deleteAll() {
+        final BatchWriteResult result = mock(BatchWriteResult.class);
+        when(result.isSuccessful()).thenReturn(true);
+        final List<SimilarMovies> toDelete = Collections.singletonList(new SimilarMovies(IMDBID, null, null));
+        when(mapper.bulkWrite(Collections.emptyList(), toDelete)).thenReturn(result);
+
+        dao.deleteAll(Collections.singletonList(IMDBID));
+
+        verify(mapper).bulkWrite(Collections.emptyList(), toDelete);
+    }
+
+    @Test(expected = SdkClientException.class)
+    public void deleteAllUnsuccessful() {
+        when(mapper.bulkWrite(any(), any())).thenReturn(mock(BatchWriteResult.class));
+
+        dao.deleteAll(Collections.singletonList(IMDBID));
+    }
+}
@@ -0,0 +1,144 @@
+package recommendation;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.MockitoAnnotations;
+import review.Review;
+import review.ReviewDAO;
+import review.ReviewService;
+import review.SeenMovies;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public class SimilarMoviesServiceTest {
+
+    private static final String USERID = "larry";
+
+    private ReviewDAO reviewDAO;
+    private SimilarMoviesDAO similarMoviesDAO;
+    private SimilarMoviesService service;
+    @Captor
+    private ArgumentCaptor<Collection<SimilarMovies>> saved;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        reviewDAO = mock(ReviewDAO.class);
+        similarMoviesDAO = mock(SimilarMoviesDAO.class);
+
+        service = new SimilarMoviesService(reviewDAO, similarMoviesDAO);
+    }
+
+    @Test
+    public void updateSimilarMoviesGroupsFavoritesByUser() {
+        when(reviewDAO.scanFavorites(ReviewService.MIN_RATING)).thenReturn(Arrays.asList(
+                review("a", "tt0000001"), review("a", "tt0000002"),
+                review("b", "tt0000002"), review("b", "tt0000003"),
+                review("c", "tt0000004")));
+
+        final int result = service.updateSimilarMovies();
+
+        verify(similarMoviesDAO).saveAll(saved.capture());
+        final Map<String, List<String>> similarImdbIds = saved.getValue().stream()
+                .collect(Collectors.toMap(SimilarMovies::getImdbId, SimilarMovies::getSimilarImdbIds));
+        assertEquals(3, result);
+        assertEquals(Collections.singletonList("tt0000002"), similarImdbIds.get("tt0000001"));
+        assertEquals(Arrays.asList("tt0000001", "tt0000003"), similarImdbIds.get("tt0000002"));
+        assertEquals(Collections.singletonList("tt0000002"), similarImdbIds.get("tt0000003"));
+    }
+
+    @Test
+    public void updateSimilarMoviesGroupsInterleavedFavoritesByUser() {
+        when(reviewDAO.scanFavorites(ReviewService.MIN_RATING)).thenReturn(Arrays.asList(
+                review("a", "tt0000001"), review("b", "tt0000003"),
+                review("a", "tt0000002"), review("b", "tt0000004")));
+
+        final int result = service.updateSimilarMovies();
+
+        verify(similarMoviesDAO).saveAll(saved.capture());
+        final Map<String, List<String>> similarImdbIds = saved.getValue().stream()
+                .collect(Collectors.toMap(SimilarMovies::getImdbId, SimilarMovies::getSimilarImdbIds));
+        assertEquals(4, result);
+        assertEquals(Collections.singletonList("tt0000002"), similarImdbIds.get("tt0000001"));
+        assertEquals(Collections.singletonList("tt0000004"), similarImdbIds.get("tt0000003"));
+    }
+
+    @Test
+    public void updateSimilarMoviesDeletesStaleMovies() {
+        when(reviewDAO.scanFavorites(ReviewService.MIN_RATING)).thenReturn(Arrays.asList(
+                review("a", "tt0000001"), review("a", "tt0000002")));
+        when(similarMoviesDAO.listImdbIds()).thenReturn(Arrays.asList("tt0000001", "tt0000002", "tt0000003"));
+
+        service.updateSimilarMovies();
+
+        verify(similarMoviesDAO).deleteAll(Collections.singletonList("tt0000003"));
+    }
+
+    @Test
+    public void updateSimilarMoviesWithoutStaleMovies() {
+        when(reviewDAO.scanFavorites(ReviewService.MIN_RATING)).thenReturn(Arrays.asList(
+                review("a", "tt0000001"), review("a", "tt0000002")));
+        when(similarMoviesDAO.listImdbIds()).thenReturn(Arrays.asList("tt0000001", "tt0000002"));
+
+        service.updateSimilarMovies();
+
+        verify(similarMoviesDAO, never()).deleteAll(any());
+    }
+
+    @Test
+    public void listSimilarMoviesSumsSimilarities() {
+        final List<String> liked = Arrays.asList("tt0000001", "tt0000002");
+        when(similarMoviesDAO.fetchAll(any())).thenReturn(Arrays.asList(
+                similarMovies("tt0000001", new String[] {"tt0000002", "tt0000003", "tt0000004"}, 0.9, 0.5, 0.4),
+                similarMovies("tt0000002", new String[] {"tt0000004", "tt0000005"}, 0.3, 0.2)));
+
+        final List<String> result = service.listSimilarMovies(liked, new SeenMovies(), 2);
+
+        assertEquals(Arrays.asList("tt0000004", "tt0000003"), result);
+    }
+
+    @Test
+    public void listSimilarMoviesLeavesOutSeenMovies() {
+        when(similarMoviesDAO.fetchAll(any())).thenReturn(Collections.singletonList(
+                similarMovies("tt0000001", new String[] {"tt0000002", "tt0000003"}, 0.9, 0.5)));
+
+        final List<String> result = service.listSimilarMovies(Collections.singletonList("tt0000001"),
+                SeenMovies.of(USERID, Collections.singletonList("tt0000002")), 10);
+
+        assertEquals(Collections.singletonList("tt0000003"), result);
+    }
+
+    @Test
+    public void listSimilarMoviesWithoutFavorites() {
+        assertTrue(service.listSimilarMovies(Collections.emptyList(), new SeenMovies(), 10).isEmpty());
+
+        verifyZeroInteractions(similarMoviesDAO);
+    }
+
+    private static Review review(String userId, String imdbId) {
+        final Review review = new Review();
+        review.setUserId(userId);
+        review.setImdbId(imdbId);
+        return review;
+    }
+
+    private static SimilarMovies similarMovies(String imdbId, String[] similarImdbIds, Double... similarities) {
+        return new SimilarMovies(imdbId, Arrays.asList(similarImdbIds), Arrays.asList(similarities));
+    }
+}
@@ -0,0 +1,70 @@
+package recommendation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TopKTest {
+
+    @Test
+    public void selectsHighestScoresInOrder() {
+        final TopK<String> topK = new TopK<>(3);
+        topK.offer("a", 1);
+        topK.offer("b", 5);
+        topK.offer("c", 3);
+        topK.offer("d", 4);
+        topK.offer("e", 2);
+
+        assertEquals(Arrays.asList("b", "d", "c"), topK.toList());
+    }
+
+    @Test
+    public void fewerItemsThanK() {
+        final TopK<String> topK = new TopK<>(3);
+        topK.offer("a", 1);
+        topK.offer("b", 2);
+
+        assertEquals(Arrays.asList("b", "a"), topK.toList());
+    }
+
+    @Test
+    public void equalScoresKeepOfferOrder() {
+        final TopK<String> topK = new TopK<>(2);
+        topK.offer("a", 1);
+        topK.offer("b", 1);
+        topK.offer("c", 1);
+
+        assertEquals(Arrays.asList("a", "b"), topK.toList());
+    }
+
+    @Test
+    public void zeroK() {
+        final TopK<String> topK = new TopK<>(0);
+        topK.offer("a", 1);
+
+        assertTrue(topK.toList().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeK() {
+        new TopK<>(-1);
+    }
+
+    @Test
+    public void matchesFullSort() {
+        final List<Integer> values = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        Collections.shuffle(values, new Random(42));
+        final TopK<Integer> topK = new TopK<>(10);
+        values.forEach(value -> topK.offer(value, value));
+
+        assertEquals(IntStream.range(990, 1000).map(i -> 1989 - i).boxed().collect(Collectors.toList()),
+                topK.toList());
+    }
+}
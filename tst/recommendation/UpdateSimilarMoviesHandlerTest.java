@@ -0,0 +1,41 @@
+package recommendation;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class UpdateSimilarMoviesHandlerTest {
+
+    private SimilarMoviesService service;
+    private UpdateSimilarMoviesHandler handler;
+
+    @Before
+    public void setUp() {
+        service = mock(SimilarMoviesService.class);
+
+        handler = new UpdateSimilarMoviesHandler();
+    }
+
+    @Test
+    public void updateSimilarMovies() {
+        when(service.updateSimilarMovies()).thenReturn(3);
+
+        final String result = handler.handleRequest(service);
+
+        verify(service).updateSimilarMovies();
+        assertTrue(result.contains("3"));
+    }
+
+    @Test
+    public void catchException() {
+        when(service.updateSimilarMovies()).thenThrow(new RuntimeException());
+
+        final String result = handler.handleRequest(service);
+
+        assertTrue(result.contains("Failed"));
+    }
+}
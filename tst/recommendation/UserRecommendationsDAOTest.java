@@ -0,0 +1,86 @@
+package recommendation;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ReturnValue;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import dynamodb.DynamoDBMapperWrapper;
+import java.util.Collections;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class UserRecommendationsDAOTest {
+
+    private static final String USERID = "d2fadc3b-b791-4054-b51e-49be4beb24c7";
+    private static final String IMDBID = "tt0000036";
+
+    private DynamoDBMapperWrapper mapper;
+    private UserRecommendationsDAO dao;
+
+    @Before
+    public void setUp() {
+        mapper = mock(DynamoDBMapperWrapper.class);
+        when(mapper.getTableModel(UserRecommendations.class)).thenReturn(
+                new DynamoDBMapper(mock(AmazonDynamoDB.class)).getTableModel(UserRecommendations.class));
+
+        dao = new UserRecommendationsDAO(mapper);
+    }
+
+    @Test
+    public void fetch() {
+        final UserRecommendations stored = new UserRecommendations();
+        when(mapper.load(UserRecommendations.class, USERID)).thenReturn(Optional.of(stored));
+
+        assertEquals(Optional.of(stored), dao.fetch(USERID));
+    }
+
+    @Test
+    public void saveWithVersion() {
+        final RecommendedMovie movie = new RecommendedMovie(IMDBID, "Title", 7.5, "Drama", "love", false, 2000);
+
+        dao.save(USERID, Collections.singletonList(movie), 3L);
+
+        final UpdateItemRequest request = captureRequest();
+        assertEquals("SET movies = :movies, computedAt = :now", request.getUpdateExpression());
+        assertEquals("reviewsVersion = :reviewsVersion", request.getConditionExpression());
+        assertEquals(new AttributeValue().withN("3"), request.getExpressionAttributeValues().get(":reviewsVersion"));
+        assertEquals(new AttributeValue(IMDBID),
+                request.getExpressionAttributeValues().get(":movies").getL().get(0).getM().get("imdbId"));
+        assertEquals(ReturnValue.NONE.toString(), request.getReturnValues());
+    }
+
+    @Test
+    public void saveWithoutVersion() {
+        dao.save(USERID, Collections.emptyList(), null);
+
+        final UpdateItemRequest request = captureRequest();
+        assertEquals("attribute_not_exists(reviewsVersion)", request.getConditionExpression());
+        assertFalse(request.getExpressionAttributeValues().containsKey(":reviewsVersion"));
+    }
+
+    @Test
+    public void invalidate() {
+        dao.invalidate(USERID);
+
+        final UpdateItemRequest request = captureRequest();
+        assertEquals("ADD reviewsVersion :one REMOVE movies", request.getUpdateExpression());
+        assertEquals(new AttributeValue(USERID), request.getKey().get("userId"));
+        assertEquals(new AttributeValue().withN("1"), request.getExpressionAttributeValues().get(":one"));
+    }
+
+    private UpdateItemRequest captureRequest() {
+        final ArgumentCaptor<UpdateItemRequest> request = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(mapper).update(eq(UserRecommendations.class), request.capture());
+        return request.getValue();
+    }
+}
@@ -0,0 +1,166 @@
+package recommendation;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.StreamRecord;
+import exceptions.UserNotFoundException;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import movie.Movie;
+import movie.TopMovie;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import static com.amazonaws.services.lambda.runtime.events.DynamodbEvent.DynamodbStreamRecord;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class UserRecommendationsServiceTest {
+
+    private static final String USERID = "larry";
+    private static final String OTHER_USERID = "moe";
+    private static final String IMDBID = "tt0000076";
+    private static final long MAX_AGE_SECONDS = 60;
+
+    private RecommendationService recommendationService;
+    private UserRecommendationsDAO userRecommendationsDAO;
+    private UserRecommendationsService service;
+
+    @Before
+    public void setUp() throws UserNotFoundException {
+        recommendationService = mock(RecommendationService.class);
+        userRecommendationsDAO = mock(UserRecommendationsDAO.class);
+        when(userRecommendationsDAO.fetch(anyString())).thenReturn(Optional.empty());
+        doReturn(Collections.singletonList(movie())).when(recommendationService).listRecommendations(anyString());
+
+        service = new UserRecommendationsService(recommendationService, userRecommendationsDAO, MAX_AGE_SECONDS);
+    }
+
+    @Test
+    public void listRecommendationsStored() throws UserNotFoundException {
+        final UserRecommendations stored = stored(Calendar.getInstance());
+        when(userRecommendationsDAO.fetch(USERID)).thenReturn(Optional.of(stored));
+
+        final List<?> result = service.listRecommendations(USERID);
+
+        assertEquals(stored.getMovies(), result);
+        verify(recommendationService, never()).listRecommendations(anyString());
+    }
+
+    @Test
+    public void listRecommendationsMissing() throws UserNotFoundException {
+        final List<?> result = service.listRecommendations(USERID);
+
+        assertEquals(Collections.singletonList(movie()), result);
+        verify(userRecommendationsDAO).save(USERID, Collections.singletonList(recommendedMovie()), null);
+    }
+
+    @Test
+    public void listRecommendationsStale() throws UserNotFoundException {
+        final Calendar computedAt = Calendar.getInstance();
+        computedAt.add(Calendar.SECOND, (int) -MAX_AGE_SECONDS - 1);
+        when(userRecommendationsDAO.fetch(USERID)).thenReturn(Optional.of(stored(computedAt)));
+
+        service.listRecommendations(USERID);
+
+        verify(recommendationService).listRecommendations(USERID);
+        verify(userRecommendationsDAO).save(USERID, Collections.singletonList(recommendedMovie()), 2L);
+    }
+
+    @Test
+    public void listRecommendationsInvalidated() throws UserNotFoundException {
+        final UserRecommendations invalidated = new UserRecommendations();
+        invalidated.setUserId(USERID);
+        invalidated.setReviewsVersion(3L);
+        when(userRecommendationsDAO.fetch(USERID)).thenReturn(Optional.of(invalidated));
+
+        service.listRecommendations(USERID);
+
+        verify(userRecommendationsDAO).save(USERID, Collections.singletonList(recommendedMovie()), 3L);
+    }
+
+    @Test
+    public void listRecommendationsSaveFailureIsIgnored() throws UserNotFoundException {
+        doThrow(new ConditionalCheckFailedException("test"))
+                .when(userRecommendationsDAO).save(eq(USERID), anyListOf(RecommendedMovie.class), any());
+
+        final List<?> result = service.listRecommendations(USERID);
+
+        assertEquals(Collections.singletonList(movie()), result);
+    }
+
+    @Test
+    public void listRecommendationsOfTopMovies() throws UserNotFoundException {
+        final TopMovie topMovie = new TopMovie(IMDBID, "Title", 7.5, "Drama", "love", false, 2000);
+        doReturn(Collections.singletonList(topMovie)).when(recommendationService).listRecommendations(USERID);
+
+        service.listRecommendations(USERID);
+
+        verify(userRecommendationsDAO).save(USERID, Collections.singletonList(recommendedMovie()), null);
+    }
+
+    @Test(expected = UserNotFoundException.class)
+    public void listRecommendationsUserNotFound() throws UserNotFoundException {
+        when(recommendationService.listRecommendations(USERID)).thenThrow(new UserNotFoundException("test"));
+
+        service.listRecommendations(USERID);
+    }
+
+    @Test
+    public void projectInvalidatesEachUserOnce() throws UserNotFoundException {
+        service.project(Arrays.asList(record(USERID), record(OTHER_USERID), record(USERID)));
+
+        final InOrder inOrder = inOrder(userRecommendationsDAO);
+        inOrder.verify(userRecommendationsDAO).invalidate(USERID);
+        inOrder.verify(userRecommendationsDAO).invalidate(OTHER_USERID);
+        verify(userRecommendationsDAO, times(2)).invalidate(anyString());
+        verify(recommendationService, never()).listRecommendations(anyString());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void projectRethrowsInvalidateFailures() {
+        doThrow(new IllegalStateException("test")).when(userRecommendationsDAO).invalidate(USERID);
+
+        service.project(Collections.singletonList(record(USERID)));
+    }
+
+    private static DynamodbStreamRecord record(String userId) {
+        final DynamodbStreamRecord record = new DynamodbStreamRecord();
+        record.setDynamodb(new StreamRecord().withKeys(Collections.singletonMap("userId", new AttributeValue(userId))));
+        return record;
+    }
+
+    private static UserRecommendations stored(Calendar computedAt) {
+        final UserRecommendations stored = new UserRecommendations();
+        stored.setUserId(USERID);
+        stored.setMovies(Collections.singletonList(recommendedMovie()));
+        stored.setReviewsVersion(2L);
+        stored.setComputedAt(computedAt);
+        return stored;
+    }
+
+    private static Movie movie() {
+        final Movie movie = new Movie();
+        movie.setImdbId(IMDBID);
+        return movie;
+    }
+
+    private static RecommendedMovie recommendedMovie() {
+        return new RecommendedMovie(IMDBID, "Title", 7.5, "Drama", "love", false, 2000);
+    }
+}
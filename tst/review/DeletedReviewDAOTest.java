@@ -1,12 +1,17 @@
 package review;
 
 import com.amazonaws.services.dynamodbv2.model.AmazonDynamoDBException;
+import dynamodb.BatchWriteResult;
 import dynamodb.DynamoDBMapperWrapper;
+import java.util.Collections;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class DeletedReviewDAOTest {
@@ -38,4 +43,29 @@ public class DeletedReviewDAOTest {
 
         dao.save(deletedReview);
     }
+
+    @Test
+    public void saveAllDeletedReviews() {
+        final List<DeletedReview> deletedReviews = Collections.singletonList(deletedReview);
+        final BatchWriteResult result = mock(BatchWriteResult.class);
+        when(result.isSuccessful()).thenReturn(true);
+        when(mapper.bulkWrite(deletedReviews, Collections.emptyList())).thenReturn(result);
+
+        final List<DeletedReview> failed = dao.saveAll(deletedReviews);
+
+        verify(mapper).bulkWrite(deletedReviews, Collections.emptyList());
+        assertTrue(failed.isEmpty());
+    }
+
+    @Test
+    public void saveAllDeletedReviewsUnsuccessful() {
+        final List<DeletedReview> deletedReviews = Collections.singletonList(deletedReview);
+        final BatchWriteResult result = mock(BatchWriteResult.class);
+        when(result.getFailedWrites()).thenReturn(Collections.singletonList(deletedReview));
+        when(mapper.bulkWrite(deletedReviews, Collections.emptyList())).thenReturn(result);
+
+        final List<DeletedReview> failed = dao.saveAll(deletedReviews);
+
+        assertEquals(deletedReviews, failed);
+    }
 }
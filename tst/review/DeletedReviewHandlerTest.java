@@ -1,19 +1,29 @@
 package review;
 
+import com.amazonaws.services.dynamodbv2.model.StreamRecord;
 import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.stream.IntStream;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import static com.amazonaws.services.lambda.runtime.events.DynamodbEvent.DynamodbStreamRecord;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyCollectionOf;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class DeletedReviewHandlerTest {
 
+    private static final String USERID = "user";
+
     private DynamodbEvent event;
     private DeletedReviewService service;
     private DeletedReviewHandler handler;
@@ -27,24 +37,97 @@ public class DeletedReviewHandlerTest {
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     public void processDeletedReviews() {
         final int numberOfRecords = 25;
-        final List<DynamodbStreamRecord> list =
-                Stream.generate(() -> (DynamodbStreamRecord) new DynamodbStreamRecord()
-                        .withEventName(DeletedReviewHandler.DELETED_EVENT_NAME))
-                        .limit(numberOfRecords)
-                        .collect(Collectors.toList());
-        when(event.getRecords()).thenReturn(list);
+        final List<DynamodbStreamRecord> records = IntStream.range(0, numberOfRecords)
+                .mapToObj(i -> record(DeletedReviewHandler.DELETED_EVENT_NAME, String.valueOf(i), "tt" + i))
+                .collect(Collectors.toList());
+        when(event.getRecords()).thenReturn(records);
+        when(service.saveAll(anyCollectionOf(DeletedReview.class))).thenReturn(Collections.emptyList());
+
+        final StreamsEventResponse result = handler.handleRequest(event, service);
+
+        assertTrue(result.getBatchItemFailures().isEmpty());
+        final ArgumentCaptor<Collection<DeletedReview>> saved = ArgumentCaptor.forClass((Class) Collection.class);
+        verify(service).saveAll(saved.capture());
+        assertEquals(numberOfRecords, saved.getValue().size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void processOnlyLatestRecordOfEachReview() {
+        final DynamodbStreamRecord first = record(DeletedReviewHandler.DELETED_EVENT_NAME, "1", "tt1");
+        final DynamodbStreamRecord inserted = record("INSERT", "2", "tt1");
+        final DynamodbStreamRecord second = record(DeletedReviewHandler.DELETED_EVENT_NAME, "3", "tt1");
+        when(event.getRecords()).thenReturn(Arrays.asList(first, inserted, second));
+        when(service.saveAll(anyCollectionOf(DeletedReview.class))).thenReturn(Collections.emptyList());
+
+        handler.handleRequest(event, service);
+
+        final ArgumentCaptor<Collection<DeletedReview>> saved = ArgumentCaptor.forClass((Class) Collection.class);
+        verify(service).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        assertEquals(3.0, saved.getValue().iterator().next().getRating(), 0.0);
+    }
+
+    @Test
+    public void reportFailedRecords() {
+        final DynamodbStreamRecord saved = record(DeletedReviewHandler.DELETED_EVENT_NAME, "1", "tt1");
+        final DynamodbStreamRecord failed = record(DeletedReviewHandler.DELETED_EVENT_NAME, "2", "tt2");
+        when(event.getRecords()).thenReturn(Arrays.asList(saved, failed));
+        when(service.saveAll(anyCollectionOf(DeletedReview.class)))
+                .thenAnswer(invocation -> ((Collection<?>) invocation.getArguments()[0]).stream()
+                        .filter(review -> ((DeletedReview) review).getImdbId().equals("tt2"))
+                        .collect(Collectors.toList()));
 
-        final String result = handler.handleRequest(event, service);
+        final StreamsEventResponse result = handler.handleRequest(event, service);
 
-        assertTrue(result.contains(String.valueOf(numberOfRecords)));
+        assertEquals(Collections.singletonList(new StreamsEventResponse.BatchItemFailure("2")),
+                result.getBatchItemFailures());
     }
 
     @Test
-    public void catchException() {
+    public void reportAllRecordsWhenSavingFails() {
+        final DynamodbStreamRecord first = record(DeletedReviewHandler.DELETED_EVENT_NAME, "1", "tt1");
+        final DynamodbStreamRecord second = record(DeletedReviewHandler.DELETED_EVENT_NAME, "2", "tt2");
+        when(event.getRecords()).thenReturn(Arrays.asList(first, second));
+        when(service.saveAll(anyCollectionOf(DeletedReview.class))).thenThrow(new RuntimeException());
+
+        final StreamsEventResponse result = handler.handleRequest(event, service);
+
+        assertEquals(2, result.getBatchItemFailures().size());
+    }
+
+    @Test
+    public void reportUnreadableRecords() {
+        final DynamodbStreamRecord unreadable = (DynamodbStreamRecord) new DynamodbStreamRecord()
+                .withEventName(DeletedReviewHandler.DELETED_EVENT_NAME)
+                .withDynamodb(new StreamRecord().withSequenceNumber("1"));
+        when(service.valueOf(unreadable)).thenThrow(new NullPointerException());
+        when(event.getRecords()).thenReturn(Collections.singletonList(unreadable));
+        when(service.saveAll(anyCollectionOf(DeletedReview.class))).thenReturn(Collections.emptyList());
+
+        final StreamsEventResponse result = handler.handleRequest(event, service);
+
+        assertEquals(Collections.singletonList(new StreamsEventResponse.BatchItemFailure("1")),
+                result.getBatchItemFailures());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void rethrowException() {
         when(event.getRecords()).thenThrow(new RuntimeException());
 
         handler.handleRequest(event, service);
     }
+
+    /* A record whose deleted review has the sequence number as its rating, to tell records apart */
+    private DynamodbStreamRecord record(String eventName, String sequenceNumber, String imdbId) {
+        final DynamodbStreamRecord record = (DynamodbStreamRecord) new DynamodbStreamRecord()
+                .withEventName(eventName)
+                .withDynamodb(new StreamRecord().withSequenceNumber(sequenceNumber));
+        when(service.valueOf(record))
+                .thenReturn(new DeletedReview(USERID, imdbId, Double.valueOf(sequenceNumber), null, null));
+        return record;
+    }
 }
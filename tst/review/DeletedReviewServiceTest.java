@@ -3,12 +3,16 @@ package review;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.amazonaws.services.dynamodbv2.model.StreamRecord;
 import com.google.common.collect.ImmutableMap;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
 
 import static com.amazonaws.services.lambda.runtime.events.DynamodbEvent.DynamodbStreamRecord;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -35,6 +39,16 @@ public class DeletedReviewServiceTest {
         verify(deletedReviewDAO).save(deletedReview);
     }
 
+    @Test
+    public void saveAll() {
+        final List<DeletedReview> deletedReviews = Collections.singletonList(new DeletedReview());
+        when(deletedReviewDAO.saveAll(deletedReviews)).thenReturn(deletedReviews);
+
+        final List<DeletedReview> result = service.saveAll(deletedReviews);
+
+        assertEquals(deletedReviews, result);
+    }
+
     @Test
     public void valueOf() {
         final StreamRecord streamRecord = new StreamRecord().withOldImage(createValues());
@@ -44,6 +58,20 @@ public class DeletedReviewServiceTest {
         final DeletedReview result = service.valueOf(record);
 
         assertEquals(expected, result);
+        assertNull(result.getDeletedAt());
+    }
+
+    @Test
+    public void valueOfDeletedAtRecordTime() {
+        final Date recordTime = new Date(1515018696000L);
+        final StreamRecord streamRecord = new StreamRecord()
+                .withOldImage(createValues())
+                .withApproximateCreationDateTime(recordTime);
+        when(record.getDynamodb()).thenReturn(streamRecord);
+
+        final DeletedReview result = service.valueOf(record);
+
+        assertEquals(recordTime, result.getDeletedAt().getTime());
     }
 
     private Map<String, AttributeValue> createValues() {
@@ -0,0 +1,98 @@
+package review;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.model.AmazonDynamoDBException;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import dynamodb.DynamoDBMapperWrapper;
+import java.util.Calendar;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LatestFavoriteDAOTest {
+
+    private static final String USERID = "d2fadc3b-b791-4054-b51e-49be4beb24c7";
+    private static final String IMDBID = "tt0000036";
+
+    private DynamoDBMapperWrapper mapper;
+    private Review favorite;
+    private LatestFavoriteDAO dao;
+
+    @Before
+    public void setUp() {
+        mapper = mock(DynamoDBMapperWrapper.class);
+        favorite = new Review();
+        favorite.setUserId(USERID);
+        favorite.setImdbId(IMDBID);
+        favorite.setRating(4.5);
+        favorite.setCreatedAt(Calendar.getInstance());
+        when(mapper.getTableModel(LatestFavorite.class))
+                .thenReturn(new DynamoDBMapper(mock(AmazonDynamoDB.class)).getTableModel(LatestFavorite.class));
+
+        dao = new LatestFavoriteDAO(mapper);
+    }
+
+    @Test
+    public void fetch() {
+        final LatestFavorite stored = new LatestFavorite();
+        when(mapper.load(LatestFavorite.class, USERID)).thenReturn(Optional.of(stored));
+
+        assertEquals(Optional.of(stored), dao.fetch(USERID));
+    }
+
+    @Test
+    public void saveIfLatest() {
+        dao.saveIfLatest(favorite);
+
+        final UpdateItemRequest request = captureRequest();
+        assertEquals(new AttributeValue(USERID), request.getKey().get("userId"));
+        assertEquals(new AttributeValue(IMDBID), request.getExpressionAttributeValues().get(":imdbId"));
+        assertTrue(request.getUpdateExpression().startsWith("SET imdbId = :imdbId"));
+        assertEquals("attribute_exists(userId) AND (attribute_not_exists(createdAt) OR createdAt <= :createdAt)",
+                request.getConditionExpression());
+    }
+
+    @Test
+    public void replaceWithNone() {
+        dao.replace(USERID, IMDBID, Optional.empty());
+
+        final UpdateItemRequest request = captureRequest();
+        assertTrue(request.getUpdateExpression().contains("REMOVE imdbId, rating, createdAt"));
+        assertFalse(request.getExpressionAttributeValues().containsKey(":imdbId"));
+        assertEquals(new AttributeValue(IMDBID), request.getExpressionAttributeValues().get(":expectedImdbId"));
+        assertEquals("imdbId = :expectedImdbId", request.getConditionExpression());
+    }
+
+    @Test
+    public void saveIfAbsent() {
+        dao.saveIfAbsent(USERID, Optional.of(favorite));
+
+        assertEquals("attribute_not_exists(userId)", captureRequest().getConditionExpression());
+    }
+
+    @Test(expected = AmazonDynamoDBException.class)
+    public void saveIfLatestDynamoException() {
+        when(mapper.update(eq(LatestFavorite.class), any(UpdateItemRequest.class)))
+                .thenThrow(new AmazonDynamoDBException("test"));
+
+        dao.saveIfLatest(favorite);
+    }
+
+    private UpdateItemRequest captureRequest() {
+        final ArgumentCaptor<UpdateItemRequest> request = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(mapper).update(eq(LatestFavorite.class), request.capture());
+        return request.getValue();
+    }
+}
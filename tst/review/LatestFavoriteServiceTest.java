@@ -0,0 +1,206 @@
+package review;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.StreamRecord;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.amazonaws.services.lambda.runtime.events.DynamodbEvent.DynamodbStreamRecord;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LatestFavoriteServiceTest {
+
+    private static final String USERID = "d2fadc3b-b791-4054-b51e-49be4beb24c7";
+    private static final String IMDBID = "tt0000036";
+    private static final String NEXT_IMDBID = "tt0000076";
+    private static final Map<String, AttributeValue> OLD_IMAGE = Collections.singletonMap("old", new AttributeValue());
+    private static final Map<String, AttributeValue> NEW_IMAGE = Collections.singletonMap("new", new AttributeValue());
+
+    private LatestFavoriteDAO latestFavoriteDAO;
+    private ReviewDAO reviewDAO;
+    private LatestFavorite stored;
+    private LatestFavoriteService service;
+
+    @Before
+    public void setUp() {
+        latestFavoriteDAO = mock(LatestFavoriteDAO.class);
+        reviewDAO = mock(ReviewDAO.class);
+        stored = new LatestFavorite();
+        stored.setUserId(USERID);
+        stored.setImdbId(IMDBID);
+        stored.setRating(4.5);
+
+        service = new LatestFavoriteService(latestFavoriteDAO, reviewDAO);
+    }
+
+    @Test
+    public void fetchLatestFavoriteStored() {
+        when(latestFavoriteDAO.fetch(USERID)).thenReturn(Optional.of(stored));
+
+        final Optional<Review> result = service.fetchLatestFavorite(USERID);
+
+        assertEquals(IMDBID, result.get().getImdbId());
+        verify(reviewDAO, never()).fetchLatestFavorite(anyString(), any(Double.class));
+    }
+
+    @Test
+    public void fetchLatestFavoriteStoredNone() {
+        stored.setImdbId(null);
+        when(latestFavoriteDAO.fetch(USERID)).thenReturn(Optional.of(stored));
+
+        assertFalse(service.fetchLatestFavorite(USERID).isPresent());
+    }
+
+    @Test
+    public void fetchLatestFavoriteNotProjectedYet() {
+        final Review favorite = review(IMDBID, 5.0);
+        when(latestFavoriteDAO.fetch(USERID)).thenReturn(Optional.empty());
+        when(reviewDAO.fetchLatestFavorite(USERID, ReviewService.MIN_RATING)).thenReturn(Optional.of(favorite));
+        when(latestFavoriteDAO.saveIfAbsent(USERID, Optional.of(favorite)))
+                .thenThrow(new ConditionalCheckFailedException("Already projected."));
+
+        final Optional<Review> result = service.fetchLatestFavorite(USERID);
+
+        verify(latestFavoriteDAO).saveIfAbsent(USERID, Optional.of(favorite));
+        assertEquals(Optional.of(favorite), result);
+    }
+
+    @Test
+    public void projectNewFavorite() {
+        final Review favorite = review(IMDBID, 4.0);
+        when(reviewDAO.valueOf(NEW_IMAGE)).thenReturn(favorite);
+
+        service.project(record(LatestFavoriteService.INSERT_EVENT_NAME, null, NEW_IMAGE));
+
+        verify(latestFavoriteDAO).saveIfLatest(favorite);
+    }
+
+    @Test
+    public void projectOlderFavorite() {
+        final Review favorite = review(IMDBID, 4.0);
+        when(reviewDAO.valueOf(NEW_IMAGE)).thenReturn(favorite);
+        when(latestFavoriteDAO.saveIfLatest(favorite)).thenThrow(new ConditionalCheckFailedException("Later."));
+        when(latestFavoriteDAO.fetch(USERID)).thenReturn(Optional.of(stored));
+
+        service.project(record(LatestFavoriteService.INSERT_EVENT_NAME, null, NEW_IMAGE));
+
+        verify(latestFavoriteDAO, never()).saveIfAbsent(anyString(), any(Optional.class));
+    }
+
+    @Test
+    public void projectOlderFavoriteWithNoneStored() {
+        final Review older = review(IMDBID, 4.0);
+        older.setCreatedAt(calendar(2017));
+        final Review newer = review(NEXT_IMDBID, 5.0);
+        newer.setCreatedAt(calendar(2018));
+        when(reviewDAO.valueOf(NEW_IMAGE)).thenReturn(older);
+        when(latestFavoriteDAO.saveIfLatest(older)).thenThrow(new ConditionalCheckFailedException("No item."));
+        when(latestFavoriteDAO.fetch(USERID)).thenReturn(Optional.empty());
+        when(reviewDAO.fetchLatestFavorite(USERID, ReviewService.MIN_RATING)).thenReturn(Optional.of(newer));
+
+        service.project(record(LatestFavoriteService.MODIFY_EVENT_NAME, OLD_IMAGE, NEW_IMAGE));
+
+        verify(latestFavoriteDAO).saveIfAbsent(USERID, Optional.of(newer));
+    }
+
+    @Test
+    public void projectNewFavoriteWithNoneStoredNotIndexedYet() {
+        final Review older = review(NEXT_IMDBID, 5.0);
+        older.setCreatedAt(calendar(2017));
+        final Review favorite = review(IMDBID, 4.0);
+        favorite.setCreatedAt(calendar(2018));
+        when(reviewDAO.valueOf(NEW_IMAGE)).thenReturn(favorite);
+        when(latestFavoriteDAO.saveIfLatest(favorite)).thenThrow(new ConditionalCheckFailedException("No item."));
+        when(latestFavoriteDAO.fetch(USERID)).thenReturn(Optional.empty());
+        when(reviewDAO.fetchLatestFavorite(USERID, ReviewService.MIN_RATING)).thenReturn(Optional.of(older));
+
+        service.project(record(LatestFavoriteService.INSERT_EVENT_NAME, null, NEW_IMAGE));
+
+        verify(latestFavoriteDAO).saveIfAbsent(USERID, Optional.of(favorite));
+    }
+
+    @Test
+    public void projectNewReviewNotFavorite() {
+        when(reviewDAO.valueOf(NEW_IMAGE)).thenReturn(review(IMDBID, 2.0));
+
+        service.project(record(LatestFavoriteService.INSERT_EVENT_NAME, null, NEW_IMAGE));
+
+        verify(latestFavoriteDAO, never()).saveIfLatest(any(Review.class));
+        verify(latestFavoriteDAO, never()).fetch(anyString());
+        verify(latestFavoriteDAO, never()).replace(anyString(), anyString(), any(Optional.class));
+    }
+
+    @Test
+    public void projectFavoriteRatingLowered() {
+        final Review next = review(NEXT_IMDBID, 5.0);
+        when(reviewDAO.valueOf(OLD_IMAGE)).thenReturn(review(IMDBID, 4.5));
+        when(reviewDAO.valueOf(NEW_IMAGE)).thenReturn(review(IMDBID, 3.0));
+        when(latestFavoriteDAO.fetch(USERID)).thenReturn(Optional.of(stored));
+        // the index still holds the old rating
+        when(reviewDAO.listFavorites(USERID, ReviewService.MIN_RATING))
+                .thenReturn(Arrays.asList(review(IMDBID, 4.5), next));
+
+        service.project(record(LatestFavoriteService.MODIFY_EVENT_NAME, OLD_IMAGE, NEW_IMAGE));
+
+        verify(latestFavoriteDAO).replace(USERID, IMDBID, Optional.of(next));
+    }
+
+    @Test
+    public void projectFavoriteRemoved() {
+        when(reviewDAO.valueOf(OLD_IMAGE)).thenReturn(review(IMDBID, 4.5));
+        when(latestFavoriteDAO.fetch(USERID)).thenReturn(Optional.of(stored));
+        when(reviewDAO.listFavorites(USERID, ReviewService.MIN_RATING)).thenReturn(Collections.emptyList());
+
+        service.project(record(LatestFavoriteService.REMOVE_EVENT_NAME, OLD_IMAGE, null));
+
+        verify(latestFavoriteDAO).replace(USERID, IMDBID, Optional.empty());
+    }
+
+    @Test
+    public void projectOtherFavoriteRemoved() {
+        when(reviewDAO.valueOf(OLD_IMAGE)).thenReturn(review(NEXT_IMDBID, 4.5));
+        when(latestFavoriteDAO.fetch(USERID)).thenReturn(Optional.of(stored));
+
+        service.project(record(LatestFavoriteService.REMOVE_EVENT_NAME, OLD_IMAGE, null));
+
+        verify(reviewDAO, never()).listFavorites(anyString(), any(Double.class));
+        verify(latestFavoriteDAO, never()).replace(anyString(), anyString(), any(Optional.class));
+    }
+
+    private static Calendar calendar(int year) {
+        final Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, Calendar.JANUARY, 1);
+        return calendar;
+    }
+
+    private static Review review(String imdbId, double rating) {
+        final Review review = new Review();
+        review.setUserId(USERID);
+        review.setImdbId(imdbId);
+        review.setRating(rating);
+        return review;
+    }
+
+    private static DynamodbStreamRecord record(String eventName,
+                                               Map<String, AttributeValue> oldImage,
+                                               Map<String, AttributeValue> newImage) {
+        final DynamodbStreamRecord record = new DynamodbStreamRecord();
+        record.setEventName(eventName);
+        record.setDynamodb(new StreamRecord().withOldImage(oldImage).withNewImage(newImage));
+        return record;
+    }
+}
@@ -3,13 +3,16 @@ package review;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.google.common.collect.ImmutableMap;
+import config.AppConfig;
 import exceptions.UserNotFoundException;
+import java.util.Collections;
 import java.util.Map;
 import org.apache.http.HttpStatus;
 import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -51,6 +54,18 @@ public class ListReviewsHandlerTest {
         assertEquals(HttpStatus.SC_OK, result.getStatusCode().intValue());
     }
 
+    @Test
+    public void listReviewsWritesResponseFields() throws Exception {
+        when(service.listReviews(any(ListReviewsRequest.class)))
+                .thenReturn(new ListReviewsResponse(Collections.emptyList(), PAGINATION_TOKEN_QUERY_PARAMETER_VALUE));
+
+        final APIGatewayProxyResponseEvent result = handler.handleRequest(request, service);
+
+        assertEquals(String.format("{\"results\":[],\"paginationToken\":\"%s\"}",
+                PAGINATION_TOKEN_QUERY_PARAMETER_VALUE), result.getBody());
+        assertFalse(AppConfig.getObjectMapper().canSerialize(ListReviewsResponse.class));
+    }
+
     @Test
     public void catchIllegalArgumentException() throws Exception {
         when(service.listReviews(any(ListReviewsRequest.class))).thenThrow(new IllegalArgumentException());
@@ -0,0 +1,158 @@
+package review;
+
+import apigateway.ResponseCompression;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableMap;
+import config.AppConfig;
+import exceptions.UserNotFoundException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.apache.http.HttpStatus;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ListReviewsStreamHandlerTest {
+
+    private static final String USERID_PARAMETER_KEY = "userId";
+    private static final String USERID_PARAMETER_VALUE = "d2fadc3b-b791-4054-b51e-49be4beb24c7";
+    private static final String PAGINATION_TOKEN = "tt0000300#2018-01-05T00:34:18.467Z";
+
+    private ReviewService service;
+    private APIGatewayProxyRequestEvent request;
+    private ByteArrayOutputStream output;
+    private ListReviewsStreamHandler handler;
+
+    @Before
+    public void setUp() {
+        service = mock(ReviewService.class);
+        request = new APIGatewayProxyRequestEvent();
+        request.setPathParameters(ImmutableMap.of(USERID_PARAMETER_KEY, USERID_PARAMETER_VALUE));
+        request.setQueryStringParameters(ImmutableMap.of("count", "10"));
+        output = new ByteArrayOutputStream();
+
+        handler = new ListReviewsStreamHandler();
+    }
+
+    @Test
+    public void listReviews() throws Exception {
+        final Review review = new Review();
+        review.setUserId(USERID_PARAMETER_VALUE);
+        review.setRating(4.5);
+        final ListReviewsResponse response =
+                new ListReviewsResponse(Collections.singletonList(review), PAGINATION_TOKEN);
+        when(service.listReviews(any(ListReviewsRequest.class))).thenReturn(response);
+
+        handler.handleRequest(request, output, service);
+
+        final JsonNode result = readResponse();
+        assertEquals(HttpStatus.SC_OK, result.get("statusCode").asInt());
+        assertEquals(AppConfig.getListReviewsResponseWriter().writeValueAsString(response),
+                result.get("body").asText());
+    }
+
+    @Test
+    public void listReviewsWritesResponseFields() throws Exception {
+        when(service.listReviews(any(ListReviewsRequest.class)))
+                .thenReturn(new ListReviewsResponse(Collections.emptyList(), PAGINATION_TOKEN));
+
+        handler.handleRequest(request, output, service);
+
+        assertEquals(String.format("{\"results\":[],\"paginationToken\":\"%s\"}", PAGINATION_TOKEN),
+                readResponse().get("body").asText());
+        assertFalse(AppConfig.getObjectMapper().canSerialize(ListReviewsResponse.class));
+    }
+
+    @Test
+    public void listReviewsUncompressedForJsonClient() throws Exception {
+        final List<Review> reviews = reviews(100);
+        final ListReviewsResponse response = new ListReviewsResponse(reviews, PAGINATION_TOKEN);
+        when(service.listReviews(any(ListReviewsRequest.class))).thenReturn(response);
+        request.setHeaders(ImmutableMap.of("Accept", "application/json", "Accept-Encoding", "gzip, deflate"));
+
+        handler.handleRequest(request, output, service);
+
+        // API Gateway only decodes base64 bodies for binary media types, so the body is left as plain JSON text
+        final JsonNode result = readResponse();
+        assertFalse(result.has("isBase64Encoded"));
+        assertFalse(result.path("headers").has("Content-Encoding"));
+        assertEquals(reviews.size(), AppConfig.getObjectMapper()
+                .readTree(result.get("body").asText()).get("results").size());
+    }
+
+    @Test
+    public void listReviewsCompressed() throws Exception {
+        final List<Review> reviews = reviews(100);
+        final ListReviewsResponse response = new ListReviewsResponse(reviews, PAGINATION_TOKEN);
+        when(service.listReviews(any(ListReviewsRequest.class))).thenReturn(response);
+        request.setHeaders(ImmutableMap.of(
+                "Accept", ResponseCompression.DEFAULT_MEDIA_TYPE, "Accept-Encoding", "gzip, deflate"));
+
+        handler.handleRequest(request, output, service);
+
+        final JsonNode result = readResponse();
+        assertTrue(result.get("isBase64Encoded").asBoolean());
+        assertEquals("gzip", result.get("headers").get("Content-Encoding").asText());
+        final byte[] body = Base64.getDecoder().decode(result.get("body").asText());
+        assertEquals(reviews.size(), AppConfig.getObjectMapper()
+                .readTree(new GZIPInputStream(new ByteArrayInputStream(body))).get("results").size());
+    }
+
+    @Test
+    public void catchIllegalArgumentException() throws Exception {
+        when(service.listReviews(any(ListReviewsRequest.class))).thenThrow(new IllegalArgumentException());
+
+        handler.handleRequest(request, output, service);
+
+        assertEquals(HttpStatus.SC_BAD_REQUEST, readResponse().get("statusCode").asInt());
+    }
+
+    @Test
+    public void catchUserNotFoundException() throws Exception {
+        when(service.listReviews(any(ListReviewsRequest.class)))
+                .thenThrow(new UserNotFoundException("User not found."));
+
+        handler.handleRequest(request, output, service);
+
+        final JsonNode result = readResponse();
+        assertEquals(HttpStatus.SC_NOT_FOUND, result.get("statusCode").asInt());
+        assertEquals("{\"message\" : \"User not found.\"}", result.get("body").asText());
+    }
+
+    @Test
+    public void catchException() throws Exception {
+        when(service.listReviews(any(ListReviewsRequest.class))).thenThrow(new RuntimeException());
+
+        handler.handleRequest(request, output, service);
+
+        assertEquals(HttpStatus.SC_INTERNAL_SERVER_ERROR, readResponse().get("statusCode").asInt());
+    }
+
+    private static List<Review> reviews(int count) {
+        final List<Review> reviews = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final Review review = new Review();
+            review.setUserId(USERID_PARAMETER_VALUE);
+            review.setImdbId(String.format("tt%07d", i));
+            review.setRating(4.5);
+            reviews.add(review);
+        }
+        return reviews;
+    }
+
+    private JsonNode readResponse() throws Exception {
+        return AppConfig.getObjectMapper().readTree(output.toByteArray());
+    }
+}
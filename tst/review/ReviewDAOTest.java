@@ -1,18 +1,28 @@
 package review;
 
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedQueryList;
 import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
 import com.amazonaws.services.dynamodbv2.model.AmazonDynamoDBException;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
 import dynamodb.DynamoDBMapperWrapper;
+import dynamodb.ItemKey;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
@@ -37,6 +47,8 @@ public class ReviewDAOTest {
         review.setUserId(USERID);
         review.setImdbId(IMDBID);
         review.setRating(VALID_RATING);
+        when(mapper.getTableModel(Review.class))
+                .thenReturn(new DynamoDBMapper(mock(AmazonDynamoDB.class)).getTableModel(Review.class));
 
         dao = new ReviewDAO(mapper);
     }
@@ -107,6 +119,80 @@ public class ReviewDAOTest {
         dao.save(review);
     }
 
+    @Test
+    public void upsertReview() {
+        final ArgumentCaptor<UpdateItemRequest> request = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        when(mapper.update(eq(Review.class), request.capture())).thenReturn(review);
+
+        final Review result = dao.upsert(review);
+
+        assertEquals(review, result);
+        assertEquals(USERID, request.getValue().getKey().get("userId").getS());
+        assertEquals(IMDBID, request.getValue().getKey().get("imdbId").getS());
+        assertEquals("4.5", request.getValue().getExpressionAttributeValues().get(":rating").getN());
+        assertTrue(request.getValue().getUpdateExpression().contains("createdAt = if_not_exists(createdAt, :now)"));
+        assertNull(request.getValue().getConditionExpression());
+    }
+
+    @Test
+    public void upsertReviewWithVersion() {
+        final ArgumentCaptor<UpdateItemRequest> request = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        when(mapper.update(eq(Review.class), request.capture())).thenReturn(review);
+        review.setVersion(2L);
+
+        dao.upsert(review);
+
+        assertEquals("version = :expectedVersion", request.getValue().getConditionExpression());
+        assertEquals("2", request.getValue().getExpressionAttributeValues().get(":expectedVersion").getN());
+    }
+
+    @Test(expected = ConditionalCheckFailedException.class)
+    public void upsertReviewVersionConflict() {
+        when(mapper.update(eq(Review.class), any(UpdateItemRequest.class)))
+                .thenThrow(new ConditionalCheckFailedException("test"));
+        review.setVersion(2L);
+
+        dao.upsert(review);
+    }
+
+    @Test
+    public void updateExistingReview() {
+        final ArgumentCaptor<UpdateItemRequest> request = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        when(mapper.update(eq(Review.class), request.capture())).thenReturn(review);
+
+        final Review result = dao.updateExisting(review);
+
+        assertEquals(review, result);
+        assertEquals("attribute_exists(userId)", request.getValue().getConditionExpression());
+    }
+
+    @Test(expected = ConditionalCheckFailedException.class)
+    public void updateExistingReviewDoesntExist() {
+        when(mapper.update(eq(Review.class), any(UpdateItemRequest.class)))
+                .thenThrow(new ConditionalCheckFailedException("test"));
+
+        dao.updateExisting(review);
+    }
+
+    @Test
+    public void createReview() {
+        final ArgumentCaptor<UpdateItemRequest> request = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        when(mapper.update(eq(Review.class), request.capture())).thenReturn(review);
+
+        final Review result = dao.create(review);
+
+        assertEquals(review, result);
+        assertEquals("attribute_not_exists(userId)", request.getValue().getConditionExpression());
+    }
+
+    @Test(expected = ConditionalCheckFailedException.class)
+    public void createReviewAlreadyExists() {
+        when(mapper.update(eq(Review.class), any(UpdateItemRequest.class)))
+                .thenThrow(new ConditionalCheckFailedException("test"));
+
+        dao.create(review);
+    }
+
     @Test
     public void deleteReview() {
         when(mapper.delete(review)).thenReturn(review);
@@ -125,17 +211,17 @@ public class ReviewDAOTest {
 
     @Test
     public void createListReviewsResponse() {
-        when(mapper.queryPage(eq(Review.class), any(DynamoDBQueryExpression.class)))
+        when(mapper.queryPageLazily(eq(Review.class), any(DynamoDBQueryExpression.class)))
                 .thenReturn(new QueryResultPage<>());
 
         dao.createListReviewsResponse(USERID, ListReviewsRequest.MAXIMUM_COUNT, null);
 
-        verify(mapper).queryPage(eq(Review.class), any(DynamoDBQueryExpression.class));
+        verify(mapper).queryPageLazily(eq(Review.class), any(DynamoDBQueryExpression.class));
     }
 
     @Test(expected = AmazonDynamoDBException.class)
     public void createListReviewsResponseDynamoException() {
-        when(mapper.queryPage(eq(Review.class), any(DynamoDBQueryExpression.class)))
+        when(mapper.queryPageLazily(eq(Review.class), any(DynamoDBQueryExpression.class)))
                 .thenThrow(new AmazonDynamoDBException("test"));
 
         dao.createListReviewsResponse(USERID, ListReviewsRequest.MAXIMUM_COUNT, null);
@@ -143,39 +229,63 @@ public class ReviewDAOTest {
 
     @Test
     public void fetchLatestFavorite() {
-        final QueryResultPage<Review> reviewPage = mock(QueryResultPage.class);
-        when(mapper.queryPage(eq(Review.class), any(DynamoDBQueryExpression.class)))
-                .thenReturn(reviewPage);
-        when(reviewPage.getResults()).thenReturn(Collections.singletonList(review));
+        final PaginatedQueryList<Review> reviews = mock(PaginatedQueryList.class);
+        when(mapper.query(eq(Review.class), any(DynamoDBQueryExpression.class)))
+                .thenReturn(reviews);
+        when(reviews.stream()).thenReturn(Collections.singletonList(review).stream());
 
         final Optional<Review> result = dao.fetchLatestFavorite(USERID, VALID_RATING);
 
         assertEquals(Optional.of(review), result);
     }
 
+    @Test
+    public void listFavoritesFiltersByRating() {
+        final ArgumentCaptor<DynamoDBQueryExpression> expression =
+                ArgumentCaptor.forClass(DynamoDBQueryExpression.class);
+
+        dao.listFavorites(USERID, VALID_RATING);
+
+        verify(mapper).query(eq(Review.class), expression.capture());
+        assertEquals("rating >= :minimumRating", expression.getValue().getFilterExpression());
+        assertNull(expression.getValue().getLimit());
+    }
+
     @Test(expected = AmazonDynamoDBException.class)
     public void fetchLatestFavoriteDynamoException() {
-        when(mapper.queryPage(eq(Review.class), any(DynamoDBQueryExpression.class)))
+        when(mapper.query(eq(Review.class), any(DynamoDBQueryExpression.class)))
                 .thenThrow(new AmazonDynamoDBException("test"));
 
         dao.fetchLatestFavorite(USERID, VALID_RATING);
     }
 
+    @Test
+    public void scanFavoritesReadsOnlyKeysOnce() {
+        final ArgumentCaptor<DynamoDBScanExpression> expression = ArgumentCaptor.forClass(DynamoDBScanExpression.class);
+        final ArgumentCaptor<DynamoDBMapperConfig> config = ArgumentCaptor.forClass(DynamoDBMapperConfig.class);
+
+        dao.scanFavorites(VALID_RATING);
+
+        verify(mapper).scan(eq(Review.class), expression.capture(), config.capture());
+        assertEquals("userId, imdbId", expression.getValue().getProjectionExpression());
+        assertEquals("rating >= :minimumRating", expression.getValue().getFilterExpression());
+        assertEquals(DynamoDBMapperConfig.PaginationLoadingStrategy.ITERATION_ONLY,
+                config.getValue().getPaginationLoadingStrategy());
+    }
+
     @Test
     public void listReviewedMovies() {
-        final PaginatedQueryList<Review> reviews = mock(PaginatedQueryList.class);
-        when(mapper.query(eq(Review.class), any(DynamoDBQueryExpression.class)))
-                .thenReturn(reviews);
-        when(reviews.stream()).thenReturn(Collections.singletonList(review).stream());
+        when(mapper.queryKeys(eq(Review.class), any(DynamoDBQueryExpression.class)))
+                .thenReturn(Stream.of(ItemKey.of(USERID, IMDBID)));
 
         final Set<String> result = dao.listReviewedMovies(USERID);
 
-        assertTrue(result.contains(review.getImdbId()));
+        assertEquals(Collections.singleton(IMDBID), result);
     }
 
     @Test(expected = AmazonDynamoDBException.class)
     public void listReviewedMoviesDynamoException() {
-        when(mapper.query(eq(Review.class), any(DynamoDBQueryExpression.class)))
+        when(mapper.queryKeys(eq(Review.class), any(DynamoDBQueryExpression.class)))
                 .thenThrow(new AmazonDynamoDBException("test"));
 
         dao.listReviewedMovies(USERID);
@@ -0,0 +1,97 @@
+package review;
+
+import com.amazonaws.services.dynamodbv2.model.StreamRecord;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Test;
+import recommendation.UserRecommendationsService;
+
+import static com.amazonaws.services.lambda.runtime.events.DynamodbEvent.DynamodbStreamRecord;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReviewProjectionHandlerTest {
+
+    private DynamodbEvent event;
+    private LatestFavoriteService service;
+    private SeenMoviesService seenMoviesService;
+    private UserRecommendationsService userRecommendationsService;
+    private ReviewProjectionHandler handler;
+
+    @Before
+    public void setUp() {
+        event = mock(DynamodbEvent.class);
+        service = mock(LatestFavoriteService.class);
+        seenMoviesService = mock(SeenMoviesService.class);
+        userRecommendationsService = mock(UserRecommendationsService.class);
+
+        handler = new ReviewProjectionHandler();
+    }
+
+    @Test
+    public void projectRecords() {
+        final int numberOfRecords = 25;
+        final List<DynamodbStreamRecord> list =
+                Stream.generate(() -> (DynamodbStreamRecord) new DynamodbStreamRecord()
+                        .withEventName(LatestFavoriteService.INSERT_EVENT_NAME))
+                        .limit(numberOfRecords)
+                        .collect(Collectors.toList());
+        when(event.getRecords()).thenReturn(list);
+
+        final StreamsEventResponse result =
+                handler.handleRequest(event, service, seenMoviesService, userRecommendationsService);
+
+        verify(service, times(numberOfRecords)).project(any(DynamodbStreamRecord.class));
+        verify(seenMoviesService, times(numberOfRecords)).project(any(DynamodbStreamRecord.class));
+        verify(userRecommendationsService).project(list);
+        assertTrue(result.getBatchItemFailures().isEmpty());
+    }
+
+    @Test
+    public void reportFirstFailedRecord() {
+        final DynamodbStreamRecord first = record("1");
+        final DynamodbStreamRecord failed = record("2");
+        final DynamodbStreamRecord last = record("3");
+        when(event.getRecords()).thenReturn(Arrays.asList(first, failed, last));
+        doThrow(new IllegalStateException("test")).when(seenMoviesService).project(failed);
+
+        final StreamsEventResponse result =
+                handler.handleRequest(event, service, seenMoviesService, userRecommendationsService);
+
+        assertEquals(Collections.singletonList(new StreamsEventResponse.BatchItemFailure("2")),
+                result.getBatchItemFailures());
+        verify(service, never()).project(last);
+        verify(userRecommendationsService).project(Collections.singletonList(first));
+    }
+
+    @Test
+    public void reportBatchWhenInvalidationFails() {
+        final List<DynamodbStreamRecord> records = Arrays.asList(record("1"), record("2"));
+        when(event.getRecords()).thenReturn(records);
+        doThrow(new IllegalStateException("test")).when(userRecommendationsService).project(records);
+
+        final StreamsEventResponse result =
+                handler.handleRequest(event, service, seenMoviesService, userRecommendationsService);
+
+        assertEquals(Collections.singletonList(new StreamsEventResponse.BatchItemFailure("1")),
+                result.getBatchItemFailures());
+    }
+
+    private static DynamodbStreamRecord record(String sequenceNumber) {
+        return (DynamodbStreamRecord) new DynamodbStreamRecord()
+                .withEventName(LatestFavoriteService.INSERT_EVENT_NAME)
+                .withDynamodb(new StreamRecord().withSequenceNumber(sequenceNumber));
+    }
+}
@@ -1,5 +1,7 @@
 package review;
 
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.google.common.util.concurrent.MoreExecutors;
 import exceptions.InvalidRatingException;
 import exceptions.MovieNotFoundException;
 import exceptions.ReviewNotFoundException;
@@ -7,15 +9,25 @@ import exceptions.UserNotFoundException;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import movie.MovieService;
 import org.junit.Before;
 import org.junit.Test;
+import user.User;
 import user.UserService;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 public class ReviewServiceTest {
@@ -28,6 +40,8 @@ public class ReviewServiceTest {
     private UserService userService;
     private MovieService movieService;
     private ReviewDAO reviewDAO;
+    private LatestFavoriteService latestFavoriteService;
+    private SeenMoviesService seenMoviesService;
     private Review review;
     private ReviewService service;
 
@@ -36,42 +50,97 @@ public class ReviewServiceTest {
         userService = mock(UserService.class);
         movieService = mock(MovieService.class);
         reviewDAO = mock(ReviewDAO.class);
+        latestFavoriteService = mock(LatestFavoriteService.class);
+        seenMoviesService = mock(SeenMoviesService.class);
         review = new Review();
         review.setUserId(USERID);
         review.setImdbId(IMDBID);
         review.setRating(VALID_RATING);
+        when(reviewDAO.fetch(USERID, IMDBID)).thenReturn(Optional.empty());
 
-        service = new ReviewService(userService, movieService, reviewDAO);
+        service = new ReviewService(userService, movieService, reviewDAO, latestFavoriteService, seenMoviesService,
+                MoreExecutors.directExecutor());
     }
 
     @Test
     public void putNewReview() throws Exception {
-        when(reviewDAO.fetch(review)).thenReturn(Optional.empty());
+        when(reviewDAO.updateExisting(review)).thenThrow(new ConditionalCheckFailedException("Not found."));
         when(movieService.movieExists(anyString())).thenReturn(true);
-        when(reviewDAO.save(review)).thenReturn(review);
+        when(reviewDAO.create(review)).thenReturn(review);
 
         final Review result = service.put(review);
 
-        verify(reviewDAO).fetch(review);
-        verify(reviewDAO).save(review);
+        verify(reviewDAO).updateExisting(review);
+        verify(userService).getUser(USERID);
+        verify(reviewDAO).create(review);
         assertEquals(review, result);
     }
 
+    @Test
+    public void putNewReviewVerifiesUserAndMovieConcurrently() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        when(reviewDAO.updateExisting(review)).thenThrow(new ConditionalCheckFailedException("Not found."));
+        when(userService.getUser(USERID)).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            bothStarted.await(5, TimeUnit.SECONDS);
+            return new User(USERID);
+        });
+        when(movieService.movieExists(IMDBID)).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            return bothStarted.await(5, TimeUnit.SECONDS);
+        });
+        when(reviewDAO.create(review)).thenReturn(review);
+
+        try {
+            final ReviewService concurrentService = new ReviewService(
+                    userService, movieService, reviewDAO, latestFavoriteService, seenMoviesService, executor);
+            final Review result = concurrentService.put(review);
+
+            assertEquals(review, result);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void putUpdateReview() throws Exception {
-        final double oldRating = 3.5;
-        final Review oldReview = new Review();
-        review.setRating(oldRating);
-        when(reviewDAO.fetch(review)).thenReturn(Optional.of(oldReview));
-        when(movieService.movieExists(anyString())).thenReturn(true);
-        when(reviewDAO.save(oldReview)).thenReturn(review);
+        when(reviewDAO.updateExisting(review)).thenReturn(review);
 
         final Review result = service.put(review);
 
-        verify(reviewDAO).fetch(review);
-        verify(reviewDAO).save(oldReview);
+        verify(reviewDAO).updateExisting(review);
+        verify(reviewDAO, never()).create(any(Review.class));
+        verifyZeroInteractions(userService, movieService);
         assertEquals(review, result);
-        assertEquals(oldReview.getRating(), result.getRating());
+    }
+
+    @Test
+    public void putVersionConflict() throws Exception {
+        final ConditionalCheckFailedException conflict = new ConditionalCheckFailedException("Version conflict.");
+        review.setVersion(1L);
+        when(reviewDAO.updateExisting(review)).thenThrow(conflict);
+        when(reviewDAO.fetch(USERID, IMDBID)).thenReturn(Optional.of(review));
+
+        try {
+            service.put(review);
+            fail("Expected a ConditionalCheckFailedException");
+        }
+        catch (ConditionalCheckFailedException e) {
+            assertSame(conflict, e);
+        }
+        verify(reviewDAO, never()).create(any(Review.class));
+        verifyZeroInteractions(userService, movieService);
+    }
+
+    @Test(expected = ConditionalCheckFailedException.class)
+    public void putCreatedConcurrently() throws Exception {
+        when(reviewDAO.updateExisting(review)).thenThrow(new ConditionalCheckFailedException("Not found."));
+        when(movieService.movieExists(IMDBID)).thenReturn(true);
+        when(reviewDAO.create(review)).thenThrow(new ConditionalCheckFailedException("Already exists."));
+
+        service.put(review);
     }
 
     @Test(expected = NullPointerException.class)
@@ -82,14 +151,13 @@ public class ReviewServiceTest {
     @Test(expected = InvalidRatingException.class)
     public void putInvalidRating() throws Exception {
         review.setRating(INVALID_RATING);
-        when(reviewDAO.fetch(review)).thenReturn(Optional.empty());
 
         service.put(review);
     }
 
     @Test(expected = MovieNotFoundException.class)
     public void putMovieNotFound() throws Exception {
-        when(reviewDAO.fetch(review)).thenReturn(Optional.empty());
+        when(reviewDAO.updateExisting(review)).thenThrow(new ConditionalCheckFailedException("Not found."));
         when(movieService.movieExists(IMDBID)).thenReturn(false);
 
         service.put(review);
@@ -97,7 +165,7 @@ public class ReviewServiceTest {
 
     @Test(expected = UserNotFoundException.class)
     public void putUserNotFound() throws Exception {
-        when(reviewDAO.fetch(review)).thenReturn(Optional.empty());
+        when(reviewDAO.updateExisting(review)).thenThrow(new ConditionalCheckFailedException("Not found."));
         when(userService.getUser(USERID)).thenThrow(new UserNotFoundException("User not found."));
 
         service.put(review);
@@ -146,7 +214,7 @@ public class ReviewServiceTest {
 
     @Test
     public void fetchLatestFavorite() throws Exception {
-        when(reviewDAO.fetchLatestFavorite(USERID, ReviewService.MIN_RATING)).thenReturn(Optional.of(review));
+        when(latestFavoriteService.fetchLatestFavorite(USERID)).thenReturn(Optional.of(review));
 
         final Optional<Review> result = service.fetchLatestFavorite(USERID);
 
@@ -179,4 +247,22 @@ public class ReviewServiceTest {
 
         service.listReviewedMovies(USERID);
     }
+
+    @Test
+    public void fetchSeenMovies() throws Exception {
+        final SeenMovies seenMovies = SeenMovies.of(USERID, Collections.singleton(IMDBID));
+        when(seenMoviesService.fetchSeenMovies(USERID)).thenReturn(seenMovies);
+
+        final SeenMovies result = service.fetchSeenMovies(USERID);
+
+        verify(userService).getUser(USERID);
+        assertEquals(seenMovies, result);
+    }
+
+    @Test(expected = UserNotFoundException.class)
+    public void fetchSeenMoviesUserNotFound() throws Exception {
+        when(userService.getUser(USERID)).thenThrow(new UserNotFoundException("User not found."));
+
+        service.fetchSeenMovies(USERID);
+    }
 }
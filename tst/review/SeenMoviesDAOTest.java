@@ -0,0 +1,113 @@
+package review;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ReturnValue;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import dynamodb.DynamoDBMapperWrapper;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SeenMoviesDAOTest {
+
+    private static final String USERID = "d2fadc3b-b791-4054-b51e-49be4beb24c7";
+    private static final String IMDBID = "tt0000036";
+
+    private DynamoDBMapperWrapper mapper;
+    private SeenMoviesDAO dao;
+
+    @Before
+    public void setUp() {
+        mapper = mock(DynamoDBMapperWrapper.class);
+        when(mapper.getTableModel(SeenMovies.class))
+                .thenReturn(new DynamoDBMapper(mock(AmazonDynamoDB.class)).getTableModel(SeenMovies.class));
+
+        dao = new SeenMoviesDAO(mapper);
+    }
+
+    @Test
+    public void fetch() {
+        final SeenMovies stored = new SeenMovies();
+        when(mapper.load(SeenMovies.class, USERID)).thenReturn(Optional.of(stored));
+
+        assertEquals(Optional.of(stored), dao.fetch(USERID));
+    }
+
+    @Test
+    public void add() {
+        dao.add(USERID, IMDBID);
+
+        final UpdateItemRequest request = captureRequest();
+        assertEquals("ADD movieIds :movieIds", request.getUpdateExpression());
+        assertEquals(new AttributeValue().withNS("36"), request.getExpressionAttributeValues().get(":movieIds"));
+        assertEquals(ReturnValue.NONE.toString(), request.getReturnValues());
+    }
+
+    @Test
+    public void addOtherImdbId() {
+        dao.add(USERID, "invalid");
+
+        final UpdateItemRequest request = captureRequest();
+        assertEquals("ADD otherImdbIds :otherImdbIds", request.getUpdateExpression());
+        assertEquals(new AttributeValue().withSS("invalid"),
+                request.getExpressionAttributeValues().get(":otherImdbIds"));
+    }
+
+    @Test
+    public void addNullImdbId() {
+        dao.add(USERID, null);
+
+        verify(mapper, never()).update(eq(SeenMovies.class), any(UpdateItemRequest.class));
+    }
+
+    @Test
+    public void remove() {
+        dao.remove(USERID, IMDBID);
+
+        final UpdateItemRequest request = captureRequest();
+        assertEquals("DELETE movieIds :movieIds ADD removals :one", request.getUpdateExpression());
+        assertEquals(new AttributeValue().withN("1"), request.getExpressionAttributeValues().get(":one"));
+    }
+
+    @Test
+    public void completeWithoutMovies() {
+        dao.complete(SeenMovies.of(USERID, Collections.emptySet()), 0);
+
+        final UpdateItemRequest request = captureRequest();
+        assertEquals("SET completedAt = :now", request.getUpdateExpression());
+        assertFalse(request.getExpressionAttributeValues().containsKey(":movieIds"));
+        assertEquals("attribute_not_exists(completedAt) AND attribute_not_exists(removals)",
+                request.getConditionExpression());
+    }
+
+    @Test
+    public void completeAfterRemovals() {
+        dao.complete(SeenMovies.of(USERID, Arrays.asList(IMDBID, "invalid")), 2);
+
+        final UpdateItemRequest request = captureRequest();
+        assertEquals("SET completedAt = :now ADD movieIds :movieIds, otherImdbIds :otherImdbIds",
+                request.getUpdateExpression());
+        assertEquals("attribute_not_exists(completedAt) AND removals = :removals", request.getConditionExpression());
+        assertEquals(new AttributeValue().withN("2"), request.getExpressionAttributeValues().get(":removals"));
+    }
+
+    private UpdateItemRequest captureRequest() {
+        final ArgumentCaptor<UpdateItemRequest> request = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(mapper).update(eq(SeenMovies.class), request.capture());
+        return request.getValue();
+    }
+}
@@ -0,0 +1,151 @@
+package review;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.StreamRecord;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.amazonaws.services.lambda.runtime.events.DynamodbEvent.DynamodbStreamRecord;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SeenMoviesServiceTest {
+
+    private static final String USERID = "d2fadc3b-b791-4054-b51e-49be4beb24c7";
+    private static final String IMDBID = "tt0000036";
+    private static final Map<String, AttributeValue> IMAGE = Collections.singletonMap("image", new AttributeValue());
+
+    private SeenMoviesDAO seenMoviesDAO;
+    private ReviewDAO reviewDAO;
+    private Review review;
+    private SeenMoviesService service;
+
+    @Before
+    public void setUp() {
+        seenMoviesDAO = mock(SeenMoviesDAO.class);
+        reviewDAO = mock(ReviewDAO.class);
+        review = new Review();
+        review.setUserId(USERID);
+        review.setImdbId(IMDBID);
+        when(reviewDAO.valueOf(IMAGE)).thenReturn(review);
+
+        service = new SeenMoviesService(seenMoviesDAO, reviewDAO);
+    }
+
+    @Test
+    public void fetchSeenMoviesStored() {
+        final SeenMovies stored = SeenMovies.of(USERID, Collections.singleton(IMDBID));
+        when(seenMoviesDAO.fetch(USERID)).thenReturn(Optional.of(stored));
+
+        assertEquals(stored, service.fetchSeenMovies(USERID));
+        verify(reviewDAO, never()).listReviewedMovies(anyString());
+    }
+
+    @Test
+    public void fetchSeenMoviesIncomplete() {
+        final SeenMovies partial = new SeenMovies();
+        partial.setUserId(USERID);
+        when(seenMoviesDAO.fetch(USERID)).thenReturn(Optional.of(partial));
+        when(reviewDAO.listReviewedMovies(USERID)).thenReturn(Collections.singleton(IMDBID));
+
+        final SeenMovies result = service.fetchSeenMovies(USERID);
+
+        verify(seenMoviesDAO).complete(result, 0);
+        assertTrue(result.contains(IMDBID));
+    }
+
+    @Test
+    public void fetchSeenMoviesCompletedConcurrently() {
+        final SeenMovies partial = new SeenMovies();
+        partial.setUserId(USERID);
+        final SeenMovies completed = SeenMovies.of(USERID, Collections.singleton(IMDBID));
+        when(seenMoviesDAO.fetch(USERID)).thenReturn(Optional.of(partial)).thenReturn(Optional.of(completed));
+        when(reviewDAO.listReviewedMovies(USERID)).thenReturn(Collections.singleton(IMDBID));
+        doThrow(new ConditionalCheckFailedException("Completed."))
+                .when(seenMoviesDAO).complete(any(SeenMovies.class), anyLong());
+
+        assertSame(completed, service.fetchSeenMovies(USERID));
+    }
+
+    @Test
+    public void fetchSeenMoviesRemovedFromWhileCompleting() {
+        final SeenMovies before = new SeenMovies();
+        before.setUserId(USERID);
+        before.setRemovals(1L);
+        final SeenMovies after = new SeenMovies();
+        after.setUserId(USERID);
+        after.setRemovals(2L);
+        when(seenMoviesDAO.fetch(USERID)).thenReturn(Optional.of(before)).thenReturn(Optional.of(after));
+        when(reviewDAO.listReviewedMovies(USERID))
+                .thenReturn(Collections.singleton(IMDBID))
+                .thenReturn(Collections.emptySet());
+        doThrow(new ConditionalCheckFailedException("Removed."))
+                .when(seenMoviesDAO).complete(any(SeenMovies.class), eq(1L));
+
+        final SeenMovies result = service.fetchSeenMovies(USERID);
+
+        verify(seenMoviesDAO).complete(result, 2L);
+        assertFalse(result.contains(IMDBID));
+    }
+
+    @Test
+    public void fetchSeenMoviesKeepsChanging() {
+        final SeenMovies partial = new SeenMovies();
+        partial.setUserId(USERID);
+        when(seenMoviesDAO.fetch(USERID)).thenReturn(Optional.of(partial));
+        when(reviewDAO.listReviewedMovies(USERID)).thenReturn(Collections.singleton(IMDBID));
+        doThrow(new ConditionalCheckFailedException("Removed."))
+                .when(seenMoviesDAO).complete(any(SeenMovies.class), anyLong());
+
+        final SeenMovies result = service.fetchSeenMovies(USERID);
+
+        verify(seenMoviesDAO, times(SeenMoviesService.MAX_COMPLETE_ATTEMPTS))
+                .complete(any(SeenMovies.class), anyLong());
+        assertTrue(result.contains(IMDBID));
+    }
+
+    @Test
+    public void projectInsert() {
+        service.project(record(LatestFavoriteService.INSERT_EVENT_NAME));
+
+        verify(seenMoviesDAO).add(USERID, IMDBID);
+    }
+
+    @Test
+    public void projectRemove() {
+        service.project(record(LatestFavoriteService.REMOVE_EVENT_NAME));
+
+        verify(seenMoviesDAO).remove(USERID, IMDBID);
+    }
+
+    @Test
+    public void projectModify() {
+        service.project(record(LatestFavoriteService.MODIFY_EVENT_NAME));
+
+        verify(seenMoviesDAO, never()).add(anyString(), anyString());
+        verify(seenMoviesDAO, never()).remove(anyString(), anyString());
+    }
+
+    private static DynamodbStreamRecord record(String eventName) {
+        final DynamodbStreamRecord record = new DynamodbStreamRecord();
+        record.setEventName(eventName);
+        record.setDynamodb(new StreamRecord().withOldImage(IMAGE).withNewImage(IMAGE));
+        return record;
+    }
+}
@@ -0,0 +1,55 @@
+package review;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SeenMoviesTest {
+
+    private static final String USERID = "d2fadc3b-b791-4054-b51e-49be4beb24c7";
+
+    @Test
+    public void contains() {
+        final SeenMovies seenMovies = SeenMovies.of(USERID, Arrays.asList("tt0000076", "tt0000036", "tt1234567"));
+
+        assertTrue(seenMovies.contains("tt0000036"));
+        assertTrue(seenMovies.contains("tt1234567"));
+        assertFalse(seenMovies.contains("tt0000037"));
+        assertTrue(seenMovies.isComplete());
+    }
+
+    @Test
+    public void containsWithoutMovies() {
+        assertFalse(new SeenMovies().contains("tt0000036"));
+        assertFalse(new SeenMovies().isComplete());
+    }
+
+    @Test
+    public void movieIdOf() {
+        assertEquals(36, SeenMovies.movieIdOf("tt0000036"));
+        assertEquals(-1, SeenMovies.movieIdOf("tt"));
+        assertEquals(-1, SeenMovies.movieIdOf("nm0000036"));
+        assertEquals(-1, SeenMovies.movieIdOf("tt00x0036"));
+        assertEquals(-1, SeenMovies.movieIdOf("tt99999999999"));
+        assertEquals(-1, SeenMovies.movieIdOf(null));
+    }
+
+    @Test
+    public void containsOtherImdbIds() {
+        final SeenMovies seenMovies = SeenMovies.of(USERID, Arrays.asList("tt0000036", "nm0000036"));
+
+        assertTrue(seenMovies.contains("nm0000036"));
+        assertFalse(seenMovies.contains("nm0000037"));
+    }
+
+    @Test
+    public void movieIdsOfSkipsInvalidImdbIds() {
+        assertEquals(Collections.singleton(36), SeenMovies.movieIdsOf(Arrays.asList("tt0000036", "invalid")));
+        assertEquals(Collections.singleton("invalid"),
+                SeenMovies.otherImdbIdsOf(Arrays.asList("tt0000036", "invalid")));
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -15,6 +16,7 @@ import static org.mockito.Mockito.when;
 public class UserServiceTest {
 
     private static final String VALID_USERID = "d2fadc3b-b791-4054-b51e-49be4beb24c7";
+    private static final String OTHER_USERID = "3a4b6a4e-65c6-4f5b-9d1a-0e0f3c1b4a51";
     private static final String INVALID_USERID = "not a user";
     private UserDAO userDAO;
     private UserService service;
@@ -77,4 +79,35 @@ public class UserServiceTest {
 
         service.getUser(INVALID_USERID);
     }
+
+    @Test
+    public void throwIfUserNotExistsCachesUnknownUser() {
+        when(userDAO.fetch(INVALID_USERID)).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                service.getUser(INVALID_USERID);
+                fail("Expected UserNotFoundException");
+            }
+            catch (UserNotFoundException e) {
+                // expected
+            }
+        }
+
+        verify(userDAO, times(1)).fetch(INVALID_USERID);
+    }
+
+    @Test
+    public void throwIfUserNotExistsCachesSeveralUsers() throws Exception {
+        final User other = new User();
+        other.setLogin(OTHER_USERID);
+        when(userDAO.fetch(VALID_USERID)).thenReturn(Optional.of(new User()));
+        when(userDAO.fetch(OTHER_USERID)).thenReturn(Optional.of(other));
+
+        service.getUser(VALID_USERID);
+        service.getUser(OTHER_USERID);
+        service.getUser(VALID_USERID);
+
+        verify(userDAO, times(1)).fetch(VALID_USERID);
+    }
 }